@@ -0,0 +1,65 @@
+package com.wesledev.minhasFinancas.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.wesledev.minhasFinancas.model.entity.Usuario;
+import com.wesledev.minhasFinancas.service.UsuarioService;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AutenticacaoBenchmark {
+
+	private static final String EMAIL = "autenticacao@email.com";
+	private static final String SENHA = "senha";
+
+	private ConfigurableApplicationContext contexto;
+	private UsuarioService service;
+
+	@Setup(Level.Trial)
+	public void preparar() {
+		contexto = ContextoBenchmark.iniciar();
+		service = contexto.getBean(UsuarioService.class);
+		ContextoBenchmark.inserirUsuario(contexto, EMAIL, contexto.getBean(PasswordEncoder.class).encode(SENHA));
+	}
+
+	@TearDown(Level.Trial)
+	public void encerrar() {
+		contexto.close();
+	}
+
+	@Benchmark
+	public Usuario autenticar() {
+		return service.autenticar(EMAIL, SENHA);
+	}
+
+	/**
+	 * Logins simultaneos passando pelo executor de autenticacao; o modo SampleTime reporta os percentis (p0.99).
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.SampleTime)
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	@Threads(16)
+	public Usuario autenticarEmPico() {
+		return service.autenticarAsync(EMAIL, SENHA).join();
+	}
+}
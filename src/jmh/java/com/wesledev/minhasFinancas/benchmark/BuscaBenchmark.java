@@ -0,0 +1,83 @@
+package com.wesledev.minhasFinancas.benchmark;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.wesledev.minhasFinancas.api.dto.FiltroLancamentoDTO;
+import com.wesledev.minhasFinancas.model.projection.LancamentoResumo;
+import com.wesledev.minhasFinancas.service.LancamentoService;
+import com.wesledev.minhasFinancas.service.PesquisaLancamentoService;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class BuscaBenchmark {
+
+	@Param({ "1000", "100000", "1000000" })
+	private int linhas;
+
+	private ConfigurableApplicationContext contexto;
+	private LancamentoService service;
+	private PesquisaLancamentoService pesquisaService;
+	private Long idUsuario;
+
+	@Setup(Level.Trial)
+	public void preparar() {
+		contexto = ContextoBenchmark.iniciar();
+		service = contexto.getBean(LancamentoService.class);
+		idUsuario = ContextoBenchmark.inserirUsuario(contexto, "busca@email.com", "senha");
+		ContextoBenchmark.inserirLancamentos(contexto, idUsuario, linhas);
+		// os lancamentos entram direto por JDBC, entao o indice de pesquisa e reconstruido a partir do banco
+		pesquisaService = contexto.getBean(PesquisaLancamentoService.class);
+		pesquisaService.reindexar();
+	}
+
+	@TearDown(Level.Trial)
+	public void encerrar() {
+		contexto.close();
+	}
+
+	@Benchmark
+	public List<LancamentoResumo> buscarPorPeriodo() {
+		return service.buscar(filtro(null, 6, 2010));
+	}
+
+	@Benchmark
+	public List<LancamentoResumo> buscarPorDescricao() {
+		return service.buscar(filtro("lancamento 99", null, null));
+	}
+
+	@Benchmark
+	public List<LancamentoResumo> pesquisarPorTexto() {
+		return pesquisaService.pesquisar(idUsuario, "lancamento 99", null);
+	}
+
+	@Benchmark
+	public Optional<BigDecimal> obterSaldoPorUsuario() {
+		return service.obterSaldoPorUsuario(idUsuario);
+	}
+
+	private FiltroLancamentoDTO filtro(String descricao, Integer mes, Integer ano) {
+		return FiltroLancamentoDTO.builder().usuario(idUsuario).descricao(descricao).mes(mes).ano(ano).build();
+	}
+}
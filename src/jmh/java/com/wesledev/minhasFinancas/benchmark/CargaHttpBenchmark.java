@@ -0,0 +1,80 @@
+package com.wesledev.minhasFinancas.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+
+import com.wesledev.minhasFinancas.model.entity.Usuario;
+import com.wesledev.minhasFinancas.service.TokenService;
+
+/**
+ * Carga HTTP com 1000 clientes simultaneos sobre a consulta de lancamentos, comparando a execucao na thread do Tomcat
+ * com o executor de consultas (financas.consultas.assincronas). Throughput mede requisicoes por segundo e SampleTime
+ * reporta os percentis de latencia; respostas 429 contam como requisicoes concluidas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx3g", "-Dhttp.maxConnections=1000" })
+@Threads(1000)
+public class CargaHttpBenchmark {
+
+	@Param({ "false", "true" })
+	private boolean assincrono;
+
+	private ConfigurableApplicationContext contexto;
+	private URL url;
+	private String autorizacao;
+
+	@Setup(Level.Trial)
+	public void preparar() throws IOException {
+		contexto = ContextoBenchmark.iniciarWeb("financas.consultas.assincronas=" + assincrono);
+		Long idUsuario = ContextoBenchmark.inserirUsuario(contexto, "carga@email.com", "senha");
+		ContextoBenchmark.inserirLancamentos(contexto, idUsuario, 100000);
+
+		String porta = contexto.getEnvironment().getProperty("local.server.port");
+		url = new URL("http://localhost:" + porta + "/api/lancamentos?ano=2010&mes=6");
+		autorizacao = "Bearer "
+				+ contexto.getBean(TokenService.class).gerar(Usuario.builder().id(idUsuario).build());
+	}
+
+	@TearDown(Level.Trial)
+	public void encerrar() {
+		contexto.close();
+	}
+
+	@Benchmark
+	public int buscarLancamentos() throws IOException {
+		HttpURLConnection conexao = (HttpURLConnection) url.openConnection();
+		conexao.setRequestProperty(HttpHeaders.AUTHORIZATION, autorizacao);
+		int status = conexao.getResponseCode();
+		// o corpo e consumido por inteiro para a conexao voltar ao keep-alive
+		try (InputStream corpo = status < 400 ? conexao.getInputStream() : conexao.getErrorStream()) {
+			byte[] buffer = new byte[8192];
+			while (corpo != null && corpo.read(buffer) != -1) {
+			}
+		}
+		return status;
+	}
+}
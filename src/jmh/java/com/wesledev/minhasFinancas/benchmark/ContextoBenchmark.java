@@ -0,0 +1,73 @@
+package com.wesledev.minhasFinancas.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.wesledev.minhasFinancas.MinhasFinancasApplication;
+import com.wesledev.minhasFinancas.model.entity.Lancamento;
+import com.wesledev.minhasFinancas.model.enums.StatusLancamento;
+import com.wesledev.minhasFinancas.model.enums.TipoLancamento;
+
+/**
+ * Sobe a aplicacao sobre um banco H2 em memoria exclusivo e popula os dados dos benchmarks.
+ */
+public final class ContextoBenchmark {
+
+	private static final int LOTE = 5000;
+
+	private ContextoBenchmark() {
+	}
+
+	public static ConfigurableApplicationContext iniciar() {
+		return construir(WebApplicationType.NONE).run();
+	}
+
+	/**
+	 * Sobe a aplicacao com o Tomcat em uma porta livre, disponivel em local.server.port.
+	 */
+	public static ConfigurableApplicationContext iniciarWeb(String... propriedades) {
+		return construir(WebApplicationType.SERVLET).properties("server.port=0").properties(propriedades).run();
+	}
+
+	private static SpringApplicationBuilder construir(WebApplicationType tipo) {
+		String url = "jdbc:h2:mem:benchmark" + System.nanoTime()
+				+ ";DB_CLOSE_DELAY=-1;INIT=CREATE SCHEMA IF NOT EXISTS financas";
+		return new SpringApplicationBuilder(MinhasFinancasApplication.class).profiles("test").web(tipo)
+				.properties("spring.datasource.url=" + url, "logging.level.root=WARN");
+	}
+
+	public static Long inserirUsuario(ConfigurableApplicationContext contexto, String email, String senha) {
+		JdbcTemplate jdbcTemplate = contexto.getBean(JdbcTemplate.class);
+		jdbcTemplate.update("insert into financas.usuario (nome, email, senha) values (?, ?, ?)", "benchmark", email,
+				senha);
+		return jdbcTemplate.queryForObject("select id from financas.usuario where email = ?", Long.class, email);
+	}
+
+	public static void inserirLancamentos(ConfigurableApplicationContext contexto, Long idUsuario, int quantidade) {
+		JdbcTemplate jdbcTemplate = contexto.getBean(JdbcTemplate.class);
+		for (int inicio = 0; inicio < quantidade; inicio += LOTE) {
+			List<Object[]> valores = new ArrayList<>();
+			for (int i = inicio; i < Math.min(inicio + LOTE, quantidade); i++) {
+				TipoLancamento tipo = i % 3 == 0 ? TipoLancamento.RECEITA : TipoLancamento.DESPESA;
+				String descricao = "Lançamento " + i;
+				valores.add(new Object[] { descricao, Lancamento.normalizarDescricao(descricao), i % 12 + 1,
+						2000 + i % 20, idUsuario, BigDecimal.valueOf(i % 1000 + 1), tipo.name(),
+						StatusLancamento.PENDENTE.name() });
+			}
+			jdbcTemplate.batchUpdate("insert into financas.lancamento "
+					+ "(id, descricao, descricao_busca, mes, ano, id_usuario, valor, tipo, status) "
+					+ "values (next value for financas.lancamento_seq, ?, ?, ?, ?, ?, ?, ?, ?)", valores);
+		}
+
+		jdbcTemplate.update("delete from financas.saldo_mensal where id_usuario = ?", idUsuario);
+		jdbcTemplate.update("insert into financas.saldo_mensal (id_usuario, ano, mes, tipo, status, valor, quantidade) "
+				+ "select id_usuario, ano, mes, tipo, status, sum(valor), count(*) from financas.lancamento "
+				+ "where id_usuario = ? group by id_usuario, ano, mes, tipo, status", idUsuario);
+	}
+}
@@ -0,0 +1,57 @@
+package com.wesledev.minhasFinancas.benchmark;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wesledev.minhasFinancas.api.dto.LancamentoDTO;
+import com.wesledev.minhasFinancas.api.resource.LancamentoController;
+import com.wesledev.minhasFinancas.model.entity.Lancamento;
+import com.wesledev.minhasFinancas.model.entity.Usuario;
+import com.wesledev.minhasFinancas.service.UsuarioService;
+import com.wesledev.minhasFinancas.service.impl.UsuarioServiceImpl;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConversaoLancamentoBenchmark {
+
+	private LancamentoController controller;
+	private LancamentoDTO dto;
+
+	@Setup
+	public void preparar() {
+		Optional<Usuario> usuario = Optional.of(Usuario.builder().id(1l).nome("usuario").build());
+		UsuarioService usuarioService = new UsuarioServiceImpl(null, null, null, 10) {
+
+			@Override
+			public Optional<Usuario> obterPorId(Long id) {
+				return usuario;
+			}
+		};
+
+		controller = new LancamentoController(null, usuarioService, new ObjectMapper(), null, null, null);
+		dto = LancamentoDTO.builder().descricao("Aluguel").mes(5).ano(2022).valor(BigDecimal.valueOf(1500))
+				.usuario(1l).tipo("DESPESA").status("PENDENTE").build();
+	}
+
+	@Benchmark
+	public Lancamento converter() {
+		return controller.converter(dto, 1l);
+	}
+}
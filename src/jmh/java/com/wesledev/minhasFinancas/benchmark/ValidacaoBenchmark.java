@@ -0,0 +1,45 @@
+package com.wesledev.minhasFinancas.benchmark;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.wesledev.minhasFinancas.model.entity.Lancamento;
+import com.wesledev.minhasFinancas.model.entity.Usuario;
+import com.wesledev.minhasFinancas.model.enums.TipoLancamento;
+import com.wesledev.minhasFinancas.service.impl.LancamentoServiceImpl;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidacaoBenchmark {
+
+	private LancamentoServiceImpl service;
+	private Lancamento lancamento;
+
+	@Setup
+	public void preparar() {
+		service = new LancamentoServiceImpl(null, null, null, null, null, null);
+		lancamento = Lancamento.builder().descricao("Aluguel").mes(5).ano(2022).valor(BigDecimal.valueOf(1500))
+				.tipo(TipoLancamento.DESPESA).usuario(Usuario.builder().id(1l).build()).build();
+	}
+
+	@Benchmark
+	public Lancamento validar() {
+		service.validar(lancamento);
+		return lancamento;
+	}
+}
@@ -0,0 +1,21 @@
+package com.wesledev.minhasFinancas.api.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class AtualizaStatusLoteDTO {
+
+	private String status;
+	private List<Long> ids;
+	private Integer ano;
+	private Integer mes;
+	private String tipo;
+}
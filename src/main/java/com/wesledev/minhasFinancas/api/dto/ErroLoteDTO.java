@@ -0,0 +1,14 @@
+package com.wesledev.minhasFinancas.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ErroLoteDTO {
+
+	private int indice;
+	private String mensagem;
+}
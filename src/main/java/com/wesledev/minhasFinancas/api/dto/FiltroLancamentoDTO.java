@@ -0,0 +1,30 @@
+package com.wesledev.minhasFinancas.api.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.wesledev.minhasFinancas.model.enums.StatusLancamento;
+import com.wesledev.minhasFinancas.model.enums.TipoLancamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FiltroLancamentoDTO {
+
+	private Long usuario;
+	private String descricao;
+	private Integer mes;
+	private Integer ano;
+	private TipoLancamento tipo;
+	private StatusLancamento status;
+	private BigDecimal valorMinimo;
+	private BigDecimal valorMaximo;
+	private LocalDate dataInicial;
+	private LocalDate dataFinal;
+}
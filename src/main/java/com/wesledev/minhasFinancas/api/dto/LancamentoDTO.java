@@ -2,6 +2,9 @@ package com.wesledev.minhasFinancas.api.dto;
 
 import java.math.BigDecimal;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
 import lombok.Builder;
 import lombok.Data;
 
@@ -17,4 +20,7 @@ public class LancamentoDTO {
 	private Long usuario;
 	private String tipo;
 	private String status;
+
+	@JsonInclude(Include.NON_NULL)
+	private Long versao;
 }
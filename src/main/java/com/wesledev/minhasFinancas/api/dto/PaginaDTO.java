@@ -0,0 +1,16 @@
+package com.wesledev.minhasFinancas.api.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PaginaDTO<T> {
+
+	private List<T> conteudo;
+	private String proximoCursor;
+}
@@ -0,0 +1,25 @@
+package com.wesledev.minhasFinancas.api.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecorrenciaDTO {
+
+	private Long id;
+	private String descricao;
+	private BigDecimal valor;
+	private String tipo;
+	private Integer dia;
+	private LocalDate proximaOcorrencia;
+	private LocalDate dataFinal;
+	private Long usuario;
+}
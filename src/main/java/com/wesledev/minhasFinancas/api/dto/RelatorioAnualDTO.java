@@ -0,0 +1,23 @@
+package com.wesledev.minhasFinancas.api.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class RelatorioAnualDTO {
+
+	private Integer ano;
+	private TotaisDTO total = new TotaisDTO();
+	private List<RelatorioMensalDTO> meses = new ArrayList<>();
+
+	public RelatorioAnualDTO(Integer ano) {
+		this.ano = ano;
+		for (int mes = 1; mes <= 12; mes++) {
+			meses.add(new RelatorioMensalDTO(mes));
+		}
+	}
+}
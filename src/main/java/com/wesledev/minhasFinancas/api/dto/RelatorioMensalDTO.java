@@ -0,0 +1,25 @@
+package com.wesledev.minhasFinancas.api.dto;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.wesledev.minhasFinancas.model.enums.StatusLancamento;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class RelatorioMensalDTO {
+
+	private Integer mes;
+	private TotaisDTO total = new TotaisDTO();
+	private Map<StatusLancamento, TotaisDTO> porStatus = new EnumMap<>(StatusLancamento.class);
+
+	public RelatorioMensalDTO(Integer mes) {
+		this.mes = mes;
+		for (StatusLancamento status : StatusLancamento.values()) {
+			porStatus.put(status, new TotaisDTO());
+		}
+	}
+}
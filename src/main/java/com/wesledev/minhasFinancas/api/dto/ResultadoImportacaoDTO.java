@@ -0,0 +1,19 @@
+package com.wesledev.minhasFinancas.api.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ResultadoImportacaoDTO {
+
+	private long importados;
+	private long duplicados;
+	private long rejeitados;
+	private List<ErroLoteDTO> erros = new ArrayList<>();
+}
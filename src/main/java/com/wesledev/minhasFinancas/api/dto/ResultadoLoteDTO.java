@@ -0,0 +1,18 @@
+package com.wesledev.minhasFinancas.api.dto;
+
+import java.util.List;
+
+import com.wesledev.minhasFinancas.model.entity.Lancamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ResultadoLoteDTO {
+
+	private List<Lancamento> salvos;
+	private List<ErroLoteDTO> erros;
+}
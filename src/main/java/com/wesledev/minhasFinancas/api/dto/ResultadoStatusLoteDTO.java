@@ -0,0 +1,15 @@
+package com.wesledev.minhasFinancas.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ResultadoStatusLoteDTO {
+
+	private int atualizados;
+	private int inalterados;
+	private int naoEncontrados;
+}
@@ -0,0 +1,32 @@
+package com.wesledev.minhasFinancas.api.dto;
+
+import java.math.BigDecimal;
+
+import com.wesledev.minhasFinancas.model.enums.TipoLancamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TotaisDTO {
+
+	private BigDecimal receitas = BigDecimal.ZERO;
+	private BigDecimal despesas = BigDecimal.ZERO;
+	private long quantidade;
+
+	public BigDecimal getSaldo() {
+		return receitas.subtract(despesas);
+	}
+
+	public void somar(TipoLancamento tipo, BigDecimal valor, long quantidade) {
+		if (tipo == TipoLancamento.RECEITA) {
+			receitas = receitas.add(valor);
+		} else {
+			despesas = despesas.add(valor);
+		}
+		this.quantidade += quantidade;
+	}
+}
@@ -0,0 +1,28 @@
+package com.wesledev.minhasFinancas.api.resource;
+
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Consultas devolvidas como Callable so chegam ao executor depois que o controller retorna, entao a rejeicao por fila
+ * cheia aparece aqui. O Spring relanca a excecao na thread da requisicao e a entrega de novo no dispatch assincrono;
+ * a resposta e escrita apenas no dispatch para nao sair duplicada.
+ */
+@RestControllerAdvice
+public class ConsultaRejeitadaHandler {
+
+	@ExceptionHandler(TaskRejectedException.class)
+	public ResponseEntity rejeitar(TaskRejectedException e, HttpServletRequest request) {
+		if (request.isAsyncStarted()) {
+			return null;
+		}
+		return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER, "1")
+				.body("Muitas consultas simultâneas, tente novamente.");
+	}
+}
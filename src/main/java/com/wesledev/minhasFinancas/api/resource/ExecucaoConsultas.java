@@ -0,0 +1,27 @@
+package com.wesledev.minhasFinancas.api.resource;
+
+import java.util.concurrent.Callable;
+
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Com financas.consultas.assincronas=true as consultas voltam como Callable e rodam no executor de consultas
+ * (WebConfig). Sem a propriedade elas rodam direto na thread da requisicao, fora do processamento assincrono do Spring
+ * MVC: um Callable executado na propria thread da requisicao faria o open-in-view vincular o EntityManager a ela uma
+ * segunda vez.
+ */
+public class ExecucaoConsultas {
+
+	private final boolean assincronas;
+
+	public ExecucaoConsultas(boolean assincronas) {
+		this.assincronas = assincronas;
+	}
+
+	/**
+	 * @return o proprio Callable, ou o ResponseEntity que ele produz quando as consultas sao sincronas
+	 */
+	public Object executar(Callable<ResponseEntity> consulta) throws Exception {
+		return assincronas ? consulta : consulta.call();
+	}
+}
@@ -1,8 +1,27 @@
 package com.wesledev.minhasFinancas.api.resource;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -14,16 +33,31 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.wesledev.minhasFinancas.api.dto.AtualizaStatusDTO;
+import com.wesledev.minhasFinancas.api.dto.AtualizaStatusLoteDTO;
+import com.wesledev.minhasFinancas.api.dto.ErroLoteDTO;
+import com.wesledev.minhasFinancas.api.dto.FiltroLancamentoDTO;
 import com.wesledev.minhasFinancas.api.dto.LancamentoDTO;
+import com.wesledev.minhasFinancas.api.dto.PaginaDTO;
+import com.wesledev.minhasFinancas.api.dto.ResultadoLoteDTO;
+import com.wesledev.minhasFinancas.api.dto.ResultadoStatusLoteDTO;
+import com.wesledev.minhasFinancas.api.seguranca.UsuarioAutenticado;
 import com.wesledev.minhasFinancas.exception.RegraNegocioException;
 import com.wesledev.minhasFinancas.model.entity.Lancamento;
 import com.wesledev.minhasFinancas.model.entity.Usuario;
 import com.wesledev.minhasFinancas.model.enums.StatusLancamento;
 import com.wesledev.minhasFinancas.model.enums.TipoLancamento;
+import com.wesledev.minhasFinancas.model.projection.LancamentoResumo;
+import com.wesledev.minhasFinancas.service.ImportacaoService;
 import com.wesledev.minhasFinancas.service.LancamentoService;
+import com.wesledev.minhasFinancas.service.PesquisaLancamentoService;
 import com.wesledev.minhasFinancas.service.UsuarioService;
+import com.wesledev.minhasFinancas.service.importacao.FormatoExtrato;
 
 import lombok.RequiredArgsConstructor;
 
@@ -32,8 +66,14 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class LancamentoController {
 
+	static final String CONFLITO = "O lançamento foi alterado por outra operação, consulte-o novamente.";
+
 	private final LancamentoService service;
 	private final UsuarioService usuarioService;
+	private final ObjectMapper objectMapper;
+	private final ImportacaoService importacaoService;
+	private final PesquisaLancamentoService pesquisaService;
+	private final ExecucaoConsultas consultas;
 
 //	public LancamentoController(LancamentoService service, UsuarioService usuarioService) {
 //		this.service = service;
@@ -41,31 +81,104 @@ public class LancamentoController {
 //	}
 
 	@GetMapping
-	public ResponseEntity buscar(@RequestParam(value = "descricao", required = false) String descricao,
+	public Object buscar(@RequestParam(value = "descricao", required = false) String descricao,
 			@RequestParam(value = "mes", required = false) Integer mes,
 			@RequestParam(value = "ano", required = false) Integer ano,
-			@RequestParam(value = "usuario") Long idUsuario) {
-		Lancamento lancamentoFiltro = new Lancamento();
-		lancamentoFiltro.setDescricao(descricao);
-		lancamentoFiltro.setMes(mes);
-		lancamentoFiltro.setAno(ano);
+			@RequestParam(value = "tipo", required = false) TipoLancamento tipo,
+			@RequestParam(value = "status", required = false) StatusLancamento status,
+			@RequestParam(value = "valorMinimo", required = false) BigDecimal valorMinimo,
+			@RequestParam(value = "valorMaximo", required = false) BigDecimal valorMaximo,
+			@RequestParam(value = "dataInicial", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate dataInicial,
+			@RequestParam(value = "dataFinal", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate dataFinal,
+			@UsuarioAutenticado Long idUsuario, WebRequest request) throws Exception {
+		if (request.checkNotModified(service.obterVersao(idUsuario))) {
+			return null;
+		}
 
-		Optional<Usuario> usuario = usuarioService.obterPorId(idUsuario);
-		if (!usuario.isPresent()) {
-			return ResponseEntity.badRequest()
-					.body("Não foi possivel realizar a consulta. Usuário não encontrado para o Id informado");
-		} else {
-			lancamentoFiltro.setUsuario(usuario.get());
+		return consultas.executar(() -> {
+			try {
+				List<LancamentoResumo> lancamentos = service.buscar(FiltroLancamentoDTO.builder().usuario(idUsuario)
+						.descricao(descricao).mes(mes).ano(ano).tipo(tipo).status(status).valorMinimo(valorMinimo)
+						.valorMaximo(valorMaximo).dataInicial(dataInicial).dataFinal(dataFinal).build());
+				return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).body(lancamentos);
+			} catch (RegraNegocioException e) {
+				return ResponseEntity.badRequest().body(e.getMessage());
+			}
+		});
+	}
+
+	@GetMapping("/paginado")
+	public Object buscarPaginado(@RequestParam(value = "descricao", required = false) String descricao,
+			@RequestParam(value = "mes", required = false) Integer mes,
+			@RequestParam(value = "ano", required = false) Integer ano,
+			@RequestParam(value = "tipo", required = false) TipoLancamento tipo,
+			@RequestParam(value = "status", required = false) StatusLancamento status,
+			@UsuarioAutenticado Long idUsuario,
+			@RequestParam(value = "cursor", required = false) String cursor,
+			@RequestParam(value = "tamanho", required = false) Integer tamanho, WebRequest request)
+			throws Exception {
+		if (request.checkNotModified(service.obterVersao(idUsuario))) {
+			return null;
 		}
 
-		List<Lancamento> lancamentos = service.buscar(lancamentoFiltro);
-		return ResponseEntity.ok(lancamentos);
+		return consultas.executar(() -> {
+			try {
+				PaginaDTO<LancamentoResumo> pagina = service.buscarPaginado(FiltroLancamentoDTO.builder()
+						.usuario(idUsuario).descricao(descricao).mes(mes).ano(ano).tipo(tipo).status(status).build(),
+						cursor, tamanho);
+				return ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).body(pagina);
+			} catch (RegraNegocioException e) {
+				return ResponseEntity.badRequest().body(e.getMessage());
+			}
+		});
+	}
+
+	@GetMapping("/pesquisa")
+	public Object pesquisar(@RequestParam("texto") String texto,
+			@RequestParam(value = "limite", required = false) Integer limite,
+			@UsuarioAutenticado Long idUsuario) throws Exception {
+		return consultas.executar(() -> {
+			try {
+				return ResponseEntity.ok(pesquisaService.pesquisar(idUsuario, texto, limite));
+			} catch (RegraNegocioException e) {
+				return ResponseEntity.badRequest().body(e.getMessage());
+			}
+		});
+	}
+
+	@GetMapping("/exportar")
+	public void exportar(@UsuarioAutenticado Long idUsuario,
+			@RequestParam(value = "formato", defaultValue = "ndjson") String formato, HttpServletResponse response)
+			throws IOException {
+		boolean csv = "csv".equalsIgnoreCase(formato);
+		if (!csv && !"ndjson".equalsIgnoreCase(formato)) {
+			response.sendError(HttpStatus.BAD_REQUEST.value(), "Formato de exportação inválido.");
+			return;
+		}
+		response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+		response.setContentType(csv ? "text/csv" : "application/x-ndjson");
+		response.setHeader("Content-Disposition",
+				"attachment; filename=\"lancamentos." + (csv ? "csv" : "ndjson") + "\"");
+
+		Writer writer = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+		if (csv) {
+			writer.write("id,descricao,mes,ano,valor,tipo,status,dataCadastro\n");
+		}
+
+		service.exportar(idUsuario, lancamento -> {
+			try {
+				writer.write(csv ? linhaCsv(lancamento) : linhaJson(lancamento));
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+		writer.flush();
 	}
 
 	@PostMapping
-	public ResponseEntity salvar(@RequestBody LancamentoDTO dto) {
+	public ResponseEntity salvar(@RequestBody LancamentoDTO dto, @UsuarioAutenticado Long idUsuario) {
 		try {
-			Lancamento entidade = converter(dto);
+			Lancamento entidade = converter(dto, idUsuario);
 			entidade = service.salvar(entidade);
 			return new ResponseEntity(entidade, HttpStatus.CREATED);
 		} catch (RegraNegocioException e) {
@@ -73,61 +186,159 @@ public class LancamentoController {
 		}
 	}
 
+	@PostMapping("/lote")
+	public ResponseEntity salvarEmLote(@RequestBody List<LancamentoDTO> dtos, @UsuarioAutenticado Long idUsuario) {
+		// o usuario e consultado uma unica vez para o lote inteiro
+		Optional<Usuario> usuario = usuarioService.obterPorId(idUsuario);
+		if (!usuario.isPresent()) {
+			return ResponseEntity.badRequest().body("Usuário não encontrado para o Id informado.");
+		}
+
+		List<Lancamento> lancamentos = new ArrayList<>();
+		List<Integer> posicoes = new ArrayList<>();
+		List<ErroLoteDTO> erros = new ArrayList<>();
+
+		for (int i = 0; i < dtos.size(); i++) {
+			LancamentoDTO dto = dtos.get(i);
+			try {
+				lancamentos.add(converter(dto, usuario.get()));
+				posicoes.add(i);
+			} catch (RegraNegocioException | IllegalArgumentException e) {
+				erros.add(new ErroLoteDTO(i, e.getMessage()));
+			}
+		}
+
+		try {
+			ResultadoLoteDTO resultado = service.salvarEmLote(lancamentos);
+			resultado.getErros().forEach(erro -> erro.setIndice(posicoes.get(erro.getIndice())));
+			erros.addAll(resultado.getErros());
+			erros.sort(Comparator.comparingInt(ErroLoteDTO::getIndice));
+			resultado.setErros(erros);
+			return ResponseEntity.ok(resultado);
+		} catch (RegraNegocioException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
+	@PostMapping("/importar")
+	public ResponseEntity importar(@UsuarioAutenticado Long idUsuario,
+			@RequestParam("arquivo") MultipartFile arquivo,
+			@RequestParam(value = "formato", required = false) String formato,
+			@RequestParam(value = "charset", defaultValue = "UTF-8") String charset) {
+		try {
+			Usuario usuario = usuarioService.obterPorId(idUsuario)
+					.orElseThrow(() -> new RegraNegocioException("Usuário não encontrado para o Id informado."));
+			FormatoExtrato formatoExtrato = formato != null ? FormatoExtrato.deNome(formato)
+					: FormatoExtrato.deArquivo(arquivo.getOriginalFilename());
+
+			try (Reader conteudo = new InputStreamReader(arquivo.getInputStream(), Charset.forName(charset))) {
+				return ResponseEntity.ok(importacaoService.importar(usuario, formatoExtrato, conteudo));
+			}
+		} catch (RegraNegocioException | IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
 	@PutMapping("{id}")
-	public ResponseEntity atualizar(@PathVariable("id") Long id, @RequestBody LancamentoDTO dto) {
-		return service.obterPorId(id).map(entity -> {
+	public ResponseEntity atualizar(@PathVariable("id") Long id, @RequestBody LancamentoDTO dto,
+			@UsuarioAutenticado Long idUsuario) {
+		return obterDoUsuario(id, idUsuario).map(entity -> {
 			try {
-				Lancamento lancamento = converter(dto);
+				Lancamento lancamento = converter(dto, idUsuario);
 				lancamento.setId(entity.getId());
-				service.atualizar(lancamento);
-				return ResponseEntity.ok(lancamento);
+				return ResponseEntity.ok(service.atualizar(lancamento));
 			} catch (RegraNegocioException e) {
 				return ResponseEntity.badRequest().body(e.getMessage());
+			} catch (OptimisticLockingFailureException e) {
+				return new ResponseEntity(CONFLITO, HttpStatus.CONFLICT);
 			}
 
 		}).orElseGet(() -> new ResponseEntity("Lancamento não encontrado na base de Dados.", HttpStatus.BAD_REQUEST));
 	}
 
 	@PutMapping("{id}/atualiza-status")
-	public ResponseEntity atualizarStatus(@PathVariable("id") Long id, @RequestBody AtualizaStatusDTO dto) {
-		return service.obterPorId(id).map(entity -> {
-			StatusLancamento statusSelecionado = StatusLancamento.valueOf(dto.getStatus());
+	public ResponseEntity atualizarStatus(@PathVariable("id") Long id, @RequestBody AtualizaStatusDTO dto,
+			@UsuarioAutenticado Long idUsuario) {
+		return obterDoUsuario(id, idUsuario).map(entity -> {
+			StatusLancamento statusSelecionado;
+			try {
+				statusSelecionado = dto.getStatus() == null ? null : StatusLancamento.valueOf(dto.getStatus());
+			} catch (IllegalArgumentException e) {
+				statusSelecionado = null;
+			}
 			if (statusSelecionado == null) {
 				return ResponseEntity.badRequest()
 						.body("Não foi possivel atualizar o status do lançamento, enfie um status válido.");
 			}
+			// a versao lida pelo cliente tem que ser a mesma carregada aqui, senao outra escrita ja ocorreu
+			if (dto.getVersao() != null && !dto.getVersao().equals(entity.getVersao())) {
+				return new ResponseEntity(CONFLITO, HttpStatus.CONFLICT);
+			}
 
 			try {
-				entity.setStatus(statusSelecionado);
-				service.atualizar(entity);
-				return ResponseEntity.ok(entity);
+				service.atualizarStatus(entity, statusSelecionado);
+				// o update limpa o contexto de persistencia e o proxy do usuario nao pode mais ser carregado
+				LancamentoDTO resposta = converter(entity);
+				resposta.setVersao(entity.getVersao());
+				return ResponseEntity.ok(resposta);
 
 			} catch (RegraNegocioException e) {
 				return ResponseEntity.badRequest().body(e.getMessage());
+			} catch (OptimisticLockingFailureException e) {
+				return new ResponseEntity(CONFLITO, HttpStatus.CONFLICT);
 			}
 
 		}).orElseGet(() -> new ResponseEntity("Lancamento não encontrado na base de Dados.", HttpStatus.BAD_REQUEST));
 	}
 
+	@PutMapping("/atualiza-status")
+	public ResponseEntity atualizarStatusEmLote(@RequestBody AtualizaStatusLoteDTO dto,
+			@UsuarioAutenticado Long idUsuario) {
+		try {
+			StatusLancamento status = dto.getStatus() == null ? null : StatusLancamento.valueOf(dto.getStatus());
+			TipoLancamento tipo = dto.getTipo() == null ? null : TipoLancamento.valueOf(dto.getTipo());
+			ResultadoStatusLoteDTO resultado = service.atualizarStatusEmLote(FiltroLancamentoDTO.builder()
+					.usuario(idUsuario).ano(dto.getAno()).mes(dto.getMes()).tipo(tipo).build(), dto.getIds(), status);
+			return ResponseEntity.ok(resultado);
+		} catch (RegraNegocioException | IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
 	@DeleteMapping("{id}")
-	public ResponseEntity deletar(@PathVariable("id") Long id) {
-		return service.obterPorId(id).map(entidade -> {
-			service.deletar(entidade);
-			return new ResponseEntity(HttpStatus.NO_CONTENT);
+	public ResponseEntity deletar(@PathVariable("id") Long id, @UsuarioAutenticado Long idUsuario) {
+		return obterDoUsuario(id, idUsuario).map(entidade -> {
+			try {
+				service.deletar(entidade);
+				return new ResponseEntity(HttpStatus.NO_CONTENT);
+			} catch (OptimisticLockingFailureException e) {
+				return new ResponseEntity(CONFLITO, HttpStatus.CONFLICT);
+			}
 		}).orElseGet(() -> new ResponseEntity("Lancamento não encontrado na base de Dados.", HttpStatus.BAD_REQUEST));
 	}
 
-	private Lancamento converter(LancamentoDTO dto) {
+	private Optional<Lancamento> obterDoUsuario(Long id, Long idUsuario) {
+		return service.obterPorId(id).filter(
+				lancamento -> lancamento.getUsuario() != null && idUsuario.equals(lancamento.getUsuario().getId()));
+	}
+
+	public Lancamento converter(LancamentoDTO dto, Long idUsuario) {
+		Usuario usuario = usuarioService.obterPorId(idUsuario)
+				.orElseThrow(() -> new RegraNegocioException("Usuário não encontrado para o Id informado."));
+
+		return converter(dto, usuario);
+	}
+
+	private Lancamento converter(LancamentoDTO dto, Usuario usuario) {
 		Lancamento lancamento = new Lancamento();
 		lancamento.setId(dto.getId());
 		lancamento.setDescricao(dto.getDescricao());
 		lancamento.setAno(dto.getAno());
 		lancamento.setMes(dto.getMes());
 		lancamento.setValor(dto.getValor());
-
-		Usuario usuario = usuarioService.obterPorId(dto.getUsuario())
-				.orElseThrow(() -> new RegraNegocioException("Usuário não encontrado para o Id informado."));
-
+		lancamento.setVersao(dto.getVersao());
 		lancamento.setUsuario(usuario);
 
 		if (dto.getTipo() != null) {
@@ -139,4 +350,38 @@ public class LancamentoController {
 
 		return lancamento;
 	}
+
+	private String linhaJson(Lancamento lancamento) throws JsonProcessingException {
+		return objectMapper.writeValueAsString(converter(lancamento)) + "\n";
+	}
+
+	private String linhaCsv(Lancamento lancamento) {
+		return new StringBuilder().append(lancamento.getId()).append(',')
+				.append(campoCsv(lancamento.getDescricao())).append(',')
+				.append(lancamento.getMes()).append(',')
+				.append(lancamento.getAno()).append(',')
+				.append(lancamento.getValor() == null ? "" : lancamento.getValor().toPlainString()).append(',')
+				.append(lancamento.getTipo() == null ? "" : lancamento.getTipo().name()).append(',')
+				.append(lancamento.getStatus() == null ? "" : lancamento.getStatus().name()).append(',')
+				.append(lancamento.getDataCadastro() == null ? "" : lancamento.getDataCadastro().toString())
+				.append('\n').toString();
+	}
+
+	private String campoCsv(String valor) {
+		if (valor == null) {
+			return "";
+		}
+		if (valor.contains(",") || valor.contains("\"") || valor.contains("\n")) {
+			return "\"" + valor.replace("\"", "\"\"") + "\"";
+		}
+		return valor;
+	}
+
+	private LancamentoDTO converter(Lancamento lancamento) {
+		return LancamentoDTO.builder().id(lancamento.getId()).descricao(lancamento.getDescricao())
+				.mes(lancamento.getMes()).ano(lancamento.getAno()).valor(lancamento.getValor())
+				.usuario(lancamento.getUsuario() == null ? null : lancamento.getUsuario().getId())
+				.tipo(lancamento.getTipo() == null ? null : lancamento.getTipo().name())
+				.status(lancamento.getStatus() == null ? null : lancamento.getStatus().name()).build();
+	}
 }
@@ -0,0 +1,79 @@
+package com.wesledev.minhasFinancas.api.resource;
+
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.wesledev.minhasFinancas.api.dto.RecorrenciaDTO;
+import com.wesledev.minhasFinancas.api.seguranca.UsuarioAutenticado;
+import com.wesledev.minhasFinancas.exception.RegraNegocioException;
+import com.wesledev.minhasFinancas.model.entity.Recorrencia;
+import com.wesledev.minhasFinancas.model.entity.Usuario;
+import com.wesledev.minhasFinancas.model.enums.TipoLancamento;
+import com.wesledev.minhasFinancas.service.RecorrenciaService;
+import com.wesledev.minhasFinancas.service.UsuarioService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/recorrencias")
+@RequiredArgsConstructor
+public class RecorrenciaController {
+
+	private final RecorrenciaService service;
+	private final UsuarioService usuarioService;
+
+	@GetMapping
+	public ResponseEntity buscar(@UsuarioAutenticado Long idUsuario) {
+		return ResponseEntity.ok(
+				service.buscarPorUsuario(idUsuario).stream().map(this::converter).collect(Collectors.toList()));
+	}
+
+	@PostMapping
+	public ResponseEntity salvar(@RequestBody RecorrenciaDTO dto, @UsuarioAutenticado Long idUsuario) {
+		try {
+			Usuario usuario = usuarioService.obterPorId(idUsuario)
+					.orElseThrow(() -> new RegraNegocioException("Usuário não encontrado para o Id informado."));
+			Recorrencia recorrencia = service.salvar(converter(dto, usuario));
+			return new ResponseEntity(converter(recorrencia), HttpStatus.CREATED);
+		} catch (RegraNegocioException | IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
+	@DeleteMapping("{id}")
+	public ResponseEntity deletar(@PathVariable("id") Long id, @UsuarioAutenticado Long idUsuario) {
+		return obterDoUsuario(id, idUsuario).map(recorrencia -> {
+			service.deletar(recorrencia);
+			return new ResponseEntity(HttpStatus.NO_CONTENT);
+		}).orElseGet(() -> new ResponseEntity("Recorrência não encontrada na base de Dados.", HttpStatus.BAD_REQUEST));
+	}
+
+	private Optional<Recorrencia> obterDoUsuario(Long id, Long idUsuario) {
+		return service.obterPorId(id).filter(
+				recorrencia -> recorrencia.getUsuario() != null && idUsuario.equals(recorrencia.getUsuario().getId()));
+	}
+
+	private Recorrencia converter(RecorrenciaDTO dto, Usuario usuario) {
+		return Recorrencia.builder().descricao(dto.getDescricao()).valor(dto.getValor())
+				.tipo(dto.getTipo() == null ? null : TipoLancamento.valueOf(dto.getTipo())).dia(dto.getDia())
+				.proximaOcorrencia(dto.getProximaOcorrencia()).dataFinal(dto.getDataFinal()).usuario(usuario).build();
+	}
+
+	private RecorrenciaDTO converter(Recorrencia recorrencia) {
+		return RecorrenciaDTO.builder().id(recorrencia.getId()).descricao(recorrencia.getDescricao())
+				.valor(recorrencia.getValor()).tipo(recorrencia.getTipo() == null ? null : recorrencia.getTipo().name())
+				.dia(recorrencia.getDia()).proximaOcorrencia(recorrencia.getProximaOcorrencia())
+				.dataFinal(recorrencia.getDataFinal())
+				.usuario(recorrencia.getUsuario() == null ? null : recorrencia.getUsuario().getId()).build();
+	}
+}
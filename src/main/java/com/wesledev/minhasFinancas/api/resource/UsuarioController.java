@@ -1,8 +1,12 @@
 package com.wesledev.minhasFinancas.api.resource;
 
-import java.math.BigDecimal;
-import java.util.Optional;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -10,13 +14,18 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.wesledev.minhasFinancas.api.dto.TokenDTO;
 import com.wesledev.minhasFinancas.api.dto.UsuarioDTO;
+import com.wesledev.minhasFinancas.api.seguranca.UsuarioAutenticado;
 import com.wesledev.minhasFinancas.exception.ErrorAutenticacao;
 import com.wesledev.minhasFinancas.exception.RegraNegocioException;
 import com.wesledev.minhasFinancas.model.entity.Usuario;
 import com.wesledev.minhasFinancas.service.LancamentoService;
+import com.wesledev.minhasFinancas.service.TokenService;
 import com.wesledev.minhasFinancas.service.UsuarioService;
 
 import lombok.RequiredArgsConstructor;
@@ -28,18 +37,30 @@ public class UsuarioController {
 
 	private final UsuarioService service;
 	private final LancamentoService lancamentoService;
+	private final TokenService tokenService;
+	private final ExecucaoConsultas consultas;
 
 //	public UsuarioController(UsuarioService service) {
 //		this.service = service;
 //	}
 
 	@PostMapping("/autenticar")
-	public ResponseEntity autenticar(@RequestBody UsuarioDTO dto) {
+	public CompletableFuture<ResponseEntity> autenticar(@RequestBody UsuarioDTO dto) {
 		try {
-			Usuario usuarioAutenticado = service.autenticar(dto.getEmail(), dto.getSenha());
-			return ResponseEntity.ok(usuarioAutenticado);
-		} catch (ErrorAutenticacao e) {
-			return ResponseEntity.badRequest().body(e.getMessage());
+			return service.autenticarAsync(dto.getEmail(), dto.getSenha())
+					.<ResponseEntity>thenApply(usuarioAutenticado -> ResponseEntity.ok(TokenDTO.builder()
+							.id(usuarioAutenticado.getId()).nome(usuarioAutenticado.getNome())
+							.email(usuarioAutenticado.getEmail()).token(tokenService.gerar(usuarioAutenticado)).build()))
+					.exceptionally(e -> {
+						Throwable causa = e instanceof CompletionException ? e.getCause() : e;
+						if (causa instanceof ErrorAutenticacao) {
+							return ResponseEntity.badRequest().body(causa.getMessage());
+						}
+						throw e instanceof CompletionException ? (CompletionException) e : new CompletionException(e);
+					});
+		} catch (TaskRejectedException e) {
+			return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+					.header(HttpHeaders.RETRY_AFTER, "1").body("Muitas tentativas de login, tente novamente."));
 		}
 	}
 
@@ -56,15 +77,38 @@ public class UsuarioController {
 	}
 
 	@GetMapping("{id}/saldo")
-	public ResponseEntity obterSaldo(@PathVariable("id") Long id) {
-		Optional<Usuario> usuario = service.obterPorId(id);
+	public Object obterSaldo(@PathVariable("id") Long id, @UsuarioAutenticado Long idUsuario, WebRequest request)
+			throws Exception {
+		if (!id.equals(idUsuario)) {
+			return new ResponseEntity(HttpStatus.FORBIDDEN);
+		}
+
+		// a versao e lida antes do saldo, assim o ETag nunca e mais novo que o corpo
+		if (request.checkNotModified(lancamentoService.obterVersao(id))) {
+			return null;
+		}
+
+		return consultas.executar(() -> lancamentoService.obterSaldoPorUsuario(id)
+				.map(saldo -> ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).body(saldo))
+				.orElseGet(() -> new ResponseEntity(HttpStatus.NOT_FOUND)));
+	}
 
-		if (!usuario.isPresent()) {
-			return new ResponseEntity(HttpStatus.NOT_FOUND);
+	@GetMapping("{id}/relatorio")
+	public Object obterRelatorio(@PathVariable("id") Long id,
+			@RequestParam(value = "ano", required = false) Integer ano, @UsuarioAutenticado Long idUsuario)
+			throws Exception {
+		if (!id.equals(idUsuario)) {
+			return new ResponseEntity(HttpStatus.FORBIDDEN);
 		}
 
-		BigDecimal saldo = lancamentoService.obterSaldoPorUsuario(id);
-		return ResponseEntity.ok(saldo);
+		return consultas.executar(() -> {
+			try {
+				return ResponseEntity
+						.ok(lancamentoService.obterRelatorioAnual(id, ano == null ? LocalDate.now().getYear() : ano));
+			} catch (RegraNegocioException e) {
+				return ResponseEntity.badRequest().body(e.getMessage());
+			}
+		});
 	}
 
 }
@@ -0,0 +1,58 @@
+package com.wesledev.minhasFinancas.api.seguranca;
+
+import java.io.IOException;
+import java.util.Optional;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.wesledev.minhasFinancas.service.TokenService;
+
+import lombok.RequiredArgsConstructor;
+
+@Component
+@RequiredArgsConstructor
+public class AutenticacaoFilter extends OncePerRequestFilter {
+
+	public static final String ATRIBUTO_USUARIO = AutenticacaoFilter.class.getName() + ".usuario";
+
+	private static final String PREFIXO = "Bearer ";
+
+	private final TokenService tokenService;
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		String caminho = request.getRequestURI().substring(request.getContextPath().length());
+		if (!caminho.startsWith("/api/") || HttpMethod.OPTIONS.matches(request.getMethod())) {
+			return true;
+		}
+		// cadastro e login sao as unicas rotas publicas da api
+		return HttpMethod.POST.matches(request.getMethod())
+				&& (caminho.equals("/api/usuarios") || caminho.equals("/api/usuarios/autenticar"));
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		String cabecalho = request.getHeader(HttpHeaders.AUTHORIZATION);
+		Optional<Long> usuario = cabecalho != null && cabecalho.startsWith(PREFIXO)
+				? tokenService.validar(cabecalho.substring(PREFIXO.length()))
+				: Optional.empty();
+
+		if (!usuario.isPresent()) {
+			response.sendError(HttpStatus.UNAUTHORIZED.value(), "Token de autenticação ausente ou inválido.");
+			return;
+		}
+
+		request.setAttribute(ATRIBUTO_USUARIO, usuario.get());
+		chain.doFilter(request, response);
+	}
+}
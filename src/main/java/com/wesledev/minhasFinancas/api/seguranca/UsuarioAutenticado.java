@@ -0,0 +1,14 @@
+package com.wesledev.minhasFinancas.api.seguranca;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca o parametro {@code Long} que recebe o id do usuario do token validado pelo {@link AutenticacaoFilter}.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface UsuarioAutenticado {
+}
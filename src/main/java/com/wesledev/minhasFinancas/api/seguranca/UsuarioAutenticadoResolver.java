@@ -0,0 +1,29 @@
+package com.wesledev.minhasFinancas.api.seguranca;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+import com.wesledev.minhasFinancas.exception.ErrorAutenticacao;
+
+public class UsuarioAutenticadoResolver implements HandlerMethodArgumentResolver {
+
+	@Override
+	public boolean supportsParameter(MethodParameter parameter) {
+		return parameter.hasParameterAnnotation(UsuarioAutenticado.class);
+	}
+
+	@Override
+	public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+			NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+		Object usuario = webRequest.getAttribute(AutenticacaoFilter.ATRIBUTO_USUARIO,
+				RequestAttributes.SCOPE_REQUEST);
+		if (usuario == null) {
+			throw new ErrorAutenticacao("Usuário não autenticado.");
+		}
+		return usuario;
+	}
+}
@@ -0,0 +1,54 @@
+package com.wesledev.minhasFinancas.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+@Configuration
+public class AutenticacaoConfig {
+
+	public static final String ID_CODIFICACAO = "bcrypt";
+	public static final String EXECUTOR = "autenticacaoExecutor";
+
+	/**
+	 * Senhas novas sao gravadas como {bcrypt}hash; linhas antigas, sem prefixo, ainda estao em texto puro e sao
+	 * comparadas diretamente ate serem recodificadas no proximo login.
+	 */
+	@Bean
+	public PasswordEncoder passwordEncoder(@Value("${financas.senha.custo:10}") int custo) {
+		Map<String, PasswordEncoder> codificadores = new HashMap<>();
+		codificadores.put(ID_CODIFICACAO, new BCryptPasswordEncoder(custo));
+
+		DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(ID_CODIFICACAO, codificadores);
+		passwordEncoder.setDefaultPasswordEncoderForMatches(senhaLegada());
+		return passwordEncoder;
+	}
+
+	@SuppressWarnings("deprecation")
+	private static PasswordEncoder senhaLegada() {
+		return org.springframework.security.crypto.password.NoOpPasswordEncoder.getInstance();
+	}
+
+	/**
+	 * Verificar a senha ocupa a CPU por dezenas de milissegundos; o pool limitado com fila curta evita que um pico de
+	 * logins prenda as threads do Tomcat, rejeitando o excedente com TaskRejectedException.
+	 */
+	@Bean(name = EXECUTOR)
+	public ThreadPoolTaskExecutor autenticacaoExecutor(
+			@Value("${financas.autenticacao.threads:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}") int threads,
+			@Value("${financas.autenticacao.fila:50}") int fila) {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(threads);
+		executor.setMaxPoolSize(threads);
+		executor.setQueueCapacity(fila);
+		executor.setThreadNamePrefix("autenticacao-");
+		return executor;
+	}
+}
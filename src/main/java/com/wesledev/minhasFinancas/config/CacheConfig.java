@@ -0,0 +1,16 @@
+package com.wesledev.minhasFinancas.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Os caches sao criados pelo Spring Boot a partir de spring.cache.cache-names e spring.cache.caffeine.spec; com
+ * recordStats no spec, acertos, falhas e remocoes sao publicados em /actuator/metrics (cache.gets, cache.evictions).
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+	public static final String USUARIOS = "usuarios";
+	public static final String USUARIOS_POR_EMAIL = "usuariosPorEmail";
+}
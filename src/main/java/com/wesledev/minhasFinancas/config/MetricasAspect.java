@@ -0,0 +1,64 @@
+package com.wesledev.minhasFinancas.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Mede cada metodo de LancamentoService e UsuarioService (financas.servico) e cada consulta de LancamentoRepository
+ * (financas.repositorio), com as tags classe, metodo e excecao. Os endpoints ja sao medidos pelo Spring Boot em
+ * http.server.requests; percentis e histogramas de todos vem de management.metrics.distribution.
+ * <p>
+ * O aspecto fica por fora do proxy transacional, entao o tempo dos servicos inclui o commit.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class MetricasAspect {
+
+	public static final String SERVICO = "financas.servico";
+	public static final String REPOSITORIO = "financas.repositorio";
+
+	private static final String SEM_OBJECT = " && !execution(* java.lang.Object.*(..))";
+
+	private final MeterRegistry registry;
+
+	public MetricasAspect(MeterRegistry registry) {
+		this.registry = registry;
+	}
+
+	@Around("target(com.wesledev.minhasFinancas.service.LancamentoService)" + SEM_OBJECT)
+	public Object medirLancamentoService(ProceedingJoinPoint ponto) throws Throwable {
+		return medir(SERVICO, "LancamentoService", ponto);
+	}
+
+	@Around("target(com.wesledev.minhasFinancas.service.UsuarioService)" + SEM_OBJECT)
+	public Object medirUsuarioService(ProceedingJoinPoint ponto) throws Throwable {
+		return medir(SERVICO, "UsuarioService", ponto);
+	}
+
+	@Around("target(com.wesledev.minhasFinancas.model.repository.LancamentoRepository)" + SEM_OBJECT)
+	public Object medirLancamentoRepository(ProceedingJoinPoint ponto) throws Throwable {
+		return medir(REPOSITORIO, "LancamentoRepository", ponto);
+	}
+
+	private Object medir(String nome, String classe, ProceedingJoinPoint ponto) throws Throwable {
+		Timer.Sample inicio = Timer.start(registry);
+		String excecao = "none";
+		try {
+			return ponto.proceed();
+		} catch (Throwable e) {
+			excecao = e.getClass().getSimpleName();
+			throw e;
+		} finally {
+			inicio.stop(Timer.builder(nome).tag("classe", classe).tag("metodo", ponto.getSignature().getName())
+					.tag("excecao", excecao).register(registry));
+		}
+	}
+}
@@ -0,0 +1,76 @@
+package com.wesledev.minhasFinancas.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Com financas.replica.url, transações readOnly leem da réplica; o pool dela herda o do primário e aceita
+ * financas.replica.username, financas.replica.password e financas.replica.hikari.*.
+ */
+@Configuration
+@ConditionalOnExpression("!'${financas.replica.url:}'.isEmpty()")
+public class ReplicaConfig {
+
+	/**
+	 * Os pools não são beans para não disparar a inicialização do banco antes do roteamento existir.
+	 */
+	@Bean
+	@Primary
+	public DataSource dataSource(DataSourceProperties properties, Environment environment,
+			ObjectProvider<MeterRegistry> registry) {
+		Binder binder = Binder.get(environment);
+
+		HikariDataSource primario = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+		binder.bind("spring.datasource.hikari", Bindable.ofInstance(primario));
+
+		HikariDataSource replica = new HikariDataSource();
+		primario.copyStateTo(replica);
+		replica.setJdbcUrl(environment.getRequiredProperty("financas.replica.url"));
+		if (StringUtils.hasText(environment.getProperty("financas.replica.username"))) {
+			replica.setUsername(environment.getProperty("financas.replica.username"));
+			replica.setPassword(environment.getProperty("financas.replica.password"));
+		}
+		replica.setPoolName((primario.getPoolName() == null ? "financas" : primario.getPoolName()) + "-replica");
+		binder.bind("financas.replica.hikari", Bindable.ofInstance(replica));
+		registry.ifAvailable(metricas -> replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(metricas)));
+
+		Map<Object, Object> destinos = new HashMap<>();
+		destinos.put(RoteamentoDataSource.PRIMARIO, primario);
+		destinos.put(RoteamentoDataSource.REPLICA, replica);
+
+		RoteamentoDataSource roteamento = new RoteamentoDataSource();
+		roteamento.setTargetDataSources(destinos);
+		roteamento.setDefaultTargetDataSource(primario);
+		roteamento.afterPropertiesSet();
+		return new LazyConnectionDataSourceProxy(roteamento);
+	}
+
+	/**
+	 * Devolve a conexão ao fim de cada transação, para que a seguinte seja roteada de novo mesmo com open-in-view.
+	 */
+	@Bean
+	public HibernatePropertiesCustomizer liberarConexaoPorTransacao() {
+		return propriedades -> propriedades.put("hibernate.connection.handling_mode",
+				"DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION");
+	}
+}
@@ -0,0 +1,19 @@
+package com.wesledev.minhasFinancas.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Réplica para transações readOnly e primário para o resto; leituras que precedem uma escrita, como os obterPorId
+ * dos serviços, não podem ser readOnly. Fica atrás de um LazyConnectionDataSourceProxy (ver {@link ReplicaConfig}).
+ */
+class RoteamentoDataSource extends AbstractRoutingDataSource {
+
+	static final String PRIMARIO = "primario";
+	static final String REPLICA = "replica";
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? REPLICA : PRIMARIO;
+	}
+}
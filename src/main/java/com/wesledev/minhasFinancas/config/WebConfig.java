@@ -0,0 +1,72 @@
+package com.wesledev.minhasFinancas.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.wesledev.minhasFinancas.api.resource.ExecucaoConsultas;
+import com.wesledev.minhasFinancas.api.seguranca.UsuarioAutenticadoResolver;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+	public static final String CONSULTA_EXECUTOR = "consultaExecutor";
+
+	@Value("${financas.consultas.assincronas:false}")
+	private boolean consultasAssincronas;
+
+	@Value("${financas.consultas.threads:${spring.datasource.hikari.maximum-pool-size:10}}")
+	private int threadsConsulta;
+
+	@Value("${financas.consultas.fila:2000}")
+	private int filaConsulta;
+
+	@Value("${financas.consultas.timeout:30s}")
+	private Duration timeoutConsulta;
+
+	@Override
+	public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+		resolvers.add(new UsuarioAutenticadoResolver());
+	}
+
+	@Override
+	public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+		configurer.setTaskExecutor(consultaExecutor());
+		configurer.setDefaultTimeout(timeoutConsulta.toMillis());
+	}
+
+	/**
+	 * Executor das consultas que os controllers devolvem como Callable. Com financas.consultas.assincronas=true elas
+	 * rodam em um pool do tamanho do pool de conexoes e a thread do Tomcat fica livre enquanto a consulta espera o
+	 * banco; um pico fica na fila, que quando cheia rejeita com 429 em vez de prender todas as threads do Tomcat. Sem a
+	 * propriedade os controllers nao devolvem Callable (ver {@link ExecucaoConsultas}) e este executor nao e usado.
+	 */
+	@Bean(name = CONSULTA_EXECUTOR)
+	public AsyncTaskExecutor consultaExecutor() {
+		if (!consultasAssincronas) {
+			return new TaskExecutorAdapter(new SyncTaskExecutor());
+		}
+
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(threadsConsulta);
+		executor.setMaxPoolSize(threadsConsulta);
+		executor.setQueueCapacity(filaConsulta);
+		executor.setThreadNamePrefix("consulta-");
+		return executor;
+	}
+
+	@Bean
+	public ExecucaoConsultas execucaoConsultas() {
+		return new ExecucaoConsultas(consultasAssincronas);
+	}
+}
@@ -0,0 +1,60 @@
+package com.wesledev.minhasFinancas.job;
+
+import java.time.LocalDate;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.wesledev.minhasFinancas.service.ArquivamentoService;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class ArquivamentoJob {
+
+	private final ArquivamentoService service;
+	private final int anosAbertos;
+	private final long faixaUsuarios;
+
+	public ArquivamentoJob(ArquivamentoService service,
+			@Value("${financas.arquivamento.anos-abertos:5}") int anosAbertos,
+			@Value("${financas.arquivamento.faixa-usuarios:1000}") long faixaUsuarios) {
+		this.service = service;
+		this.anosAbertos = Math.max(anosAbertos, 1);
+		this.faixaUsuarios = Math.max(faixaUsuarios, 1);
+	}
+
+	/**
+	 * Abre a partição do próximo ano e arquiva os anos anteriores aos mantidos abertos, uma faixa de usuários por
+	 * transação. Uma faixa que falha fica para a próxima execução sem impedir as seguintes.
+	 */
+	@Scheduled(cron = "${financas.arquivamento.cron:-}")
+	public int executar() {
+		int anoAtual = LocalDate.now().getYear();
+		service.criarParticao(anoAtual + 1);
+		long maiorIdUsuario = service.obterMaiorIdUsuario();
+
+		int total = 0;
+		for (Integer ano : service.obterAnosAnterioresA(anoAtual - anosAbertos + 1)) {
+			int arquivados = 0;
+			for (long inicial = 1; inicial <= maiorIdUsuario; inicial += faixaUsuarios) {
+				long fim = inicial + faixaUsuarios - 1;
+				try {
+					arquivados += service.arquivar(ano, inicial, fim);
+				} catch (RuntimeException e) {
+					log.error("Falha ao arquivar os lançamentos de {} dos usuários {} a {}.", ano, inicial, fim, e);
+				}
+			}
+			try {
+				service.descartarParticao(ano);
+			} catch (RuntimeException e) {
+				log.error("Falha ao descartar a partição de {}.", ano, e);
+			}
+			log.info("{} lançamentos de {} arquivados.", arquivados, ano);
+			total += arquivados;
+		}
+		return total;
+	}
+}
@@ -0,0 +1,38 @@
+package com.wesledev.minhasFinancas.job;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.wesledev.minhasFinancas.service.EventoLancamentoService;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class EventoLancamentoJob {
+
+	private final EventoLancamentoService service;
+
+	public EventoLancamentoJob(EventoLancamentoService service) {
+		this.service = service;
+	}
+
+	/**
+	 * Relay do outbox: publica os eventos pendentes em lotes, um por transacao, ate esvaziar. Varias instancias
+	 * dividem os lotes e publicam em paralelo, sem ordem entre eles; um lote que falha volta na proxima execucao.
+	 */
+	@Scheduled(fixedDelayString = "${financas.eventos.intervalo:1000}")
+	public int executar() {
+		int total = 0;
+		try {
+			int publicados;
+			do {
+				publicados = service.publicarPendentes();
+				total += publicados;
+			} while (publicados > 0);
+		} catch (RuntimeException e) {
+			log.error("Falha ao publicar os eventos de lançamentos.", e);
+		}
+		return total;
+	}
+}
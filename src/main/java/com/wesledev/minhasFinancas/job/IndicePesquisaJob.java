@@ -0,0 +1,30 @@
+package com.wesledev.minhasFinancas.job;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.wesledev.minhasFinancas.service.PesquisaLancamentoService;
+
+@Component
+public class IndicePesquisaJob {
+
+	private final PesquisaLancamentoService service;
+
+	public IndicePesquisaJob(PesquisaLancamentoService service) {
+		this.service = service;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	@Scheduled(fixedDelayString = "${financas.pesquisa.intervalo-sincronizacao:300000}",
+			initialDelayString = "${financas.pesquisa.intervalo-sincronizacao:300000}")
+	public void sincronizar() {
+		service.sincronizar();
+	}
+
+	@Scheduled(fixedDelayString = "${financas.pesquisa.intervalo-confirmacao:5000}")
+	public void confirmar() {
+		service.confirmar();
+	}
+}
@@ -0,0 +1,55 @@
+package com.wesledev.minhasFinancas.job;
+
+import java.time.LocalDate;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.wesledev.minhasFinancas.service.RecorrenciaService;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class RecorrenciaJob {
+
+	private final RecorrenciaService service;
+	private final long faixaUsuarios;
+
+	public RecorrenciaJob(RecorrenciaService service,
+			@Value("${financas.recorrencia.faixa-usuarios:1000}") long faixaUsuarios) {
+		this.service = service;
+		this.faixaUsuarios = Math.max(faixaUsuarios, 1);
+	}
+
+	/**
+	 * Percorre os usuarios em faixas de id e gera as ocorrencias vencidas ate hoje, um lote por transacao. Varias
+	 * instancias podem rodar ao mesmo tempo: cada lote trava as recorrencias que processa e as demais instancias as
+	 * pulam. Uma faixa que falha fica para a proxima execucao sem impedir as seguintes.
+	 */
+	@Scheduled(cron = "${financas.recorrencia.cron:-}")
+	public int executar() {
+		LocalDate hoje = LocalDate.now();
+		long maiorIdUsuario = service.obterMaiorIdUsuario();
+
+		int total = 0;
+		for (long inicial = 1; inicial <= maiorIdUsuario; inicial += faixaUsuarios) {
+			long fim = inicial + faixaUsuarios - 1;
+			try {
+				int geradas;
+				do {
+					geradas = service.gerarOcorrencias(inicial, fim, hoje);
+					total += geradas;
+				} while (geradas > 0);
+			} catch (RuntimeException e) {
+				log.error("Falha ao gerar as ocorrências dos usuários {} a {}.", inicial, fim, e);
+			}
+		}
+
+		if (total > 0) {
+			log.info("{} lançamentos gerados a partir de recorrências.", total);
+		}
+		return total;
+	}
+}
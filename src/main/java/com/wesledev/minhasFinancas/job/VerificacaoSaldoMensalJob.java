@@ -0,0 +1,41 @@
+package com.wesledev.minhasFinancas.job;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.wesledev.minhasFinancas.model.entity.SaldoMensal;
+import com.wesledev.minhasFinancas.service.SaldoMensalService;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class VerificacaoSaldoMensalJob {
+
+	private final SaldoMensalService service;
+	private final boolean corrigir;
+
+	public VerificacaoSaldoMensalJob(SaldoMensalService service,
+			@Value("${financas.saldo-mensal.verificacao.corrigir:false}") boolean corrigir) {
+		this.service = service;
+		this.corrigir = corrigir;
+	}
+
+	@Scheduled(cron = "${financas.saldo-mensal.verificacao.cron:-}")
+	public List<SaldoMensal> executar() {
+		List<SaldoMensal> divergencias = service.verificar();
+		divergencias.forEach(divergencia -> log.warn("Saldo mensal divergente em {}: valor {}, quantidade {}",
+				divergencia.getId(), divergencia.getValor(), divergencia.getQuantidade()));
+
+		if (!divergencias.isEmpty() && corrigir) {
+			// cada usuario e recalculado e corrigido na sua transacao, com as escritas dele bloqueadas
+			long corrigidos = divergencias.stream().map(divergencia -> divergencia.getId().getUsuarioId()).distinct()
+					.mapToLong(idUsuario -> service.corrigir(idUsuario).size()).sum();
+			log.info("{} saldos mensais corrigidos a partir dos lançamentos.", corrigidos);
+		}
+		return divergencias;
+	}
+}
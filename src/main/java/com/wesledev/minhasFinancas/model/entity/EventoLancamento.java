@@ -0,0 +1,57 @@
+package com.wesledev.minhasFinancas.model.entity;
+
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+
+import com.wesledev.minhasFinancas.model.enums.TipoEventoLancamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Alteracao de um lancamento gravada no outbox, na mesma transacao da alteracao. Os dados sao o LancamentoDTO do
+ * estado resultante em JSON (para REMOVIDO, o anterior com a versao seguinte). Nao ha garantia de ordem na entrega:
+ * o consumidor descarta o evento cuja versao nao e maior que a ultima aplicada ao lancamento.
+ */
+@Entity
+@Table(name = "evento_lancamento", schema = "financas")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventoLancamento {
+
+	@Id
+	@Column(name = "id")
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "evento_lancamento_seq")
+	@SequenceGenerator(name = "evento_lancamento_seq", sequenceName = "financas.evento_lancamento_seq", allocationSize = 50)
+	private Long id;
+
+	@Column(name = "tipo")
+	@Enumerated(value = EnumType.STRING)
+	private TipoEventoLancamento tipo;
+
+	@Column(name = "id_lancamento")
+	private Long idLancamento;
+
+	@Column(name = "id_usuario")
+	private Long idUsuario;
+
+	@Column(name = "dados")
+	private String dados;
+
+	@Column(name = "data_criacao")
+	private LocalDateTime dataCriacao;
+
+}
@@ -1,41 +1,52 @@
 package com.wesledev.minhasFinancas.model.entity;
 
 import java.math.BigDecimal;
+import java.text.Normalizer;
 import java.time.LocalDate;
+import java.util.Locale;
 
 import javax.persistence.Column;
-import javax.persistence.Convert;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
+import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
+import javax.persistence.Transient;
+import javax.persistence.Version;
 
-import org.springframework.data.jpa.convert.threeten.Jsr310JpaConverters;
-
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.wesledev.minhasFinancas.model.enums.StatusLancamento;
 import com.wesledev.minhasFinancas.model.enums.TipoLancamento;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Entity
 @Table(name = "lancamento", schema = "financas")
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class Lancamento {
 
 	@Id
 	@Column(name = "id")
-	@GeneratedValue( strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lancamento_seq")
+	@SequenceGenerator(name = "lancamento_seq", sequenceName = "financas.lancamento_seq", allocationSize = 50)
 	private Long id;
 	
 	@Column(name = "descricao")
@@ -47,7 +58,7 @@ public class Lancamento {
 	@Column(name = "ano")
 	private Integer ano;
 	
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "id_usuario")
 	private Usuario usuario;
 	
@@ -55,7 +66,6 @@ public class Lancamento {
 	private BigDecimal valor;
 	
 	@Column(name = "data_cadastro")
-	@Convert(converter = Jsr310JpaConverters.LocalDateConverter.class)
 	private LocalDate dataCadastro;
 	
 	@Column(name = "tipo")
@@ -65,5 +75,47 @@ public class Lancamento {
 	@Column(name = "status")
 	@Enumerated(value = EnumType.STRING)
 	private StatusLancamento status;
-	
+
+	@Column(name = "hash_importacao")
+	@JsonIgnore
+	private String hashImportacao;
+
+	@Column(name = "descricao_busca")
+	@JsonIgnore
+	private String descricaoBusca;
+
+	@Version
+	@Column(name = "versao")
+	private Long versao;
+
+	@Transient
+	@JsonIgnore
+	@EqualsAndHashCode.Exclude
+	@ToString.Exclude
+	private Lancamento estadoPersistido;
+
+	/**
+	 * Forma da descricao usada nas buscas por prefixo: sem acentos, minuscula e sem espacos nas pontas.
+	 */
+	public static String normalizarDescricao(String descricao) {
+		if (descricao == null) {
+			return null;
+		}
+		return Normalizer.normalize(descricao, Normalizer.Form.NFD).replaceAll("\\p{M}", "").toLowerCase(Locale.ROOT)
+				.trim();
+	}
+
+	@PrePersist
+	@PreUpdate
+	public void atualizarDescricaoBusca() {
+		descricaoBusca = normalizarDescricao(descricao);
+	}
+
+	@PostLoad
+	@PostPersist
+	public void registrarEstadoPersistido() {
+		estadoPersistido = Lancamento.builder().id(id).descricao(descricao).mes(mes).ano(ano).usuario(usuario)
+				.valor(valor).dataCadastro(dataCadastro).tipo(tipo).status(status).hashImportacao(hashImportacao).versao(versao).build();
+	}
+
 }
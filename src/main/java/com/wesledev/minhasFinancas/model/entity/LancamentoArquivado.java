@@ -0,0 +1,87 @@
+package com.wesledev.minhasFinancas.model.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+
+import org.hibernate.annotations.Immutable;
+
+import com.wesledev.minhasFinancas.model.enums.StatusLancamento;
+import com.wesledev.minhasFinancas.model.enums.TipoLancamento;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Lançamento de um ano encerrado, movido para financas.lancamento_arquivo. As buscas e a exportação o leem junto com
+ * os lançamentos abertos, e ele volta para financas.lancamento antes de ser alterado.
+ */
+@Entity
+@Immutable
+@Table(name = "lancamento_arquivo", schema = "financas")
+@Data
+@NoArgsConstructor
+public class LancamentoArquivado {
+
+	@Id
+	@Column(name = "id")
+	private Long id;
+
+	@Column(name = "descricao")
+	private String descricao;
+
+	@Column(name = "mes")
+	private Integer mes;
+
+	@Column(name = "ano")
+	private Integer ano;
+
+	@Column(name = "id_usuario")
+	private Long idUsuario;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "id_usuario", insertable = false, updatable = false)
+	@EqualsAndHashCode.Exclude
+	@ToString.Exclude
+	private Usuario usuario;
+
+	@Column(name = "valor")
+	private BigDecimal valor;
+
+	@Column(name = "data_cadastro")
+	private LocalDate dataCadastro;
+
+	@Column(name = "tipo")
+	@Enumerated(value = EnumType.STRING)
+	private TipoLancamento tipo;
+
+	@Column(name = "status")
+	@Enumerated(value = EnumType.STRING)
+	private StatusLancamento status;
+
+	@Column(name = "hash_importacao")
+	private String hashImportacao;
+
+	@Column(name = "descricao_busca")
+	private String descricaoBusca;
+
+	@Column(name = "versao")
+	private Long versao;
+
+	public Lancamento paraLancamento() {
+		return Lancamento.builder().id(id).descricao(descricao).mes(mes).ano(ano).usuario(usuario).valor(valor)
+				.dataCadastro(dataCadastro).tipo(tipo).status(status).hashImportacao(hashImportacao)
+				.descricaoBusca(descricaoBusca).versao(versao).build();
+	}
+}
@@ -0,0 +1,68 @@
+package com.wesledev.minhasFinancas.model.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.FetchType;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.JoinColumn;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+
+import com.wesledev.minhasFinancas.model.enums.TipoLancamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Modelo de um lancamento mensal (salario, aluguel, assinaturas). Cada ocorrencia vira um lancamento do mes de
+ * proximaOcorrencia; sem proximaOcorrencia a recorrencia esta encerrada.
+ */
+@Entity
+@Table(name = "recorrencia", schema = "financas")
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class Recorrencia {
+
+	@Id
+	@Column(name = "id")
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(name = "descricao")
+	private String descricao;
+
+	@Column(name = "valor")
+	private BigDecimal valor;
+
+	@Column(name = "tipo")
+	@Enumerated(value = EnumType.STRING)
+	private TipoLancamento tipo;
+
+	/**
+	 * Dia do mes das ocorrencias; em meses mais curtos vale o ultimo dia.
+	 */
+	@Column(name = "dia")
+	private Integer dia;
+
+	@Column(name = "proxima_ocorrencia")
+	private LocalDate proximaOcorrencia;
+
+	@Column(name = "data_final")
+	private LocalDate dataFinal;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "id_usuario")
+	private Usuario usuario;
+
+}
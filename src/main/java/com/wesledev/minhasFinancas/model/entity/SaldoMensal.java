@@ -0,0 +1,37 @@
+package com.wesledev.minhasFinancas.model.entity;
+
+import java.math.BigDecimal;
+
+import javax.persistence.Column;
+import javax.persistence.EmbeddedId;
+import javax.persistence.Entity;
+import javax.persistence.Table;
+
+import com.wesledev.minhasFinancas.model.enums.StatusLancamento;
+import com.wesledev.minhasFinancas.model.enums.TipoLancamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "saldo_mensal", schema = "financas")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SaldoMensal {
+
+	@EmbeddedId
+	private SaldoMensalId id;
+
+	@Column(name = "valor")
+	private BigDecimal valor;
+
+	@Column(name = "quantidade")
+	private Long quantidade;
+
+	public SaldoMensal(Long usuarioId, Integer ano, Integer mes, TipoLancamento tipo, StatusLancamento status,
+			BigDecimal valor, Long quantidade) {
+		this(new SaldoMensalId(usuarioId, ano, mes, tipo, status), valor, quantidade);
+	}
+}
@@ -8,6 +8,7 @@ import javax.persistence.Id;
 import javax.persistence.Table;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -16,7 +17,8 @@ import lombok.NoArgsConstructor;
 
 @Entity
 @Table(name = "usuario", schema = "financas")
-@Builder
+@JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" })
+@Builder(toBuilder = true)
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -0,0 +1,9 @@
+package com.wesledev.minhasFinancas.model.enums;
+
+public enum TipoEventoLancamento {
+
+	CRIADO,
+	ATUALIZADO,
+	STATUS_ALTERADO,
+	REMOVIDO
+}
@@ -0,0 +1,32 @@
+package com.wesledev.minhasFinancas.model.projection;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import com.wesledev.minhasFinancas.model.enums.StatusLancamento;
+import com.wesledev.minhasFinancas.model.enums.TipoLancamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Colunas do lancamento devolvidas nas buscas. Traz apenas o id do usuario, sem carregar a entidade.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LancamentoResumo {
+
+	private Long id;
+	private String descricao;
+	private Integer mes;
+	private Integer ano;
+	private BigDecimal valor;
+	private LocalDate dataCadastro;
+	private TipoLancamento tipo;
+	private StatusLancamento status;
+	private Long usuarioId;
+}
@@ -0,0 +1,22 @@
+package com.wesledev.minhasFinancas.model.projection;
+
+import java.math.BigDecimal;
+
+public interface SaldoUsuario {
+
+	Long getUsuarios();
+
+	BigDecimal getReceitas();
+
+	BigDecimal getDespesas();
+
+	default boolean isUsuarioExistente() {
+		return getUsuarios() != null && getUsuarios() > 0;
+	}
+
+	default BigDecimal getSaldo() {
+		BigDecimal receitas = getReceitas() == null ? BigDecimal.ZERO : getReceitas();
+		BigDecimal despesas = getDespesas() == null ? BigDecimal.ZERO : getDespesas();
+		return receitas.subtract(despesas);
+	}
+}
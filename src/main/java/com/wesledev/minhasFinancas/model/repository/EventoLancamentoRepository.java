@@ -0,0 +1,26 @@
+package com.wesledev.minhasFinancas.model.repository;
+
+import java.util.List;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import com.wesledev.minhasFinancas.model.entity.EventoLancamento;
+
+public interface EventoLancamentoRepository extends JpaRepository<EventoLancamento, Long> {
+
+	/**
+	 * Eventos pendentes mais antigos, travados ate o commit e pulados por outras instancias do relay (ver
+	 * RecorrenciaRepository#bloquearVencidas).
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "-2"))
+	@Query("select e from EventoLancamento e order by e.id")
+	List<EventoLancamento> bloquearPendentes(Pageable pagina);
+}
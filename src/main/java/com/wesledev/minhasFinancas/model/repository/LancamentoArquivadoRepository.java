@@ -0,0 +1,40 @@
+package com.wesledev.minhasFinancas.model.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.wesledev.minhasFinancas.model.entity.LancamentoArquivado;
+import com.wesledev.minhasFinancas.model.entity.SaldoMensal;
+
+public interface LancamentoArquivadoRepository extends JpaRepository<LancamentoArquivado, Long> {
+
+	/**
+	 * Copia os lançamentos do ano da faixa de usuários para o arquivo direto no banco, sem carregar entidades.
+	 */
+	@Modifying(flushAutomatically = true)
+	@Query(nativeQuery = true, value = "insert into financas.lancamento_arquivo "
+			+ "(id, descricao, descricao_busca, mes, ano, id_usuario, valor, data_cadastro, tipo, status, hash_importacao, versao) "
+			+ "select id, descricao, descricao_busca, mes, ano, id_usuario, valor, data_cadastro, tipo, status, hash_importacao, versao "
+			+ "from financas.lancamento where ano = :ano and id_usuario between :idInicial and :idFinal")
+	int copiarDoAno(@Param("ano") Integer ano, @Param("idInicial") Long idInicial, @Param("idFinal") Long idFinal);
+
+	@Query(value = "select l.hashImportacao from LancamentoArquivado l "
+			+ "where l.idUsuario = :idUsuario and l.hashImportacao in :hashes")
+	Set<String> obterHashesImportados(@Param("idUsuario") Long idUsuario, @Param("hashes") Collection<String> hashes);
+
+	@Query(value = "select new com.wesledev.minhasFinancas.model.entity.SaldoMensal(l.idUsuario, l.ano, l.mes, l.tipo, l.status, sum(l.valor), count(l)) "
+			+ "from LancamentoArquivado l where l.idUsuario is not null and l.tipo is not null and l.status is not null "
+			+ "group by l.idUsuario, l.ano, l.mes, l.tipo, l.status")
+	List<SaldoMensal> calcularSaldos();
+
+	@Query(value = "select new com.wesledev.minhasFinancas.model.entity.SaldoMensal(l.idUsuario, l.ano, l.mes, l.tipo, l.status, sum(l.valor), count(l)) "
+			+ "from LancamentoArquivado l where l.idUsuario = :idUsuario and l.tipo is not null and l.status is not null "
+			+ "group by l.idUsuario, l.ano, l.mes, l.tipo, l.status")
+	List<SaldoMensal> calcularSaldos(@Param("idUsuario") Long idUsuario);
+}
@@ -1,16 +1,44 @@
 package com.wesledev.minhasFinancas.model.repository;
 
-import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import com.wesledev.minhasFinancas.model.entity.Lancamento;
-import com.wesledev.minhasFinancas.model.enums.TipoLancamento;
+import com.wesledev.minhasFinancas.model.enums.StatusLancamento;
 
-public interface LancamentoRepository extends JpaRepository<Lancamento, Long> {
+public interface LancamentoRepository extends JpaRepository<Lancamento, Long>, LancamentoRepositoryCustom {
 
-	@Query(value = "select sum(l.valor) from Lancamento l join l.usuario u where u.id = :idUsuario and l.tipo = :tipo group by u")
-	BigDecimal obterSaldoPorTipoLancamentoEUsuario(@Param("idUsuario") Long idUsuario, @Param("tipo") TipoLancamento tipo);
+	@Query(value = "select l.hashImportacao from Lancamento l "
+			+ "where l.usuario.id = :idUsuario and l.hashImportacao in :hashes")
+	Set<String> obterHashesImportados(@Param("idUsuario") Long idUsuario, @Param("hashes") Collection<String> hashes);
+
+	/**
+	 * Altera so o status, e apenas se o lancamento ainda estiver na versao informada. O contexto de persistencia e
+	 * limpo depois, para que uma instancia gerenciada com a versao anterior nao seja gravada de novo.
+	 *
+	 * @return 1 se atualizou, 0 se a versao ja mudou ou o lancamento nao existe mais
+	 */
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("update Lancamento l set l.status = :status, l.versao = l.versao + 1 where l.id = :id and l.versao = :versao")
+	int atualizarStatus(@Param("id") Long id, @Param("versao") Long versao, @Param("status") StatusLancamento status);
+
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("update Lancamento l set l.status = :status, l.versao = l.versao + 1 where l.id in :ids")
+	int atualizarStatusEmLote(@Param("ids") Collection<Long> ids, @Param("status") StatusLancamento status);
+
+	@Query("select distinct l.ano from Lancamento l where l.ano < :ano order by l.ano")
+	List<Integer> obterAnosAnterioresA(@Param("ano") Integer ano);
+
+	@Query("select coalesce(max(l.usuario.id), 0) from Lancamento l")
+	Long obterMaiorIdUsuario();
+
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("delete from Lancamento l where l.ano = :ano and l.usuario.id between :idInicial and :idFinal")
+	int removerDoAno(@Param("ano") Integer ano, @Param("idInicial") Long idInicial, @Param("idFinal") Long idFinal);
 }
@@ -0,0 +1,34 @@
+package com.wesledev.minhasFinancas.model.repository;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.wesledev.minhasFinancas.model.entity.Lancamento;
+import com.wesledev.minhasFinancas.model.projection.LancamentoResumo;
+
+/**
+ * Consultas sobre os lançamentos abertos e os arquivados (financas.lancamento_arquivo), na ordem (ano, mes, id).
+ */
+public interface LancamentoRepositoryCustom {
+
+	List<LancamentoResumo> buscar(Specification<Lancamento> especificacao);
+
+	List<LancamentoResumo> buscarAposCursor(Specification<Lancamento> especificacao, Lancamento ultimo, int limite);
+
+	/**
+	 * Carrega os lancamentos com lock de escrita, em ordem de id para que operacoes concorrentes travem as linhas na
+	 * mesma sequencia.
+	 */
+	List<Lancamento> bloquear(Specification<Lancamento> especificacao);
+
+	/**
+	 * Move de volta para financas.lancamento os lançamentos arquivados que atendem à especificação.
+	 */
+	int restaurar(Specification<Lancamento> especificacao);
+
+	void percorrerPorUsuario(Long idUsuario, Consumer<Lancamento> consumidor);
+
+	void percorrerTodos(Consumer<Lancamento> consumidor);
+}
@@ -0,0 +1,211 @@
+package com.wesledev.minhasFinancas.model.repository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CompoundSelection;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import org.hibernate.jpa.QueryHints;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.wesledev.minhasFinancas.model.entity.Lancamento;
+import com.wesledev.minhasFinancas.model.entity.LancamentoArquivado;
+import com.wesledev.minhasFinancas.model.projection.LancamentoResumo;
+
+public class LancamentoRepositoryImpl implements LancamentoRepositoryCustom {
+
+	static final int TAMANHO_FETCH = 500;
+
+	static final String COLUNAS = "id, descricao, descricao_busca, mes, ano, id_usuario, valor, data_cadastro, tipo, "
+			+ "status, hash_importacao, versao";
+
+	private static final Comparator<LancamentoResumo> ORDEM_RESUMO = Comparator.comparing(LancamentoResumo::getAno)
+			.thenComparing(LancamentoResumo::getMes).thenComparing(LancamentoResumo::getId);
+
+	private static final Comparator<Lancamento> ORDEM = Comparator.comparing(Lancamento::getAno)
+			.thenComparing(Lancamento::getMes).thenComparing(Lancamento::getId);
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public List<LancamentoResumo> buscar(Specification<Lancamento> especificacao) {
+		return intercalar(resumos(Lancamento.class, especificacao, null, null),
+				resumos(LancamentoArquivado.class, especificacao, null, null), Integer.MAX_VALUE);
+	}
+
+	@Override
+	public List<LancamentoResumo> buscarAposCursor(Specification<Lancamento> especificacao, Lancamento ultimo,
+			int limite) {
+		return intercalar(resumos(Lancamento.class, especificacao, ultimo, limite),
+				resumos(LancamentoArquivado.class, especificacao, ultimo, limite), limite);
+	}
+
+	@Override
+	public List<Lancamento> bloquear(Specification<Lancamento> especificacao) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Lancamento> query = cb.createQuery(Lancamento.class);
+		Root<Lancamento> root = query.from(Lancamento.class);
+
+		query.select(root).where(filtrar(especificacao, root, query, cb).toArray(new Predicate[0]))
+				.orderBy(cb.asc(root.get("id")));
+
+		return entityManager.createQuery(query).setLockMode(LockModeType.PESSIMISTIC_WRITE).getResultList();
+	}
+
+	@Override
+	public int restaurar(Specification<Lancamento> especificacao) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Long> query = cb.createQuery(Long.class);
+		Root<LancamentoArquivado> root = query.from(LancamentoArquivado.class);
+		query.select(root.get("id")).where(filtrar(especificacao, root, query, cb).toArray(new Predicate[0]));
+		List<Long> ids = entityManager.createQuery(query).getResultList();
+
+		int restaurados = 0;
+		for (int i = 0; i < ids.size(); i += TAMANHO_FETCH) {
+			List<Long> bloco = ids.subList(i, Math.min(i + TAMANHO_FETCH, ids.size()));
+			restaurados += entityManager.createNativeQuery("insert into financas.lancamento (" + COLUNAS + ") select "
+					+ COLUNAS + " from financas.lancamento_arquivo where id in (:ids)").setParameter("ids", bloco)
+					.executeUpdate();
+			entityManager.createNativeQuery("delete from financas.lancamento_arquivo where id in (:ids)")
+					.setParameter("ids", bloco).executeUpdate();
+		}
+		return restaurados;
+	}
+
+	@Override
+	public void percorrerPorUsuario(Long idUsuario, Consumer<Lancamento> consumidor) {
+		TypedQuery<Lancamento> abertos = entityManager
+				.createQuery("select l from Lancamento l where l.usuario.id = :idUsuario order by l.ano, l.mes, l.id",
+						Lancamento.class)
+				.setParameter("idUsuario", idUsuario);
+		TypedQuery<LancamentoArquivado> arquivados = entityManager
+				.createQuery("select l from LancamentoArquivado l where l.idUsuario = :idUsuario "
+						+ "order by l.ano, l.mes, l.id", LancamentoArquivado.class)
+				.setParameter("idUsuario", idUsuario);
+
+		// as duas consultas vêm ordenadas, então basta intercalar os cursores
+		try (Stream<Lancamento> streamAbertos = percorrer(abertos);
+				Stream<LancamentoArquivado> streamArquivados = percorrer(arquivados)) {
+			Iterator<Lancamento> proximosAbertos = streamAbertos.iterator();
+			Iterator<LancamentoArquivado> proximosArquivados = streamArquivados.iterator();
+			Lancamento aberto = proximosAbertos.hasNext() ? proximosAbertos.next() : null;
+			LancamentoArquivado arquivado = proximosArquivados.hasNext() ? proximosArquivados.next() : null;
+			Lancamento restaurado = arquivado == null ? null : arquivado.paraLancamento();
+			while (aberto != null || restaurado != null) {
+				if (restaurado == null || (aberto != null && ORDEM.compare(aberto, restaurado) < 0)) {
+					consumir(aberto, aberto, consumidor);
+					aberto = proximosAbertos.hasNext() ? proximosAbertos.next() : null;
+				} else {
+					consumir(arquivado, restaurado, consumidor);
+					arquivado = proximosArquivados.hasNext() ? proximosArquivados.next() : null;
+					restaurado = arquivado == null ? null : arquivado.paraLancamento();
+				}
+			}
+		}
+	}
+
+	@Override
+	public void percorrerTodos(Consumer<Lancamento> consumidor) {
+		try (Stream<Lancamento> lancamentos = percorrer(
+				entityManager.createQuery("select l from Lancamento l", Lancamento.class))) {
+			lancamentos.forEach(lancamento -> consumir(lancamento, lancamento, consumidor));
+		}
+		try (Stream<LancamentoArquivado> arquivados = percorrer(
+				entityManager.createQuery("select l from LancamentoArquivado l", LancamentoArquivado.class))) {
+			arquivados.forEach(arquivado -> consumir(arquivado, arquivado.paraLancamento(), consumidor));
+		}
+	}
+
+	private <T> Stream<T> percorrer(TypedQuery<T> query) {
+		return query.setHint(QueryHints.HINT_FETCH_SIZE, TAMANHO_FETCH)
+				.setHint(QueryHints.HINT_READONLY, true)
+				.getResultStream();
+	}
+
+	private void consumir(Object carregado, Lancamento lancamento, Consumer<Lancamento> consumidor) {
+		consumidor.accept(lancamento);
+		// desanexa cada registro depois de consumido para o contexto de persistencia nao crescer
+		entityManager.detach(carregado);
+	}
+
+	private List<LancamentoResumo> resumos(Class<?> entidade, Specification<Lancamento> especificacao,
+			Lancamento ultimo, Integer limite) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<LancamentoResumo> query = cb.createQuery(LancamentoResumo.class);
+		Root<?> root = query.from(entidade);
+
+		List<Predicate> predicates = filtrar(especificacao, root, query, cb);
+		if (ultimo != null) {
+			// (ano, mes, id) > (ultimo.ano, ultimo.mes, ultimo.id)
+			Path<Integer> ano = root.get("ano");
+			Path<Integer> mes = root.get("mes");
+			Path<Long> id = root.get("id");
+			predicates.add(cb.or(cb.greaterThan(ano, ultimo.getAno()),
+					cb.and(cb.equal(ano, ultimo.getAno()),
+							cb.or(cb.greaterThan(mes, ultimo.getMes()),
+									cb.and(cb.equal(mes, ultimo.getMes()), cb.greaterThan(id, ultimo.getId()))))));
+		}
+
+		query.select(resumo(cb, root)).where(predicates.toArray(new Predicate[0])).orderBy(cb.asc(root.get("ano")),
+				cb.asc(root.get("mes")), cb.asc(root.get("id")));
+
+		TypedQuery<LancamentoResumo> consulta = entityManager.createQuery(query);
+		return limite == null ? consulta.getResultList() : consulta.setMaxResults(limite).getResultList();
+	}
+
+	private List<LancamentoResumo> intercalar(List<LancamentoResumo> abertos, List<LancamentoResumo> arquivados,
+			int limite) {
+		if (arquivados.isEmpty()) {
+			return abertos;
+		}
+		List<LancamentoResumo> resultado = new ArrayList<>(Math.min(abertos.size() + arquivados.size(), limite));
+		int i = 0;
+		int j = 0;
+		while (resultado.size() < limite && (i < abertos.size() || j < arquivados.size())) {
+			if (j == arquivados.size()
+					|| (i < abertos.size() && ORDEM_RESUMO.compare(abertos.get(i), arquivados.get(j)) < 0)) {
+				resultado.add(abertos.get(i++));
+			} else {
+				resultado.add(arquivados.get(j++));
+			}
+		}
+		return resultado;
+	}
+
+	/**
+	 * LancamentoArquivado tem os caminhos usados pelas especificações de Lancamento, então elas valem para os dois.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private List<Predicate> filtrar(Specification<Lancamento> especificacao, Root<?> root, CriteriaQuery<?> query,
+			CriteriaBuilder cb) {
+		List<Predicate> predicates = new ArrayList<>();
+		Predicate predicate = especificacao == null ? null
+				: ((Specification) especificacao).toPredicate(root, query, cb);
+		if (predicate != null) {
+			predicates.add(predicate);
+		}
+		return predicates;
+	}
+
+	private CompoundSelection<LancamentoResumo> resumo(CriteriaBuilder cb, Root<?> root) {
+		// usuario.id vem da chave estrangeira, sem join com a tabela de usuarios
+		return cb.construct(LancamentoResumo.class, root.get("id"), root.get("descricao"), root.get("mes"),
+				root.get("ano"), root.get("valor"), root.get("dataCadastro"), root.get("tipo"), root.get("status"),
+				root.get("usuario").get("id"));
+	}
+
+}
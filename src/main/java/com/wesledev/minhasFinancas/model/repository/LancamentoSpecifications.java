@@ -0,0 +1,84 @@
+package com.wesledev.minhasFinancas.model.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.wesledev.minhasFinancas.api.dto.FiltroLancamentoDTO;
+import com.wesledev.minhasFinancas.model.entity.Lancamento;
+import com.wesledev.minhasFinancas.model.enums.StatusLancamento;
+import com.wesledev.minhasFinancas.model.enums.TipoLancamento;
+
+/**
+ * Criterios da busca de lancamentos. Os campos usam igualdade ou faixa e a descricao so e buscada por prefixo na coluna
+ * normalizada, para que todos os filtros possam ser atendidos pelos indices iniciados por id_usuario.
+ */
+public final class LancamentoSpecifications {
+
+	private static final char ESCAPE = '\\';
+
+	private LancamentoSpecifications() {
+	}
+
+	public static Specification<Lancamento> de(FiltroLancamentoDTO filtro) {
+		return Specification.where(doUsuario(filtro.getUsuario()))
+				.and(doAno(filtro.getAno()))
+				.and(doMes(filtro.getMes()))
+				.and(doTipo(filtro.getTipo()))
+				.and(doStatus(filtro.getStatus()))
+				.and(comValorEntre(filtro.getValorMinimo(), filtro.getValorMaximo()))
+				.and(cadastradoEntre(filtro.getDataInicial(), filtro.getDataFinal()))
+				.and(comDescricaoIniciadaPor(filtro.getDescricao()));
+	}
+
+	public static Specification<Lancamento> doUsuario(Long idUsuario) {
+		return (root, query, cb) -> cb.equal(root.get("usuario").get("id"), idUsuario);
+	}
+
+	public static Specification<Lancamento> comIds(Collection<Long> ids) {
+		return ids == null || ids.isEmpty() ? null : (root, query, cb) -> root.get("id").in(ids);
+	}
+
+	public static Specification<Lancamento> doAno(Integer ano) {
+		return ano == null ? null : (root, query, cb) -> cb.equal(root.get("ano"), ano);
+	}
+
+	public static Specification<Lancamento> doMes(Integer mes) {
+		return mes == null ? null : (root, query, cb) -> cb.equal(root.get("mes"), mes);
+	}
+
+	public static Specification<Lancamento> doTipo(TipoLancamento tipo) {
+		return tipo == null ? null : (root, query, cb) -> cb.equal(root.get("tipo"), tipo);
+	}
+
+	public static Specification<Lancamento> doStatus(StatusLancamento status) {
+		return status == null ? null : (root, query, cb) -> cb.equal(root.get("status"), status);
+	}
+
+	public static Specification<Lancamento> comValorEntre(BigDecimal minimo, BigDecimal maximo) {
+		Specification<Lancamento> aPartirDe = minimo == null ? null
+				: (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("valor"), minimo);
+		Specification<Lancamento> ate = maximo == null ? null
+				: (root, query, cb) -> cb.lessThanOrEqualTo(root.get("valor"), maximo);
+		return Specification.where(aPartirDe).and(ate);
+	}
+
+	public static Specification<Lancamento> cadastradoEntre(LocalDate inicio, LocalDate fim) {
+		Specification<Lancamento> aPartirDe = inicio == null ? null
+				: (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("dataCadastro"), inicio);
+		Specification<Lancamento> ate = fim == null ? null
+				: (root, query, cb) -> cb.lessThanOrEqualTo(root.get("dataCadastro"), fim);
+		return Specification.where(aPartirDe).and(ate);
+	}
+
+	public static Specification<Lancamento> comDescricaoIniciadaPor(String descricao) {
+		String prefixo = Lancamento.normalizarDescricao(descricao);
+		if (prefixo == null || prefixo.isEmpty()) {
+			return null;
+		}
+		String padrao = prefixo.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+		return (root, query, cb) -> cb.like(root.get("descricaoBusca"), padrao, ESCAPE);
+	}
+}
@@ -0,0 +1,37 @@
+package com.wesledev.minhasFinancas.model.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import com.wesledev.minhasFinancas.model.entity.Recorrencia;
+
+public interface RecorrenciaRepository extends JpaRepository<Recorrencia, Long> {
+
+	@Query("select r from Recorrencia r where r.usuario.id = :idUsuario order by r.id")
+	List<Recorrencia> buscarPorUsuario(@Param("idUsuario") Long idUsuario);
+
+	@Query("select coalesce(max(r.usuario.id), 0) from Recorrencia r")
+	Long obterMaiorIdUsuario();
+
+	/**
+	 * Recorrencias vencidas da faixa de usuarios, travadas ate o commit. O timeout -2 (LockOptions.SKIP_LOCKED) vira
+	 * "for update skip locked" no PostgreSQL: linhas ja travadas por outra instancia do job sao puladas em vez de
+	 * esperar por ela. Bancos sem skip locked, como o H2, usam "for update" simples.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@QueryHints(@QueryHint(name = "javax.persistence.lock.timeout", value = "-2"))
+	@Query("select r from Recorrencia r where r.usuario.id between :usuarioInicial and :usuarioFinal "
+			+ "and r.proximaOcorrencia <= :data order by r.usuario.id, r.id")
+	List<Recorrencia> bloquearVencidas(@Param("usuarioInicial") Long usuarioInicial,
+			@Param("usuarioFinal") Long usuarioFinal, @Param("data") LocalDate data, Pageable pagina);
+}
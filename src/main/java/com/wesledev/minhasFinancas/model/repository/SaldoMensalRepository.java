@@ -0,0 +1,41 @@
+package com.wesledev.minhasFinancas.model.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.wesledev.minhasFinancas.model.entity.SaldoMensal;
+import com.wesledev.minhasFinancas.model.entity.SaldoMensalId;
+import com.wesledev.minhasFinancas.model.projection.SaldoUsuario;
+
+public interface SaldoMensalRepository extends JpaRepository<SaldoMensal, SaldoMensalId>, SaldoMensalRepositoryCustom {
+
+	@Query(value = "select (select count(u) from Usuario u where u.id = :idUsuario) as usuarios, "
+			+ "sum(case when s.id.tipo = com.wesledev.minhasFinancas.model.enums.TipoLancamento.RECEITA then s.valor else 0 end) as receitas, "
+			+ "sum(case when s.id.tipo = com.wesledev.minhasFinancas.model.enums.TipoLancamento.DESPESA then s.valor else 0 end) as despesas "
+			+ "from SaldoMensal s where s.id.usuarioId = :idUsuario")
+	SaldoUsuario obterSaldoPorUsuario(@Param("idUsuario") Long idUsuario);
+
+	/**
+	 * O resumo ja esta agrupado por mes, tipo e status, entao o relatorio de um ano le no maximo 12 x 2 x 3 linhas pela
+	 * chave primaria, sem tocar nos lancamentos.
+	 */
+	@Query(value = "select s from SaldoMensal s where s.id.usuarioId = :idUsuario and s.id.ano = :ano "
+			+ "order by s.id.mes")
+	List<SaldoMensal> obterPorUsuarioEAno(@Param("idUsuario") Long idUsuario, @Param("ano") Integer ano);
+
+	@Query(value = "select new com.wesledev.minhasFinancas.model.entity.SaldoMensal(l.usuario.id, l.ano, l.mes, l.tipo, l.status, sum(l.valor), count(l)) "
+			+ "from Lancamento l where l.usuario.id is not null and l.tipo is not null and l.status is not null "
+			+ "group by l.usuario.id, l.ano, l.mes, l.tipo, l.status")
+	List<SaldoMensal> calcularAPartirDosLancamentos();
+
+	@Query(value = "select s from SaldoMensal s where s.id.usuarioId = :idUsuario")
+	List<SaldoMensal> obterPorUsuario(@Param("idUsuario") Long idUsuario);
+
+	@Query(value = "select new com.wesledev.minhasFinancas.model.entity.SaldoMensal(l.usuario.id, l.ano, l.mes, l.tipo, l.status, sum(l.valor), count(l)) "
+			+ "from Lancamento l where l.usuario.id = :idUsuario and l.tipo is not null and l.status is not null "
+			+ "group by l.usuario.id, l.ano, l.mes, l.tipo, l.status")
+	List<SaldoMensal> calcularAPartirDosLancamentos(@Param("idUsuario") Long idUsuario);
+}
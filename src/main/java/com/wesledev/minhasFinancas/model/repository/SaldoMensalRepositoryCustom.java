@@ -0,0 +1,14 @@
+package com.wesledev.minhasFinancas.model.repository;
+
+import java.math.BigDecimal;
+
+import com.wesledev.minhasFinancas.model.entity.SaldoMensalId;
+
+public interface SaldoMensalRepositoryCustom {
+
+	/**
+	 * Soma valor e quantidade ao saldo do mes, criando-o se ainda nao existe, em um unico comando: dois inserts
+	 * simultaneos da mesma chave acumulam em vez de um deles falhar pela chave primaria.
+	 */
+	void somar(SaldoMensalId id, BigDecimal valor, Long quantidade);
+}
@@ -0,0 +1,55 @@
+package com.wesledev.minhasFinancas.model.repository;
+
+import java.math.BigDecimal;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.hibernate.Session;
+
+import com.wesledev.minhasFinancas.model.entity.SaldoMensalId;
+
+public class SaldoMensalRepositoryImpl implements SaldoMensalRepositoryCustom {
+
+	private static final String SOMAR_POSTGRES = "insert into financas.saldo_mensal as s "
+			+ "(id_usuario, ano, mes, tipo, status, valor, quantidade) "
+			+ "values (:usuario, :ano, :mes, :tipo, :status, :valor, :quantidade) "
+			+ "on conflict (id_usuario, ano, mes, tipo, status) do update "
+			+ "set valor = s.valor + excluded.valor, quantidade = s.quantidade + excluded.quantidade";
+
+	private static final String SOMAR = "merge into financas.saldo_mensal s "
+			+ "using (select cast(:usuario as bigint) id_usuario, cast(:ano as integer) ano, "
+			+ "cast(:mes as integer) mes, cast(:tipo as varchar(20)) tipo, cast(:status as varchar(20)) status, "
+			+ "cast(:valor as numeric(16, 2)) valor, cast(:quantidade as bigint) quantidade) n "
+			+ "on (s.id_usuario = n.id_usuario and s.ano = n.ano and s.mes = n.mes and s.tipo = n.tipo "
+			+ "and s.status = n.status) "
+			+ "when matched then update set valor = s.valor + n.valor, quantidade = s.quantidade + n.quantidade "
+			+ "when not matched then insert (id_usuario, ano, mes, tipo, status, valor, quantidade) "
+			+ "values (n.id_usuario, n.ano, n.mes, n.tipo, n.status, n.valor, n.quantidade)";
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	private Boolean postgres;
+
+	@Override
+	public void somar(SaldoMensalId id, BigDecimal valor, Long quantidade) {
+		entityManager.createNativeQuery(postgres() ? SOMAR_POSTGRES : SOMAR)
+				.setParameter("usuario", id.getUsuarioId())
+				.setParameter("ano", id.getAno())
+				.setParameter("mes", id.getMes())
+				.setParameter("tipo", id.getTipo().name())
+				.setParameter("status", id.getStatus().name())
+				.setParameter("valor", valor)
+				.setParameter("quantidade", quantidade)
+				.executeUpdate();
+	}
+
+	private boolean postgres() {
+		if (postgres == null) {
+			postgres = entityManager.unwrap(Session.class).doReturningWork(conexao -> conexao.getMetaData()
+					.getDatabaseProductName().toLowerCase().contains("postgres"));
+		}
+		return postgres;
+	}
+}
@@ -2,14 +2,28 @@ package com.wesledev.minhasFinancas.model.repository;
 
 import java.util.Optional;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import com.wesledev.minhasFinancas.config.CacheConfig;
 import com.wesledev.minhasFinancas.model.entity.Usuario;
 
 public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
 
 	boolean existsByEmail(String email);
 
+	@Cacheable(cacheNames = CacheConfig.USUARIOS_POR_EMAIL, unless = "#result == null")
 	Optional<Usuario> findByEmail(String email);
 
-}
\ No newline at end of file
+	@Override
+	@Cacheable(cacheNames = CacheConfig.USUARIOS, unless = "#result == null")
+	Optional<Usuario> findById(Long id);
+
+	@Override
+	@Caching(evict = { @CacheEvict(cacheNames = CacheConfig.USUARIOS, key = "#p0.id", condition = "#p0.id != null"),
+			@CacheEvict(cacheNames = CacheConfig.USUARIOS_POR_EMAIL, allEntries = true) })
+	<S extends Usuario> S save(S usuario);
+
+}
@@ -0,0 +1,16 @@
+package com.wesledev.minhasFinancas.service;
+
+import java.util.List;
+
+public interface ArquivamentoService {
+
+	List<Integer> obterAnosAnterioresA(Integer ano);
+
+	long obterMaiorIdUsuario();
+
+	int arquivar(Integer ano, Long idInicial, Long idFinal);
+
+	void descartarParticao(Integer ano);
+
+	void criarParticao(Integer ano);
+}
@@ -0,0 +1,23 @@
+package com.wesledev.minhasFinancas.service;
+
+import java.util.List;
+
+import com.wesledev.minhasFinancas.model.entity.Lancamento;
+import com.wesledev.minhasFinancas.model.enums.TipoEventoLancamento;
+
+public interface EventoLancamentoService {
+
+	/**
+	 * Grava o evento no outbox; precisa ser chamado dentro da transacao que alterou o lancamento.
+	 */
+	void registrar(TipoEventoLancamento tipo, Lancamento lancamento);
+
+	void registrarTodos(TipoEventoLancamento tipo, List<Lancamento> lancamentos);
+
+	/**
+	 * Publica um lote dos eventos pendentes, do mais antigo para o mais novo, e os remove do outbox.
+	 *
+	 * @return quantidade de eventos publicados; 0 quando nao ha mais pendentes livres
+	 */
+	int publicarPendentes();
+}
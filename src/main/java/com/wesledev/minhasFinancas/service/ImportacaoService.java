@@ -0,0 +1,12 @@
+package com.wesledev.minhasFinancas.service;
+
+import java.io.Reader;
+
+import com.wesledev.minhasFinancas.api.dto.ResultadoImportacaoDTO;
+import com.wesledev.minhasFinancas.model.entity.Usuario;
+import com.wesledev.minhasFinancas.service.importacao.FormatoExtrato;
+
+public interface ImportacaoService {
+
+	ResultadoImportacaoDTO importar(Usuario usuario, FormatoExtrato formato, Reader conteudo);
+}
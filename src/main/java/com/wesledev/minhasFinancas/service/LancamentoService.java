@@ -3,26 +3,51 @@ package com.wesledev.minhasFinancas.service;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
+import com.wesledev.minhasFinancas.api.dto.FiltroLancamentoDTO;
+import com.wesledev.minhasFinancas.api.dto.PaginaDTO;
+import com.wesledev.minhasFinancas.api.dto.RelatorioAnualDTO;
+import com.wesledev.minhasFinancas.api.dto.ResultadoLoteDTO;
+import com.wesledev.minhasFinancas.api.dto.ResultadoStatusLoteDTO;
 import com.wesledev.minhasFinancas.model.entity.Lancamento;
 import com.wesledev.minhasFinancas.model.enums.StatusLancamento;
+import com.wesledev.minhasFinancas.model.projection.LancamentoResumo;
 
 public interface LancamentoService {
 
 	Lancamento salvar(Lancamento lancamento);
 
+	ResultadoLoteDTO salvarEmLote(List<Lancamento> lancamentos);
+
 	Lancamento atualizar(Lancamento lancamento);
 
 	void deletar(Lancamento lancamento);
 
-	List<Lancamento> buscar(Lancamento lancamentoFiltro);
+	List<LancamentoResumo> buscar(FiltroLancamentoDTO filtro);
+
+	PaginaDTO<LancamentoResumo> buscarPaginado(FiltroLancamentoDTO filtro, String cursor, Integer tamanho);
+
+	void exportar(Long idUsuario, Consumer<Lancamento> consumidor);
 
 	void atualizarStatus(Lancamento lancamento, StatusLancamento status);
+
+	/**
+	 * Altera o status de todos os lancamentos do usuario do filtro que estejam nos ids informados e atendam ao filtro.
+	 */
+	ResultadoStatusLoteDTO atualizarStatusEmLote(FiltroLancamentoDTO filtro, List<Long> ids, StatusLancamento status);
 	
 	void validar(Lancamento lancamento);
 	
 	Optional<Lancamento> obterPorId(Long id);
 	
-	BigDecimal obterSaldoPorUsuario(Long id);
+	Optional<BigDecimal> obterSaldoPorUsuario(Long id);
+
+	/**
+	 * Versao dos lancamentos do usuario, alterada junto com cada escrita e compartilhada entre as instancias.
+	 */
+	String obterVersao(Long idUsuario);
+
+	RelatorioAnualDTO obterRelatorioAnual(Long idUsuario, Integer ano);
 
 }
@@ -0,0 +1,24 @@
+package com.wesledev.minhasFinancas.service;
+
+import java.util.Collection;
+import java.util.List;
+
+import com.wesledev.minhasFinancas.model.entity.Lancamento;
+import com.wesledev.minhasFinancas.model.projection.LancamentoResumo;
+
+public interface PesquisaLancamentoService {
+
+	List<LancamentoResumo> pesquisar(Long idUsuario, String texto, Integer limite);
+
+	void indexar(Lancamento lancamento);
+
+	void indexarTodos(Collection<Lancamento> lancamentos);
+
+	void remover(Lancamento lancamento);
+
+	long reindexar();
+
+	void sincronizar();
+
+	void confirmar();
+}
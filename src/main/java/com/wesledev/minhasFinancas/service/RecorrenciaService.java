@@ -0,0 +1,30 @@
+package com.wesledev.minhasFinancas.service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import com.wesledev.minhasFinancas.model.entity.Recorrencia;
+
+public interface RecorrenciaService {
+
+	Recorrencia salvar(Recorrencia recorrencia);
+
+	void deletar(Recorrencia recorrencia);
+
+	List<Recorrencia> buscarPorUsuario(Long idUsuario);
+
+	Optional<Recorrencia> obterPorId(Long id);
+
+	void validar(Recorrencia recorrencia);
+
+	long obterMaiorIdUsuario();
+
+	/**
+	 * Gera, em uma transacao, a ocorrencia vencida ate a data de um lote de recorrencias da faixa de usuarios e avanca
+	 * cada uma para o mes seguinte. Recorrencias atrasadas varios meses continuam vencidas e entram no proximo lote.
+	 *
+	 * @return quantidade de recorrencias processadas; 0 quando nao ha mais vencidas livres na faixa
+	 */
+	int gerarOcorrencias(Long usuarioInicial, Long usuarioFinal, LocalDate data);
+}
@@ -0,0 +1,27 @@
+package com.wesledev.minhasFinancas.service;
+
+import java.util.List;
+
+import com.wesledev.minhasFinancas.api.dto.RelatorioAnualDTO;
+import com.wesledev.minhasFinancas.model.entity.Lancamento;
+import com.wesledev.minhasFinancas.model.entity.SaldoMensal;
+import com.wesledev.minhasFinancas.model.projection.SaldoUsuario;
+
+public interface SaldoMensalService {
+
+	void adicionar(Lancamento lancamento);
+
+	void adicionarTodos(List<Lancamento> lancamentos);
+
+	void remover(Lancamento lancamento);
+
+	void removerTodos(List<Lancamento> lancamentos);
+
+	SaldoUsuario obterSaldoPorUsuario(Long idUsuario);
+
+	RelatorioAnualDTO obterRelatorioAnual(Long idUsuario, Integer ano);
+
+	List<SaldoMensal> verificar();
+
+	List<SaldoMensal> corrigir(Long idUsuario);
+}
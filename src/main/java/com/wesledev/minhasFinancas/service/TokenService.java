@@ -0,0 +1,12 @@
+package com.wesledev.minhasFinancas.service;
+
+import java.util.Optional;
+
+import com.wesledev.minhasFinancas.model.entity.Usuario;
+
+public interface TokenService {
+
+	String gerar(Usuario usuario);
+
+	Optional<Long> validar(String token);
+}
@@ -1,12 +1,15 @@
 package com.wesledev.minhasFinancas.service;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import com.wesledev.minhasFinancas.model.entity.Usuario;
 
 public interface UsuarioService {
 
 	Usuario autenticar(String email, String senha);
+
+	CompletableFuture<Usuario> autenticarAsync(String email, String senha);
 	
 	Usuario salvarUsuario(Usuario usuario);
 	
@@ -0,0 +1,15 @@
+package com.wesledev.minhasFinancas.service.evento;
+
+import java.util.List;
+
+import com.wesledev.minhasFinancas.model.entity.EventoLancamento;
+
+/**
+ * Adaptador do broker que recebe os eventos do outbox. O lote so sai do outbox se publicar terminar sem excecao;
+ * caso contrario ele e entregue de novo na proxima execucao do relay, entao os consumidores precisam tolerar eventos
+ * repetidos.
+ */
+public interface PublicadorEventos {
+
+	void publicar(List<EventoLancamento> eventos);
+}
@@ -0,0 +1,29 @@
+package com.wesledev.minhasFinancas.service.evento;
+
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import com.wesledev.minhasFinancas.model.entity.EventoLancamento;
+
+/**
+ * Broker embutido: entrega cada evento aos {@code @EventListener(EventoLancamento)} da aplicacao, na thread do relay
+ * e fora da transacao que alterou o lancamento. Outro adaptador substitui este com financas.eventos.publicador.
+ */
+@Component
+@ConditionalOnProperty(name = "financas.eventos.publicador", havingValue = "local", matchIfMissing = true)
+public class PublicadorEventosLocal implements PublicadorEventos {
+
+	private final ApplicationEventPublisher publisher;
+
+	public PublicadorEventosLocal(ApplicationEventPublisher publisher) {
+		this.publisher = publisher;
+	}
+
+	@Override
+	public void publicar(List<EventoLancamento> eventos) {
+		eventos.forEach(publisher::publishEvent);
+	}
+}
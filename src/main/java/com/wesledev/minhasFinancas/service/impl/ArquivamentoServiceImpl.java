@@ -0,0 +1,112 @@
+package com.wesledev.minhasFinancas.service.impl;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.wesledev.minhasFinancas.exception.RegraNegocioException;
+import com.wesledev.minhasFinancas.model.repository.LancamentoArquivadoRepository;
+import com.wesledev.minhasFinancas.model.repository.LancamentoRepository;
+import com.wesledev.minhasFinancas.service.ArquivamentoService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Move os lançamentos de anos encerrados para financas.lancamento_arquivo, que continua visível para as consultas
+ * (ver {@link com.wesledev.minhasFinancas.model.repository.LancamentoRepositoryCustom}).
+ */
+@Slf4j
+@Service
+public class ArquivamentoServiceImpl implements ArquivamentoService {
+
+	private final LancamentoRepository lancamentoRepository;
+	private final LancamentoArquivadoRepository arquivoRepository;
+	private final JdbcTemplate jdbcTemplate;
+	private final VersaoLancamentos versoes;
+	private Boolean particionado;
+
+	public ArquivamentoServiceImpl(LancamentoRepository lancamentoRepository,
+			LancamentoArquivadoRepository arquivoRepository, JdbcTemplate jdbcTemplate, VersaoLancamentos versoes) {
+		this.lancamentoRepository = lancamentoRepository;
+		this.arquivoRepository = arquivoRepository;
+		this.jdbcTemplate = jdbcTemplate;
+		this.versoes = versoes;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<Integer> obterAnosAnterioresA(Integer ano) {
+		return lancamentoRepository.obterAnosAnterioresA(ano);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public long obterMaiorIdUsuario() {
+		return lancamentoRepository.obterMaiorIdUsuario();
+	}
+
+	@Override
+	@Transactional
+	public int arquivar(Integer ano, Long idInicial, Long idFinal) {
+		if (ano == null || ano >= LocalDate.now().getYear()) {
+			throw new RegraNegocioException("Apenas anos encerrados podem ser arquivados.");
+		}
+
+		// trava os usuários da faixa antes de mover as linhas, como toda escrita de lançamentos
+		versoes.registrarDoAno(ano, idInicial, idFinal);
+		int copiados = arquivoRepository.copiarDoAno(ano, idInicial, idFinal);
+		int removidos = lancamentoRepository.removerDoAno(ano, idInicial, idFinal);
+		if (copiados != removidos) {
+			throw new IllegalStateException("Arquivamento de " + ano + " copiou " + copiados + " e removeu "
+					+ removidos + " lançamentos.");
+		}
+		return removidos;
+	}
+
+	/**
+	 * No PostgreSQL, descarta a partição do ano se ela já estiver vazia.
+	 */
+	@Override
+	@Transactional
+	public void descartarParticao(Integer ano) {
+		if (!particionado()) {
+			return;
+		}
+		String particao = "financas.lancamento_p" + ano;
+		if (jdbcTemplate.queryForObject("select to_regclass(?) is null", Boolean.class, particao)) {
+			return;
+		}
+		// travada, a partição não recebe lançamentos entre a verificação e o drop
+		jdbcTemplate.execute("lock table " + particao + " in access exclusive mode");
+		if (jdbcTemplate.queryForObject("select not exists (select 1 from " + particao + ")", Boolean.class)) {
+			jdbcTemplate.execute("drop table " + particao);
+		}
+	}
+
+	@Override
+	public void criarParticao(Integer ano) {
+		if (!particionado()) {
+			return;
+		}
+		try {
+			jdbcTemplate.execute("create table if not exists financas.lancamento_p" + ano
+					+ " partition of financas.lancamento for values from (" + ano + ") to (" + (ano + 1) + ")");
+		} catch (DataAccessException e) {
+			// lancamentos do ano ja gravados na particao padrao impedem a criacao; eles seguem validos por la
+			log.warn("Partição de {} não criada: {}", ano, e.getMessage());
+		}
+	}
+
+	private boolean particionado() {
+		if (particionado == null) {
+			particionado = jdbcTemplate.execute((ConnectionCallback<Boolean>) conexao -> conexao.getMetaData()
+					.getDatabaseProductName().toLowerCase().contains("postgres"));
+		}
+		return particionado;
+	}
+}
@@ -0,0 +1,84 @@
+package com.wesledev.minhasFinancas.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wesledev.minhasFinancas.api.dto.LancamentoDTO;
+import com.wesledev.minhasFinancas.model.entity.EventoLancamento;
+import com.wesledev.minhasFinancas.model.entity.Lancamento;
+import com.wesledev.minhasFinancas.model.enums.TipoEventoLancamento;
+import com.wesledev.minhasFinancas.model.repository.EventoLancamentoRepository;
+import com.wesledev.minhasFinancas.service.EventoLancamentoService;
+import com.wesledev.minhasFinancas.service.evento.PublicadorEventos;
+
+@Service
+public class EventoLancamentoServiceImpl implements EventoLancamentoService {
+
+	private EventoLancamentoRepository repository;
+	private PublicadorEventos publicador;
+	private ObjectMapper objectMapper;
+	private int tamanhoLote;
+
+	public EventoLancamentoServiceImpl(EventoLancamentoRepository repository, PublicadorEventos publicador,
+			ObjectMapper objectMapper, @Value("${financas.eventos.tamanho-lote:500}") int tamanhoLote) {
+		this.repository = repository;
+		this.publicador = publicador;
+		this.objectMapper = objectMapper;
+		this.tamanhoLote = Math.max(tamanhoLote, 1);
+	}
+
+	@Override
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void registrar(TipoEventoLancamento tipo, Lancamento lancamento) {
+		repository.save(criar(tipo, lancamento));
+	}
+
+	@Override
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void registrarTodos(TipoEventoLancamento tipo, List<Lancamento> lancamentos) {
+		List<EventoLancamento> eventos = new ArrayList<>(lancamentos.size());
+		lancamentos.forEach(lancamento -> eventos.add(criar(tipo, lancamento)));
+		repository.saveAll(eventos);
+	}
+
+	@Override
+	@Transactional
+	public int publicarPendentes() {
+		List<EventoLancamento> eventos = repository.bloquearPendentes(PageRequest.of(0, tamanhoLote));
+		if (eventos.isEmpty()) {
+			return 0;
+		}
+
+		publicador.publicar(eventos);
+		repository.deleteInBatch(eventos);
+		return eventos.size();
+	}
+
+	private EventoLancamento criar(TipoEventoLancamento tipo, Lancamento lancamento) {
+		Long idUsuario = lancamento.getUsuario() == null ? null : lancamento.getUsuario().getId();
+		// a remocao nao altera a linha, mas precisa de uma versao maior que a do ultimo estado para ser aplicada
+		Long versao = tipo == TipoEventoLancamento.REMOVIDO && lancamento.getVersao() != null
+				? lancamento.getVersao() + 1
+				: lancamento.getVersao();
+		LancamentoDTO dados = LancamentoDTO.builder().id(lancamento.getId()).descricao(lancamento.getDescricao())
+				.mes(lancamento.getMes()).ano(lancamento.getAno()).valor(lancamento.getValor()).usuario(idUsuario)
+				.tipo(lancamento.getTipo() == null ? null : lancamento.getTipo().name())
+				.status(lancamento.getStatus() == null ? null : lancamento.getStatus().name())
+				.versao(versao).build();
+		try {
+			return EventoLancamento.builder().tipo(tipo).idLancamento(lancamento.getId()).idUsuario(idUsuario)
+					.dados(objectMapper.writeValueAsString(dados)).dataCriacao(LocalDateTime.now()).build();
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,201 @@
+package com.wesledev.minhasFinancas.service.impl;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.persistence.EntityManager;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.wesledev.minhasFinancas.api.dto.ErroLoteDTO;
+import com.wesledev.minhasFinancas.api.dto.ResultadoImportacaoDTO;
+import com.wesledev.minhasFinancas.api.dto.ResultadoLoteDTO;
+import com.wesledev.minhasFinancas.exception.RegraNegocioException;
+import com.wesledev.minhasFinancas.model.entity.Lancamento;
+import com.wesledev.minhasFinancas.model.entity.Usuario;
+import com.wesledev.minhasFinancas.model.enums.TipoLancamento;
+import com.wesledev.minhasFinancas.model.repository.LancamentoArquivadoRepository;
+import com.wesledev.minhasFinancas.model.repository.LancamentoRepository;
+import com.wesledev.minhasFinancas.service.ImportacaoService;
+import com.wesledev.minhasFinancas.service.LancamentoService;
+import com.wesledev.minhasFinancas.service.importacao.FormatoExtrato;
+import com.wesledev.minhasFinancas.service.importacao.LeitorExtrato;
+import com.wesledev.minhasFinancas.service.importacao.TransacaoExtrato;
+
+@Service
+public class ImportacaoServiceImpl implements ImportacaoService {
+
+	public static final int LIMITE_ERROS = 100;
+
+	private static final int TAMANHO_DESCRICAO = 100;
+
+	private LancamentoService lancamentoService;
+	private LancamentoRepository repository;
+	private LancamentoArquivadoRepository arquivoRepository;
+	private EntityManager entityManager;
+	private TransactionTemplate transactionTemplate;
+	private int tamanhoLote;
+
+	public ImportacaoServiceImpl(LancamentoService lancamentoService, LancamentoRepository repository,
+			LancamentoArquivadoRepository arquivoRepository, EntityManager entityManager,
+			PlatformTransactionManager transactionManager,
+			@Value("${financas.importacao.tamanho-lote:1000}") int tamanhoLote) {
+		this.lancamentoService = lancamentoService;
+		this.repository = repository;
+		this.arquivoRepository = arquivoRepository;
+		this.entityManager = entityManager;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.tamanhoLote = Math.min(tamanhoLote, LancamentoServiceImpl.TAMANHO_LOTE_MAXIMO);
+	}
+
+	@Override
+	public ResultadoImportacaoDTO importar(Usuario usuario, FormatoExtrato formato, Reader conteudo) {
+		ResultadoImportacaoDTO resultado = new ResultadoImportacaoDTO();
+		MessageDigest digest = criarDigest();
+
+		List<Lancamento> lote = new ArrayList<>(tamanhoLote);
+		List<Long> linhas = new ArrayList<>(tamanhoLote);
+
+		// transacoes identicas no mesmo dia sao legitimas (duas compras iguais), entao a ordem em que aparecem no dia
+		// entra no hash; o extrato vem agrupado por data, o que mantem este mapa do tamanho de um dia. Um dia que volta
+		// depois de encerrado teria a contagem reiniciada, entao a linha e rejeitada em vez de virar duplicada
+		Map<String, Integer> ocorrencias = new HashMap<>();
+		Set<LocalDate> diasEncerrados = new HashSet<>();
+		LocalDate dia = null;
+
+		try (LeitorExtrato leitor = formato.criarLeitor(conteudo)) {
+			while (true) {
+				TransacaoExtrato transacao;
+				try {
+					transacao = leitor.proxima();
+				} catch (RegraNegocioException e) {
+					rejeitar(resultado, leitor.getLinha(), e.getMessage());
+					continue;
+				}
+				if (transacao == null) {
+					break;
+				}
+
+				if (!transacao.getData().equals(dia)) {
+					if (diasEncerrados.contains(transacao.getData())) {
+						rejeitar(resultado, transacao.getLinha(), "Extrato fora da ordem de datas.");
+						continue;
+					}
+					if (dia != null) {
+						diasEncerrados.add(dia);
+					}
+					dia = transacao.getData();
+					ocorrencias.clear();
+				}
+				String chave = transacao.getValor().setScale(2, BigDecimal.ROUND_HALF_EVEN).toPlainString() + "|"
+						+ transacao.getDescricao();
+				int ocorrencia = ocorrencias.merge(chave, 1, Integer::sum);
+
+				lote.add(converter(usuario, transacao, hash(digest, usuario, transacao, chave, ocorrencia)));
+				linhas.add(transacao.getLinha());
+				if (lote.size() == tamanhoLote) {
+					gravar(usuario, lote, linhas, resultado);
+				}
+			}
+			gravar(usuario, lote, linhas, resultado);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return resultado;
+	}
+
+	/**
+	 * Grava um lote em uma transacao propria: descarta os hashes ja importados com uma unica consulta e libera o
+	 * contexto de persistencia ao final, para que a memoria nao cresca com o tamanho do arquivo.
+	 */
+	private void gravar(Usuario usuario, List<Lancamento> lote, List<Long> linhas, ResultadoImportacaoDTO resultado) {
+		if (lote.isEmpty()) {
+			return;
+		}
+		transactionTemplate.execute(status -> {
+			List<String> hashes = lote.stream().map(Lancamento::getHashImportacao).collect(Collectors.toList());
+			// um extrato antigo importado de novo nao pode recriar lancamentos de anos ja arquivados
+			Set<String> importados = new HashSet<>(repository.obterHashesImportados(usuario.getId(), hashes));
+			importados.addAll(arquivoRepository.obterHashesImportados(usuario.getId(), hashes));
+			Set<String> vistos = new HashSet<>();
+
+			List<Lancamento> novos = new ArrayList<>();
+			List<Long> linhasNovos = new ArrayList<>();
+			for (int i = 0; i < lote.size(); i++) {
+				String hash = lote.get(i).getHashImportacao();
+				if (importados.contains(hash) || !vistos.add(hash)) {
+					resultado.setDuplicados(resultado.getDuplicados() + 1);
+				} else {
+					novos.add(lote.get(i));
+					linhasNovos.add(linhas.get(i));
+				}
+			}
+
+			ResultadoLoteDTO salvos = lancamentoService.salvarEmLote(novos);
+			resultado.setImportados(resultado.getImportados() + salvos.getSalvos().size());
+			for (ErroLoteDTO erro : salvos.getErros()) {
+				rejeitar(resultado, linhasNovos.get(erro.getIndice()), erro.getMensagem());
+			}
+
+			entityManager.flush();
+			entityManager.clear();
+			return null;
+		});
+		lote.clear();
+		linhas.clear();
+	}
+
+	private Lancamento converter(Usuario usuario, TransacaoExtrato transacao, String hash) {
+		String descricao = transacao.getDescricao();
+		if (descricao.length() > TAMANHO_DESCRICAO) {
+			descricao = descricao.substring(0, TAMANHO_DESCRICAO);
+		}
+		return Lancamento.builder().descricao(descricao).mes(transacao.getData().getMonthValue())
+				.ano(transacao.getData().getYear()).valor(transacao.getValor().abs())
+				.tipo(transacao.getValor().signum() < 0 ? TipoLancamento.DESPESA : TipoLancamento.RECEITA)
+				.usuario(usuario).hashImportacao(hash).build();
+	}
+
+	private void rejeitar(ResultadoImportacaoDTO resultado, long linha, String mensagem) {
+		resultado.setRejeitados(resultado.getRejeitados() + 1);
+		if (resultado.getErros().size() < LIMITE_ERROS) {
+			resultado.getErros().add(new ErroLoteDTO((int) linha, mensagem));
+		}
+	}
+
+	private String hash(MessageDigest digest, Usuario usuario, TransacaoExtrato transacao, String chave,
+			int ocorrencia) {
+		String conteudo = usuario.getId() + "|" + transacao.getData() + "|" + chave + "|" + ocorrencia;
+		byte[] bytes = digest.digest(conteudo.getBytes(StandardCharsets.UTF_8));
+
+		StringBuilder hex = new StringBuilder(bytes.length * 2);
+		for (byte b : bytes) {
+			hex.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+		}
+		return hex.toString();
+	}
+
+	private MessageDigest criarDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
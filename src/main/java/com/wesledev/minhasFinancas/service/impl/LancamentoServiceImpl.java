@@ -1,30 +1,66 @@
 package com.wesledev.minhasFinancas.service.impl;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 
-import org.springframework.data.domain.Example;
-import org.springframework.data.domain.ExampleMatcher;
-import org.springframework.data.domain.ExampleMatcher.StringMatcher;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.wesledev.minhasFinancas.api.dto.ErroLoteDTO;
+import com.wesledev.minhasFinancas.api.dto.FiltroLancamentoDTO;
+import com.wesledev.minhasFinancas.api.dto.PaginaDTO;
+import com.wesledev.minhasFinancas.api.dto.RelatorioAnualDTO;
+import com.wesledev.minhasFinancas.api.dto.ResultadoLoteDTO;
+import com.wesledev.minhasFinancas.api.dto.ResultadoStatusLoteDTO;
 import com.wesledev.minhasFinancas.exception.RegraNegocioException;
 import com.wesledev.minhasFinancas.model.entity.Lancamento;
+import com.wesledev.minhasFinancas.model.entity.LancamentoArquivado;
 import com.wesledev.minhasFinancas.model.enums.StatusLancamento;
-import com.wesledev.minhasFinancas.model.enums.TipoLancamento;
+import com.wesledev.minhasFinancas.model.enums.TipoEventoLancamento;
+import com.wesledev.minhasFinancas.model.projection.LancamentoResumo;
+import com.wesledev.minhasFinancas.model.projection.SaldoUsuario;
+import com.wesledev.minhasFinancas.model.repository.LancamentoArquivadoRepository;
 import com.wesledev.minhasFinancas.model.repository.LancamentoRepository;
+import com.wesledev.minhasFinancas.model.repository.LancamentoSpecifications;
+import com.wesledev.minhasFinancas.service.EventoLancamentoService;
 import com.wesledev.minhasFinancas.service.LancamentoService;
+import com.wesledev.minhasFinancas.service.PesquisaLancamentoService;
+import com.wesledev.minhasFinancas.service.SaldoMensalService;
 
 @Service
 public class LancamentoServiceImpl implements LancamentoService {
 
+	public static final int TAMANHO_PAGINA_PADRAO = 50;
+	public static final int TAMANHO_PAGINA_MAXIMO = 500;
+	public static final int TAMANHO_LOTE_MAXIMO = 5000;
+	public static final int TAMANHO_BLOCO_STATUS = 1000;
+
 	private LancamentoRepository repository;
+	private LancamentoArquivadoRepository arquivoRepository;
+	private SaldoMensalService saldoMensalService;
+	private PesquisaLancamentoService pesquisaService;
+	private VersaoLancamentos versoes;
+	private EventoLancamentoService eventos;
 
-	public LancamentoServiceImpl(LancamentoRepository repository) {
+	public LancamentoServiceImpl(LancamentoRepository repository, LancamentoArquivadoRepository arquivoRepository,
+			SaldoMensalService saldoMensalService, PesquisaLancamentoService pesquisaService, VersaoLancamentos versoes,
+			EventoLancamentoService eventos) {
 		this.repository = repository;
+		this.arquivoRepository = arquivoRepository;
+		this.saldoMensalService = saldoMensalService;
+		this.pesquisaService = pesquisaService;
+		this.versoes = versoes;
+		this.eventos = eventos;
 	}
 
 	@Override
@@ -32,7 +68,40 @@ public class LancamentoServiceImpl implements LancamentoService {
 	public Lancamento salvar(Lancamento lancamento) {
 		validar(lancamento);
 		lancamento.setStatus(StatusLancamento.PENDENTE);
-		return repository.save(lancamento);
+		registrarVersao(lancamento);
+		Lancamento lancamentoSalvo = repository.save(lancamento);
+		saldoMensalService.adicionar(lancamentoSalvo);
+		pesquisaService.indexar(lancamentoSalvo);
+		eventos.registrar(TipoEventoLancamento.CRIADO, lancamentoSalvo);
+		return lancamentoSalvo;
+	}
+
+	@Override
+	@Transactional
+	public ResultadoLoteDTO salvarEmLote(List<Lancamento> lancamentos) {
+		if (lancamentos.size() > TAMANHO_LOTE_MAXIMO) {
+			throw new RegraNegocioException("Informe no máximo " + TAMANHO_LOTE_MAXIMO + " lançamentos por lote.");
+		}
+
+		List<Lancamento> validos = new ArrayList<>();
+		List<ErroLoteDTO> erros = new ArrayList<>();
+		for (int i = 0; i < lancamentos.size(); i++) {
+			Lancamento lancamento = lancamentos.get(i);
+			try {
+				validar(lancamento);
+				lancamento.setStatus(StatusLancamento.PENDENTE);
+				validos.add(lancamento);
+			} catch (RegraNegocioException e) {
+				erros.add(new ErroLoteDTO(i, e.getMessage()));
+			}
+		}
+
+		registrarVersao(validos);
+		List<Lancamento> salvos = repository.saveAll(validos);
+		saldoMensalService.adicionarTodos(salvos);
+		pesquisaService.indexarTodos(salvos);
+		eventos.registrarTodos(TipoEventoLancamento.CRIADO, salvos);
+		return new ResultadoLoteDTO(salvos, erros);
 	}
 
 	@Override
@@ -40,31 +109,156 @@ public class LancamentoServiceImpl implements LancamentoService {
 	public Lancamento atualizar(Lancamento lancamento) {
 		Objects.requireNonNull(lancamento.getId());
 		validar(lancamento);
-		return repository.save(lancamento);
+
+		Lancamento estadoAnterior = obterEstadoPersistido(lancamento.getId());
+		if (lancamento.getStatus() == null && estadoAnterior != null) {
+			lancamento.setStatus(estadoAnterior.getStatus());
+		}
+		if (lancamento.getHashImportacao() == null && estadoAnterior != null) {
+			lancamento.setHashImportacao(estadoAnterior.getHashImportacao());
+		}
+		// sem versao informada vale a ultima escrita; com versao, uma alteracao concorrente gera conflito
+		if (lancamento.getVersao() == null && estadoAnterior != null) {
+			lancamento.setVersao(estadoAnterior.getVersao());
+		}
+
+		registrarVersao(estadoAnterior, lancamento);
+		Lancamento lancamentoSalvo = repository.save(lancamento);
+		saldoMensalService.remover(estadoAnterior);
+		saldoMensalService.adicionar(lancamentoSalvo);
+		pesquisaService.indexar(lancamentoSalvo);
+		eventos.registrar(TipoEventoLancamento.ATUALIZADO, lancamentoSalvo);
+		lancamentoSalvo.registrarEstadoPersistido();
+		return lancamentoSalvo;
 	}
 
 	@Override
 	@Transactional
 	public void deletar(Lancamento lancamento) {
 		Objects.requireNonNull(lancamento.getId());
+		Lancamento estadoAnterior = obterEstadoPersistido(lancamento.getId());
+		registrarVersao(estadoAnterior);
 		repository.delete(lancamento);
+		saldoMensalService.remover(estadoAnterior);
+		pesquisaService.remover(lancamento);
+		eventos.registrar(TipoEventoLancamento.REMOVIDO, estadoAnterior != null ? estadoAnterior : lancamento);
+	}
 
+	@Override
+	@Transactional(readOnly = true)
+	public List<LancamentoResumo> buscar(FiltroLancamentoDTO filtro) {
+		return repository.buscar(especificar(filtro));
 	}
 
 	@Override
 	@Transactional(readOnly = true)
-	public List<Lancamento> buscar(Lancamento lancamentoFiltro) {
-		Example example = Example.of(lancamentoFiltro,
-				ExampleMatcher.matching().withIgnoreCase().withStringMatcher(StringMatcher.CONTAINING));
+	public PaginaDTO<LancamentoResumo> buscarPaginado(FiltroLancamentoDTO filtro, String cursor, Integer tamanho) {
+		int limite = tamanho == null ? TAMANHO_PAGINA_PADRAO : Math.min(Math.max(tamanho, 1), TAMANHO_PAGINA_MAXIMO);
+
+		// busca um registro a mais para saber se existe uma proxima pagina
+		List<LancamentoResumo> lancamentos = repository.buscarAposCursor(especificar(filtro),
+				decodificarCursor(cursor), limite + 1);
 
-		return repository.findAll(example);
+		String proximoCursor = null;
+		if (lancamentos.size() > limite) {
+			lancamentos = lancamentos.subList(0, limite);
+			proximoCursor = codificarCursor(lancamentos.get(limite - 1));
+		}
+
+		return new PaginaDTO<>(lancamentos, proximoCursor);
 	}
 
 	@Override
+	@Transactional(readOnly = true)
+	public void exportar(Long idUsuario, Consumer<Lancamento> consumidor) {
+		repository.percorrerPorUsuario(idUsuario, consumidor);
+	}
+
+	@Override
+	@Transactional
 	public void atualizarStatus(Lancamento lancamento, StatusLancamento status) {
+		Objects.requireNonNull(lancamento.getId());
+		if (status == null) {
+			throw new RegraNegocioException("Informe um Status válido.");
+		}
+
+		// o estado registrado na carga corresponde a versao do lancamento, entao nao precisa ser relido
+		Lancamento estadoAnterior = lancamento.getEstadoPersistido();
+		if (estadoAnterior == null || lancamento.getVersao() == null) {
+			estadoAnterior = obterEstadoPersistido(lancamento.getId());
+			if (estadoAnterior == null) {
+				throw new RegraNegocioException("Lancamento não encontrado na base de Dados.");
+			}
+			if (lancamento.getVersao() == null) {
+				lancamento.setVersao(estadoAnterior.getVersao());
+			}
+		}
+
+		registrarVersao(estadoAnterior);
+		if (repository.atualizarStatus(lancamento.getId(), lancamento.getVersao(), status) == 0) {
+			throw new ObjectOptimisticLockingFailureException(Lancamento.class, lancamento.getId());
+		}
+
+		Lancamento estadoAtual = estadoAnterior.toBuilder().status(status).versao(lancamento.getVersao() + 1).build();
+		saldoMensalService.remover(estadoAnterior);
+		saldoMensalService.adicionar(estadoAtual);
+		pesquisaService.indexar(estadoAtual);
+		eventos.registrar(TipoEventoLancamento.STATUS_ALTERADO, estadoAtual);
+
 		lancamento.setStatus(status);
-		atualizar(lancamento);
+		lancamento.setVersao(estadoAtual.getVersao());
+		lancamento.setEstadoPersistido(estadoAtual);
+	}
+
+	@Override
+	@Transactional
+	public ResultadoStatusLoteDTO atualizarStatusEmLote(FiltroLancamentoDTO filtro, List<Long> ids,
+			StatusLancamento status) {
+		if (status == null) {
+			throw new RegraNegocioException("Informe um Status válido.");
+		}
+		boolean porIds = ids != null && !ids.isEmpty();
+		if (!porIds && filtro.getAno() == null) {
+			throw new RegraNegocioException("Informe os lançamentos ou o Ano a atualizar.");
+		}
+		if (porIds && ids.size() > TAMANHO_LOTE_MAXIMO) {
+			throw new RegraNegocioException("Informe no máximo " + TAMANHO_LOTE_MAXIMO + " lançamentos por lote.");
+		}
+
+		// as linhas ficam travadas ate o commit, entao o estado lido e o que o update vai alterar
+		versoes.registrar(filtro.getUsuario());
+		Specification<Lancamento> especificacao = Specification.where(especificar(filtro))
+				.and(LancamentoSpecifications.comIds(ids));
+		repository.restaurar(especificacao);
+		List<Lancamento> lancamentos = repository.bloquear(especificacao);
 
+		List<Lancamento> anteriores = new ArrayList<>();
+		List<Long> idsAlterados = new ArrayList<>();
+		for (Lancamento lancamento : lancamentos) {
+			if (lancamento.getStatus() != status) {
+				anteriores.add(lancamento.getEstadoPersistido() != null ? lancamento.getEstadoPersistido() : lancamento);
+				idsAlterados.add(lancamento.getId());
+			}
+		}
+
+		int atualizados = 0;
+		for (int i = 0; i < idsAlterados.size(); i += TAMANHO_BLOCO_STATUS) {
+			atualizados += repository.atualizarStatusEmLote(
+					idsAlterados.subList(i, Math.min(i + TAMANHO_BLOCO_STATUS, idsAlterados.size())), status);
+		}
+
+		if (!anteriores.isEmpty()) {
+			List<Lancamento> atuais = new ArrayList<>();
+			anteriores.forEach(anterior -> atuais.add(anterior.toBuilder().status(status)
+					.versao(anterior.getVersao() == null ? null : anterior.getVersao() + 1).build()));
+			saldoMensalService.removerTodos(anteriores);
+			saldoMensalService.adicionarTodos(atuais);
+			pesquisaService.indexarTodos(atuais);
+			eventos.registrarTodos(TipoEventoLancamento.STATUS_ALTERADO, atuais);
+		}
+
+		int naoEncontrados = porIds ? (int) ids.stream().distinct().count() - lancamentos.size() : 0;
+		return new ResultadoStatusLoteDTO(atualizados, lancamentos.size() - anteriores.size(), naoEncontrados);
 	}
 
 	@Override
@@ -90,26 +284,104 @@ public class LancamentoServiceImpl implements LancamentoService {
 
 	}
 
+	/**
+	 * Um lançamento arquivado volta para financas.lancamento, onde as escritas o alteram.
+	 */
 	@Override
+	@Transactional
 	public Optional<Lancamento> obterPorId(Long id) {
+		Optional<Lancamento> lancamento = repository.findById(id);
+		if (lancamento.isPresent()) {
+			return lancamento;
+		}
+
+		Optional<LancamentoArquivado> arquivado = arquivoRepository.findById(id);
+		if (!arquivado.isPresent()) {
+			return lancamento;
+		}
+		versoes.registrar(arquivado.get().getIdUsuario());
+		repository.restaurar(LancamentoSpecifications.comIds(Collections.singletonList(id)));
 		return repository.findById(id);
 	}
 
+	@Override
+	@Transactional
+	public Optional<BigDecimal> obterSaldoPorUsuario(Long id) {
+		SaldoUsuario saldo = saldoMensalService.obterSaldoPorUsuario(id);
+		if (!saldo.isUsuarioExistente()) {
+			return Optional.empty();
+		}
+
+		return Optional.of(saldo.getSaldo());
+	}
+
 	@Override
 	@Transactional(readOnly = true)
-	public BigDecimal obterSaldoPorUsuario(Long id) {
-		BigDecimal receitas = repository.obterSaldoPorTipoLancamentoEUsuario(id, TipoLancamento.RECEITA);
-		BigDecimal despesas = repository.obterSaldoPorTipoLancamentoEUsuario(id, TipoLancamento.DESPESA);
-		
-		if(receitas == null) {
-			receitas = BigDecimal.ZERO;
-		}
-		
-		if(despesas == null) {
-			despesas = BigDecimal.ZERO;
-		}
-		
-		return receitas.subtract(despesas);
+	public String obterVersao(Long idUsuario) {
+		return versoes.obter(idUsuario);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public RelatorioAnualDTO obterRelatorioAnual(Long idUsuario, Integer ano) {
+		if (ano == null || ano.toString().length() != 4) {
+			throw new RegraNegocioException("Informe um Ano válido.");
+		}
+		return saldoMensalService.obterRelatorioAnual(idUsuario, ano);
+	}
+
+	private void registrarVersao(Lancamento... lancamentos) {
+		registrarVersao(Arrays.asList(lancamentos));
+	}
+
+	/**
+	 * Trava e avanca a versao dos usuarios alterados antes de qualquer escrita, em ordem de id (ver
+	 * {@link VersaoLancamentos#registrar(Long)}).
+	 */
+	private void registrarVersao(List<Lancamento> lancamentos) {
+		lancamentos.stream()
+				.filter(lancamento -> lancamento != null && lancamento.getUsuario() != null
+						&& lancamento.getUsuario().getId() != null)
+				.map(lancamento -> lancamento.getUsuario().getId()).distinct().sorted().forEach(versoes::registrar);
+	}
+
+	private Lancamento obterEstadoPersistido(Long id) {
+		// o estado registrado ao carregar a entidade continua valido mesmo se ela ja foi alterada em memoria
+		return repository.findById(id).map(Lancamento::getEstadoPersistido).orElse(null);
+	}
+
+	private Specification<Lancamento> especificar(FiltroLancamentoDTO filtro) {
+		if (filtro.getUsuario() == null) {
+			throw new RegraNegocioException("Informe um Usuário.");
+		}
+		if (filtro.getValorMinimo() != null && filtro.getValorMaximo() != null
+				&& filtro.getValorMinimo().compareTo(filtro.getValorMaximo()) > 0) {
+			throw new RegraNegocioException("O valor mínimo não pode ser maior que o valor máximo.");
+		}
+		if (filtro.getDataInicial() != null && filtro.getDataFinal() != null
+				&& filtro.getDataInicial().isAfter(filtro.getDataFinal())) {
+			throw new RegraNegocioException("A data inicial não pode ser posterior à data final.");
+		}
+		return LancamentoSpecifications.de(filtro);
+	}
+
+	private String codificarCursor(LancamentoResumo ultimo) {
+		String valor = ultimo.getAno() + ":" + ultimo.getMes() + ":" + ultimo.getId();
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private Lancamento decodificarCursor(String cursor) {
+		if (cursor == null || cursor.trim().isEmpty()) {
+			return null;
+		}
+
+		try {
+			String[] partes = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+			return Lancamento.builder().ano(Integer.valueOf(partes[0])).mes(Integer.valueOf(partes[1]))
+					.id(Long.valueOf(partes[2])).build();
+		} catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+			throw new RegraNegocioException("Cursor de paginação inválido.");
+		}
 	}
 
 }
@@ -0,0 +1,455 @@
+package com.wesledev.minhasFinancas.service.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.PreDestroy;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.wesledev.minhasFinancas.exception.RegraNegocioException;
+import com.wesledev.minhasFinancas.model.entity.Lancamento;
+import com.wesledev.minhasFinancas.model.enums.StatusLancamento;
+import com.wesledev.minhasFinancas.model.enums.TipoLancamento;
+import com.wesledev.minhasFinancas.model.projection.LancamentoResumo;
+import com.wesledev.minhasFinancas.model.repository.LancamentoRepository;
+import com.wesledev.minhasFinancas.service.PesquisaLancamentoService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Índice invertido (Lucene) sobre a descrição dos lançamentos, local a cada instância. As escritas da instância chegam
+ * ao índice depois do commit; as das demais são trazidas por {@link #sincronizar()}, que compara a versão dos
+ * lançamentos de cada usuário com a gravada no índice.
+ * <p>
+ * A reconstrução regrava os documentos sobre o índice em uso, marcados com uma nova geração, e só no fim remove os
+ * da geração anterior, então as pesquisas nunca encontram o índice vazio.
+ */
+@Slf4j
+@Service
+public class PesquisaLancamentoServiceImpl implements PesquisaLancamentoService {
+
+	static final String ID = "id";
+	static final String USUARIO = "usuario";
+	static final String DESCRICAO = "descricao";
+	static final String ANO = "ano";
+	static final String GERACAO = "geracao";
+	static final String VERSAO = "versao";
+	static final String MARCADOR = "marcador";
+	static final int FAIXA_USUARIOS = 1000;
+
+	private final LancamentoRepository repository;
+	private final VersaoLancamentos versoes;
+	private final Analyzer analisador = new AnalisadorDescricao();
+	private final Directory diretorio;
+	private final IndexWriter writer;
+	private final SearcherManager searcherManager;
+	private volatile long geracao = System.currentTimeMillis();
+	private Reconstrucao reconstrucao;
+
+	public PesquisaLancamentoServiceImpl(LancamentoRepository repository, VersaoLancamentos versoes,
+			@Value("${financas.pesquisa.diretorio:}") String diretorio) throws IOException {
+		this.repository = repository;
+		this.versoes = versoes;
+		// sem diretorio configurado o indice fica so em memoria e e reconstruido a cada inicializacao
+		this.diretorio = diretorio.trim().isEmpty() ? new ByteBuffersDirectory()
+				: FSDirectory.open(Paths.get(diretorio));
+		this.writer = new IndexWriter(this.diretorio,
+				new IndexWriterConfig(analisador).setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+		this.searcherManager = new SearcherManager(writer, null);
+	}
+
+	@Override
+	public List<LancamentoResumo> pesquisar(Long idUsuario, String texto, Integer limite) {
+		List<String> termos = termos(texto);
+		if (termos.isEmpty()) {
+			throw new RegraNegocioException("Informe um texto para a pesquisa.");
+		}
+		int quantidade = limite == null ? LancamentoServiceImpl.TAMANHO_PAGINA_PADRAO
+				: Math.min(Math.max(limite, 1), LancamentoServiceImpl.TAMANHO_PAGINA_MAXIMO);
+
+		// todas as palavras precisam aparecer; a ultima vale como prefixo para a pesquisa enquanto se digita
+		BooleanQuery.Builder query = new BooleanQuery.Builder()
+				.add(LongPoint.newExactQuery(USUARIO, idUsuario), Occur.FILTER);
+		for (int i = 0; i < termos.size(); i++) {
+			Term termo = new Term(DESCRICAO, termos.get(i));
+			query.add(i == termos.size() - 1 ? new PrefixQuery(termo) : new TermQuery(termo), Occur.MUST);
+		}
+
+		try {
+			IndexSearcher searcher = searcherManager.acquire();
+			try {
+				List<LancamentoResumo> resultado = new ArrayList<>();
+				for (ScoreDoc encontrado : searcher.search(query.build(), quantidade).scoreDocs) {
+					resultado.add(resumo(searcher.doc(encontrado.doc)));
+				}
+				return resultado;
+			} finally {
+				searcherManager.release(searcher);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Override
+	public void indexar(Lancamento lancamento) {
+		registrar(lancamento.getId(), documento(lancamento));
+	}
+
+	@Override
+	public void indexarTodos(Collection<Lancamento> lancamentos) {
+		lancamentos.forEach(this::indexar);
+	}
+
+	@Override
+	public void remover(Lancamento lancamento) {
+		registrar(lancamento.getId(), null);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public synchronized long reindexar() {
+		synchronized (writer) {
+			geracao++;
+			reconstrucao = new Reconstrucao();
+		}
+		try {
+			// as versões são lidas antes dos lançamentos, então o índice nunca guarda uma versão mais nova que eles
+			long maiorIdUsuario = versoes.obterMaiorIdUsuario();
+			for (long inicial = 1; inicial <= maiorIdUsuario; inicial += FAIXA_USUARIOS) {
+				for (Map.Entry<Long, Long> versao : versoes.obterDaFaixa(inicial, inicial + FAIXA_USUARIOS - 1)
+						.entrySet()) {
+					gravarVersao(versao.getKey(), versao.getValue());
+				}
+			}
+
+			AtomicLong total = new AtomicLong();
+			repository.percorrerTodos(lancamento -> {
+				try {
+					gravar(lancamento.getId(), documento(lancamento));
+					total.incrementAndGet();
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+			synchronized (writer) {
+				for (Map.Entry<Long, Document> alteracao : reconstrucao.alterados.entrySet()) {
+					gravar(alteracao.getKey(), alteracao.getValue());
+				}
+				// o que nao foi regravado nesta geracao nao existe mais no banco
+				writer.deleteDocuments(new BooleanQuery.Builder().add(new MatchAllDocsQuery(), Occur.MUST)
+						.add(LongPoint.newExactQuery(GERACAO, geracao), Occur.MUST_NOT).build());
+			}
+			writer.commit();
+			searcherManager.maybeRefreshBlocking();
+			log.info("Índice de pesquisa reconstruído com {} lançamentos.", total.get());
+			return total.get();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		} finally {
+			synchronized (writer) {
+				reconstrucao = null;
+			}
+		}
+	}
+
+	/**
+	 * Reindexa os usuários cuja versão dos lançamentos mudou desde a gravada no índice, inclusive por escritas de
+	 * outras instâncias; o índice vazio é reconstruído inteiro.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public synchronized void sincronizar() {
+		if (writer.getDocStats().numDocs == 0) {
+			reindexar();
+			return;
+		}
+
+		try {
+			searcherManager.maybeRefreshBlocking();
+			int reindexados = 0;
+			long maiorIdUsuario = versoes.obterMaiorIdUsuario();
+			for (long inicial = 1; inicial <= maiorIdUsuario; inicial += FAIXA_USUARIOS) {
+				long fim = inicial + FAIXA_USUARIOS - 1;
+				Map<Long, Long> indexadas = obterVersoesIndexadas(inicial, fim);
+				for (Map.Entry<Long, Long> versao : versoes.obterDaFaixa(inicial, fim).entrySet()) {
+					if (!versao.getValue().equals(indexadas.remove(versao.getKey()))) {
+						reindexarUsuario(versao.getKey(), versao.getValue());
+						reindexados++;
+					}
+				}
+				// o que sobrou é de usuários que não existem mais
+				for (Long idUsuario : indexadas.keySet()) {
+					synchronized (writer) {
+						writer.deleteDocuments(LongPoint.newExactQuery(USUARIO, idUsuario));
+					}
+				}
+			}
+			searcherManager.maybeRefreshBlocking();
+			if (reindexados > 0) {
+				log.info("Índice de pesquisa atualizado para {} usuários com lançamentos alterados.", reindexados);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Override
+	public void confirmar() {
+		try {
+			if (writer.hasUncommittedChanges()) {
+				writer.commit();
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@PreDestroy
+	public void fechar() throws IOException {
+		searcherManager.close();
+		writer.close();
+		diretorio.close();
+	}
+
+	private void registrar(Long id, Document documento) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			Map<Long, Document> alteracoes = new LinkedHashMap<>();
+			alteracoes.put(id, documento);
+			aplicar(alteracoes);
+			return;
+		}
+
+		Alteracoes alteracoes = (Alteracoes) TransactionSynchronizationManager.getResource(this);
+		if (alteracoes == null) {
+			alteracoes = new Alteracoes();
+			TransactionSynchronizationManager.bindResource(this, alteracoes);
+			TransactionSynchronizationManager.registerSynchronization(alteracoes);
+		}
+		// a ultima alteracao de um lancamento na transacao e a que vale; documento nulo remove
+		alteracoes.porId.put(id, documento);
+	}
+
+	private void aplicar(Map<Long, Document> alteracoes) {
+		try {
+			synchronized (writer) {
+				if (reconstrucao != null) {
+					reconstrucao.alterados.putAll(alteracoes);
+				}
+				for (Map.Entry<Long, Document> alteracao : alteracoes.entrySet()) {
+					gravar(alteracao.getKey(), alteracao.getValue());
+				}
+			}
+			searcherManager.maybeRefreshBlocking();
+		} catch (IOException e) {
+			// o banco ja foi confirmado; o indice sera reconstruido na proxima sincronizacao
+			log.error("Falha ao atualizar o índice de pesquisa de lançamentos.", e);
+		}
+	}
+
+	/**
+	 * Regrava os lançamentos do usuário com uma nova geração e remove os que não foram regravados.
+	 */
+	private void reindexarUsuario(Long idUsuario, Long versao) throws IOException {
+		long geracaoUsuario;
+		synchronized (writer) {
+			geracaoUsuario = ++geracao;
+		}
+		gravarVersao(idUsuario, versao);
+		repository.percorrerPorUsuario(idUsuario, lancamento -> {
+			try {
+				gravar(lancamento.getId(), documento(lancamento));
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+		synchronized (writer) {
+			writer.deleteDocuments(new BooleanQuery.Builder()
+					.add(LongPoint.newExactQuery(USUARIO, idUsuario), Occur.MUST)
+					.add(LongPoint.newExactQuery(GERACAO, geracaoUsuario), Occur.MUST_NOT).build());
+		}
+	}
+
+	private Map<Long, Long> obterVersoesIndexadas(long idInicial, long idFinal) throws IOException {
+		Query query = new BooleanQuery.Builder().add(new TermQuery(new Term(MARCADOR, VERSAO)), Occur.FILTER)
+				.add(LongPoint.newRangeQuery(USUARIO, idInicial, idFinal), Occur.FILTER).build();
+		Map<Long, Long> indexadas = new HashMap<>();
+		IndexSearcher searcher = searcherManager.acquire();
+		try {
+			for (ScoreDoc encontrado : searcher.search(query, (int) (idFinal - idInicial + 1)).scoreDocs) {
+				Document documento = searcher.doc(encontrado.doc);
+				indexadas.put(documento.getField(USUARIO).numericValue().longValue(),
+						documento.getField(VERSAO).numericValue().longValue());
+			}
+		} finally {
+			searcherManager.release(searcher);
+		}
+		return indexadas;
+	}
+
+	/**
+	 * Guarda no índice a versão dos lançamentos do usuário refletida pelos documentos dele.
+	 */
+	private void gravarVersao(Long idUsuario, Long versao) throws IOException {
+		Document documento = new Document();
+		documento.add(new StringField(MARCADOR, VERSAO, Field.Store.NO));
+		documento.add(new LongPoint(USUARIO, idUsuario));
+		documento.add(new StoredField(USUARIO, idUsuario));
+		documento.add(new StoredField(VERSAO, versao));
+		gravar(new Term(ID, MARCADOR + "-" + idUsuario), documento);
+	}
+
+	private void gravar(Long id, Document documento) throws IOException {
+		gravar(new Term(ID, id.toString()), documento);
+	}
+
+	/**
+	 * Grava o documento com a geracao atual, ou remove o lancamento quando o documento e nulo.
+	 */
+	private void gravar(Term termo, Document documento) throws IOException {
+		if (documento == null) {
+			writer.deleteDocuments(termo);
+			return;
+		}
+		documento.removeFields(GERACAO);
+		documento.add(new LongPoint(GERACAO, geracao));
+		writer.updateDocument(termo, documento);
+	}
+
+	private List<String> termos(String texto) {
+		List<String> termos = new ArrayList<>();
+		if (texto == null) {
+			return termos;
+		}
+		try (TokenStream tokens = analisador.tokenStream(DESCRICAO, texto)) {
+			CharTermAttribute termo = tokens.addAttribute(CharTermAttribute.class);
+			tokens.reset();
+			while (tokens.incrementToken()) {
+				termos.add(termo.toString());
+			}
+			tokens.end();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return termos;
+	}
+
+	private Document documento(Lancamento lancamento) {
+		Document documento = new Document();
+		documento.add(new StringField(ID, lancamento.getId().toString(), Field.Store.YES));
+		documento.add(new LongPoint(USUARIO, lancamento.getUsuario().getId()));
+		documento.add(new StoredField(USUARIO, lancamento.getUsuario().getId()));
+		documento.add(new TextField(DESCRICAO, lancamento.getDescricao(), Field.Store.YES));
+		documento.add(new StoredField("mes", lancamento.getMes()));
+		documento.add(new StoredField(ANO, lancamento.getAno()));
+		documento.add(new StoredField("valor", lancamento.getValor().toPlainString()));
+		if (lancamento.getDataCadastro() != null) {
+			documento.add(new StoredField("dataCadastro", lancamento.getDataCadastro().toString()));
+		}
+		if (lancamento.getTipo() != null) {
+			documento.add(new StoredField("tipo", lancamento.getTipo().name()));
+		}
+		if (lancamento.getStatus() != null) {
+			documento.add(new StoredField("status", lancamento.getStatus().name()));
+		}
+		return documento;
+	}
+
+	private LancamentoResumo resumo(Document documento) {
+		String dataCadastro = documento.get("dataCadastro");
+		String tipo = documento.get("tipo");
+		String status = documento.get("status");
+		return LancamentoResumo.builder().id(Long.valueOf(documento.get(ID)))
+				.descricao(documento.get(DESCRICAO))
+				.mes(documento.getField("mes").numericValue().intValue())
+				.ano(documento.getField(ANO).numericValue().intValue())
+				.valor(new BigDecimal(documento.get("valor")))
+				.dataCadastro(dataCadastro == null ? null : LocalDate.parse(dataCadastro))
+				.tipo(tipo == null ? null : TipoLancamento.valueOf(tipo))
+				.status(status == null ? null : StatusLancamento.valueOf(status))
+				.usuarioId(documento.getField(USUARIO).numericValue().longValue()).build();
+	}
+
+	/**
+	 * Alteracoes confirmadas durante uma reconstrucao, reaplicadas sobre os documentos que ela regravou.
+	 */
+	private static final class Reconstrucao {
+
+		private final Map<Long, Document> alterados = new LinkedHashMap<>();
+	}
+
+	private class Alteracoes extends TransactionSynchronizationAdapter {
+
+		private final Map<Long, Document> porId = new LinkedHashMap<>();
+
+		@Override
+		public void afterCommit() {
+			aplicar(porId);
+		}
+
+		@Override
+		public void afterCompletion(int status) {
+			TransactionSynchronizationManager.unbindResourceIfPossible(PesquisaLancamentoServiceImpl.this);
+		}
+	}
+
+	/**
+	 * Separa as palavras, passa para minusculas e remove acentos: "Salário" e "salario" geram o mesmo termo.
+	 */
+	static final class AnalisadorDescricao extends Analyzer {
+
+		@Override
+		protected TokenStreamComponents createComponents(String campo) {
+			Tokenizer tokenizer = new StandardTokenizer();
+			return new TokenStreamComponents(tokenizer, new ASCIIFoldingFilter(new LowerCaseFilter(tokenizer)));
+		}
+
+		@Override
+		protected TokenStream normalize(String campo, TokenStream entrada) {
+			return new ASCIIFoldingFilter(new LowerCaseFilter(entrada));
+		}
+	}
+}
@@ -0,0 +1,137 @@
+package com.wesledev.minhasFinancas.service.impl;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.wesledev.minhasFinancas.api.dto.ErroLoteDTO;
+import com.wesledev.minhasFinancas.api.dto.ResultadoLoteDTO;
+import com.wesledev.minhasFinancas.exception.RegraNegocioException;
+import com.wesledev.minhasFinancas.model.entity.Lancamento;
+import com.wesledev.minhasFinancas.model.entity.Recorrencia;
+import com.wesledev.minhasFinancas.model.repository.RecorrenciaRepository;
+import com.wesledev.minhasFinancas.service.LancamentoService;
+import com.wesledev.minhasFinancas.service.RecorrenciaService;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class RecorrenciaServiceImpl implements RecorrenciaService {
+
+	private RecorrenciaRepository repository;
+	private LancamentoService lancamentoService;
+	private int tamanhoLote;
+
+	public RecorrenciaServiceImpl(RecorrenciaRepository repository, LancamentoService lancamentoService,
+			@Value("${financas.recorrencia.tamanho-lote:1000}") int tamanhoLote) {
+		this.repository = repository;
+		this.lancamentoService = lancamentoService;
+		this.tamanhoLote = Math.max(Math.min(tamanhoLote, LancamentoServiceImpl.TAMANHO_LOTE_MAXIMO), 1);
+	}
+
+	@Override
+	@Transactional
+	public Recorrencia salvar(Recorrencia recorrencia) {
+		if (recorrencia.getDia() == null && recorrencia.getProximaOcorrencia() != null) {
+			recorrencia.setDia(recorrencia.getProximaOcorrencia().getDayOfMonth());
+		}
+		validar(recorrencia);
+		return repository.save(recorrencia);
+	}
+
+	@Override
+	@Transactional
+	public void deletar(Recorrencia recorrencia) {
+		Objects.requireNonNull(recorrencia.getId());
+		repository.delete(recorrencia);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<Recorrencia> buscarPorUsuario(Long idUsuario) {
+		return repository.buscarPorUsuario(idUsuario);
+	}
+
+	@Override
+	@Transactional
+	public Optional<Recorrencia> obterPorId(Long id) {
+		return repository.findById(id);
+	}
+
+	@Override
+	public void validar(Recorrencia recorrencia) {
+		if (recorrencia.getDescricao() == null || recorrencia.getDescricao().trim().equals("")) {
+			throw new RegraNegocioException("Informe uma Descrição válida.");
+		}
+		if (recorrencia.getUsuario() == null || recorrencia.getUsuario().getId() == null) {
+			throw new RegraNegocioException("Informe um Usuário.");
+		}
+		if (recorrencia.getValor() == null || recorrencia.getValor().compareTo(BigDecimal.ZERO) < 1) {
+			throw new RegraNegocioException("Informe um Valor válido.");
+		}
+		if (recorrencia.getTipo() == null) {
+			throw new RegraNegocioException("Infome um Tipo de Lançamento.");
+		}
+		if (recorrencia.getProximaOcorrencia() == null) {
+			throw new RegraNegocioException("Informe a data da próxima ocorrência.");
+		}
+		if (recorrencia.getDia() == null || recorrencia.getDia() < 1 || recorrencia.getDia() > 31) {
+			throw new RegraNegocioException("Informe um Dia válido.");
+		}
+		if (recorrencia.getDataFinal() != null
+				&& recorrencia.getDataFinal().isBefore(recorrencia.getProximaOcorrencia())) {
+			throw new RegraNegocioException("A data final não pode ser anterior à próxima ocorrência.");
+		}
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public long obterMaiorIdUsuario() {
+		return repository.obterMaiorIdUsuario();
+	}
+
+	@Override
+	@Transactional
+	public int gerarOcorrencias(Long usuarioInicial, Long usuarioFinal, LocalDate data) {
+		List<Recorrencia> vencidas = repository.bloquearVencidas(usuarioInicial, usuarioFinal, data,
+				PageRequest.of(0, tamanhoLote));
+		if (vencidas.isEmpty()) {
+			return 0;
+		}
+
+		// o usuario de cada lancamento e o proxy da recorrencia: so o id e lido, sem consulta por usuario
+		List<Lancamento> lancamentos = new ArrayList<>(vencidas.size());
+		for (Recorrencia recorrencia : vencidas) {
+			LocalDate ocorrencia = recorrencia.getProximaOcorrencia();
+			lancamentos.add(Lancamento.builder().descricao(recorrencia.getDescricao()).mes(ocorrencia.getMonthValue())
+					.ano(ocorrencia.getYear()).valor(recorrencia.getValor()).tipo(recorrencia.getTipo())
+					.usuario(recorrencia.getUsuario()).dataCadastro(ocorrencia).build());
+			recorrencia.setProximaOcorrencia(avancar(recorrencia));
+		}
+
+		ResultadoLoteDTO resultado = lancamentoService.salvarEmLote(lancamentos);
+		for (ErroLoteDTO erro : resultado.getErros()) {
+			log.warn("Ocorrência da recorrência {} descartada: {}", vencidas.get(erro.getIndice()).getId(),
+					erro.getMensagem());
+		}
+		return vencidas.size();
+	}
+
+	private LocalDate avancar(Recorrencia recorrencia) {
+		LocalDate mesSeguinte = recorrencia.getProximaOcorrencia().plusMonths(1);
+		LocalDate proxima = mesSeguinte.withDayOfMonth(Math.min(recorrencia.getDia(), mesSeguinte.lengthOfMonth()));
+		if (recorrencia.getDataFinal() != null && proxima.isAfter(recorrencia.getDataFinal())) {
+			return null;
+		}
+		return proxima;
+	}
+}
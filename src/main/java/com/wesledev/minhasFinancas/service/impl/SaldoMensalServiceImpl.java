@@ -0,0 +1,174 @@
+package com.wesledev.minhasFinancas.service.impl;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.wesledev.minhasFinancas.api.dto.RelatorioAnualDTO;
+import com.wesledev.minhasFinancas.api.dto.RelatorioMensalDTO;
+import com.wesledev.minhasFinancas.model.entity.Lancamento;
+import com.wesledev.minhasFinancas.model.entity.SaldoMensal;
+import com.wesledev.minhasFinancas.model.entity.SaldoMensalId;
+import com.wesledev.minhasFinancas.model.projection.SaldoUsuario;
+import com.wesledev.minhasFinancas.model.repository.LancamentoArquivadoRepository;
+import com.wesledev.minhasFinancas.model.repository.SaldoMensalRepository;
+import com.wesledev.minhasFinancas.service.SaldoMensalService;
+
+@Service
+public class SaldoMensalServiceImpl implements SaldoMensalService {
+
+	private SaldoMensalRepository repository;
+	private LancamentoArquivadoRepository arquivoRepository;
+	private SaldoUsuarioCache cache;
+	private VersaoLancamentos versoes;
+
+	public SaldoMensalServiceImpl(SaldoMensalRepository repository, LancamentoArquivadoRepository arquivoRepository,
+			SaldoUsuarioCache cache, VersaoLancamentos versoes) {
+		this.repository = repository;
+		this.arquivoRepository = arquivoRepository;
+		this.cache = cache;
+		this.versoes = versoes;
+	}
+
+	@Override
+	@Transactional
+	public void adicionar(Lancamento lancamento) {
+		if (contabilizavel(lancamento)) {
+			aplicar(SaldoMensalId.of(lancamento), lancamento.getValor(), 1l);
+		}
+	}
+
+	@Override
+	@Transactional
+	public void adicionarTodos(List<Lancamento> lancamentos) {
+		aplicarTodos(agrupar(lancamentos, false));
+	}
+
+	@Override
+	@Transactional
+	public void removerTodos(List<Lancamento> lancamentos) {
+		aplicarTodos(agrupar(lancamentos, true));
+	}
+
+	@Override
+	@Transactional
+	public void remover(Lancamento lancamento) {
+		if (contabilizavel(lancamento)) {
+			aplicar(SaldoMensalId.of(lancamento), lancamento.getValor().negate(), -1l);
+		}
+	}
+
+	/**
+	 * Lido do primário: o valor fica em cache até a próxima escrita e uma réplica atrasada o deixaria desatualizado.
+	 */
+	@Override
+	@Transactional
+	public SaldoUsuario obterSaldoPorUsuario(Long idUsuario) {
+		return cache.obter(idUsuario, () -> repository.obterSaldoPorUsuario(idUsuario));
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public RelatorioAnualDTO obterRelatorioAnual(Long idUsuario, Integer ano) {
+		RelatorioAnualDTO relatorio = new RelatorioAnualDTO(ano);
+		for (SaldoMensal saldo : repository.obterPorUsuarioEAno(idUsuario, ano)) {
+			SaldoMensalId id = saldo.getId();
+			RelatorioMensalDTO mes = relatorio.getMeses().get(id.getMes() - 1);
+			mes.getTotal().somar(id.getTipo(), saldo.getValor(), saldo.getQuantidade());
+			mes.getPorStatus().get(id.getStatus()).somar(id.getTipo(), saldo.getValor(), saldo.getQuantidade());
+			relatorio.getTotal().somar(id.getTipo(), saldo.getValor(), saldo.getQuantidade());
+		}
+		return relatorio;
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<SaldoMensal> verificar() {
+		return comparar(repository.findAll(), Stream.concat(repository.calcularAPartirDosLancamentos().stream(),
+				arquivoRepository.calcularSaldos().stream()));
+	}
+
+	/**
+	 * Recalcula e corrige o resumo do usuário com a linha dele travada (ver {@link VersaoLancamentos#registrar(Long)}).
+	 */
+	@Override
+	@Transactional
+	public List<SaldoMensal> corrigir(Long idUsuario) {
+		versoes.registrar(idUsuario);
+		List<SaldoMensal> divergencias = comparar(repository.obterPorUsuario(idUsuario),
+				Stream.concat(repository.calcularAPartirDosLancamentos(idUsuario).stream(),
+						arquivoRepository.calcularSaldos(idUsuario).stream()));
+		aplicarTodos(divergencias);
+		return divergencias;
+	}
+
+	private List<SaldoMensal> comparar(List<SaldoMensal> resumo, Stream<SaldoMensal> calculados) {
+		Map<SaldoMensalId, SaldoMensal> registrados = resumo.stream()
+				.collect(Collectors.toMap(SaldoMensal::getId, Function.identity()));
+
+		// os lançamentos arquivados continuam no saldo, e um ano pode ter parte em cada tabela até o próximo arquivamento
+		Map<SaldoMensalId, SaldoMensal> esperados = new LinkedHashMap<>();
+		calculados.forEach(saldo -> esperados.merge(saldo.getId(), saldo, (atual, arquivado) -> new SaldoMensal(
+				atual.getId(), atual.getValor().add(arquivado.getValor()),
+				atual.getQuantidade() + arquivado.getQuantidade())));
+
+		List<SaldoMensal> divergencias = new ArrayList<>();
+		for (SaldoMensal esperado : esperados.values()) {
+			SaldoMensal registrado = registrados.remove(esperado.getId());
+			BigDecimal valor = registrado == null ? BigDecimal.ZERO : registrado.getValor();
+			long quantidade = registrado == null ? 0 : registrado.getQuantidade();
+
+			if (esperado.getValor().compareTo(valor) != 0 || esperado.getQuantidade() != quantidade) {
+				divergencias.add(new SaldoMensal(esperado.getId(), esperado.getValor().subtract(valor),
+						esperado.getQuantidade() - quantidade));
+			}
+		}
+
+		// o que sobrou no resumo não tem mais lançamentos correspondentes
+		for (SaldoMensal registrado : registrados.values()) {
+			if (registrado.getValor().signum() != 0 || registrado.getQuantidade() != 0) {
+				divergencias.add(new SaldoMensal(registrado.getId(), registrado.getValor().negate(),
+						-registrado.getQuantidade()));
+			}
+		}
+
+		return divergencias;
+	}
+
+	private void aplicarTodos(List<SaldoMensal> deltas) {
+		deltas.forEach(delta -> aplicar(delta.getId(), delta.getValor(), delta.getQuantidade()));
+	}
+
+	private List<SaldoMensal> agrupar(List<Lancamento> lancamentos, boolean remover) {
+		// agrupa por chave para fazer um único upsert por mês/tipo/status em vez de um por lançamento
+		Map<SaldoMensalId, SaldoMensal> deltas = new LinkedHashMap<>();
+		long quantidade = remover ? -1 : 1;
+		lancamentos.stream().filter(this::contabilizavel).forEach(lancamento -> deltas.merge(
+				SaldoMensalId.of(lancamento), new SaldoMensal(SaldoMensalId.of(lancamento),
+						remover ? lancamento.getValor().negate() : lancamento.getValor(), quantidade),
+				(atual, novo) -> new SaldoMensal(atual.getId(), atual.getValor().add(novo.getValor()),
+						atual.getQuantidade() + quantidade)));
+
+		return new ArrayList<>(deltas.values());
+	}
+
+	private boolean contabilizavel(Lancamento lancamento) {
+		return lancamento != null && lancamento.getUsuario() != null && lancamento.getUsuario().getId() != null
+				&& lancamento.getAno() != null && lancamento.getMes() != null && lancamento.getTipo() != null
+				&& lancamento.getStatus() != null && lancamento.getValor() != null;
+	}
+
+	private void aplicar(SaldoMensalId id, BigDecimal valor, Long quantidade) {
+		repository.somar(id, valor, quantidade);
+		cache.registrar(id.getUsuarioId());
+	}
+
+}
@@ -0,0 +1,113 @@
+package com.wesledev.minhasFinancas.service.impl;
+
+import java.math.BigDecimal;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.wesledev.minhasFinancas.model.projection.SaldoUsuario;
+
+/**
+ * Saldo por usuário em memória, válido enquanto a versão dos lançamentos ({@link VersaoLancamentos}) não muda.
+ */
+@Component
+public class SaldoUsuarioCache {
+
+	private final Cache<Long, Entrada> saldos;
+	private final VersaoLancamentos versoes;
+
+	public SaldoUsuarioCache(
+			@Value("${financas.saldo-usuario.cache.spec:maximumSize=100000,expireAfterWrite=30m}") String spec,
+			VersaoLancamentos versoes) {
+		this.saldos = Caffeine.from(spec).build();
+		this.versoes = versoes;
+	}
+
+	public SaldoUsuario obter(Long idUsuario, Supplier<SaldoUsuario> carregar) {
+		if (TransactionSynchronizationManager.hasResource(this)) {
+			return carregar.get();
+		}
+
+		String versao = versoes.obter(idUsuario);
+		Entrada entrada = saldos.getIfPresent(idUsuario);
+		if (entrada != null && entrada.versao.equals(versao)) {
+			return entrada.saldo;
+		}
+
+		SaldoUsuario carregado = carregar.get();
+		if (versao != null && carregado.isUsuarioExistente()) {
+			saldos.put(idUsuario, new Entrada(versao, new Saldo(carregado.getReceitas(), carregado.getDespesas())));
+		}
+		return carregado;
+	}
+
+	/**
+	 * Marca a transação corrente como escrita no saldo do usuário, para que ela não popule o cache.
+	 */
+	public void registrar(Long idUsuario) {
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			invalidar(idUsuario);
+			return;
+		}
+
+		if (!TransactionSynchronizationManager.hasResource(this)) {
+			TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+				@Override
+				public void afterCompletion(int status) {
+					TransactionSynchronizationManager.unbindResourceIfPossible(SaldoUsuarioCache.this);
+				}
+			});
+		}
+	}
+
+	public void invalidar(Long idUsuario) {
+		saldos.invalidate(idUsuario);
+	}
+
+	public void limpar() {
+		saldos.invalidateAll();
+	}
+
+	private static final class Entrada {
+
+		private final String versao;
+		private final SaldoUsuario saldo;
+
+		Entrada(String versao, SaldoUsuario saldo) {
+			this.versao = versao;
+			this.saldo = saldo;
+		}
+	}
+
+	private static final class Saldo implements SaldoUsuario {
+
+		private final BigDecimal receitas;
+		private final BigDecimal despesas;
+
+		Saldo(BigDecimal receitas, BigDecimal despesas) {
+			this.receitas = receitas == null ? BigDecimal.ZERO : receitas;
+			this.despesas = despesas == null ? BigDecimal.ZERO : despesas;
+		}
+
+		@Override
+		public Long getUsuarios() {
+			return 1l;
+		}
+
+		@Override
+		public BigDecimal getReceitas() {
+			return receitas;
+		}
+
+		@Override
+		public BigDecimal getDespesas() {
+			return despesas;
+		}
+	}
+}
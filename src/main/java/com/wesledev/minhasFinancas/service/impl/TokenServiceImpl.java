@@ -0,0 +1,99 @@
+package com.wesledev.minhasFinancas.service.impl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.wesledev.minhasFinancas.model.entity.Usuario;
+import com.wesledev.minhasFinancas.service.TokenService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Token no formato base64url("idUsuario:expiracao") + "." + base64url(HMAC-SHA256), validado sem acesso ao banco.
+ * O Mac nao e thread-safe e custa caro para criar, entao cada thread mantem o seu ja inicializado com a chave.
+ */
+@Slf4j
+@Service
+public class TokenServiceImpl implements TokenService {
+
+	private static final String ALGORITMO = "HmacSHA256";
+
+	private final SecretKeySpec chave;
+	private final Duration validade;
+	private final ThreadLocal<Mac> macs = ThreadLocal.withInitial(this::criarMac);
+
+	public TokenServiceImpl(@Value("${financas.token.segredo:}") String segredo,
+			@Value("${financas.token.validade:12h}") Duration validade,
+			@Value("${financas.token.segredo-obrigatorio:false}") boolean segredoObrigatorio) {
+		byte[] bytes;
+		if (segredo.isEmpty() && segredoObrigatorio) {
+			throw new IllegalStateException("financas.token.segredo é obrigatório; informe FINANCAS_TOKEN_SEGREDO.");
+		} else if (segredo.isEmpty()) {
+			bytes = new byte[32];
+			new SecureRandom().nextBytes(bytes);
+			log.warn("financas.token.segredo não configurado; os tokens emitidos deixam de valer ao reiniciar.");
+		} else {
+			bytes = Base64.getDecoder().decode(segredo);
+		}
+		this.chave = new SecretKeySpec(bytes, ALGORITMO);
+		this.validade = validade;
+	}
+
+	@Override
+	public String gerar(Usuario usuario) {
+		String conteudo = usuario.getId() + ":" + Instant.now().plus(validade).getEpochSecond();
+		String payload = Base64.getUrlEncoder().withoutPadding()
+				.encodeToString(conteudo.getBytes(StandardCharsets.UTF_8));
+		return payload + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(assinar(payload));
+	}
+
+	@Override
+	public Optional<Long> validar(String token) {
+		int ponto = token == null ? -1 : token.indexOf('.');
+		if (ponto < 0) {
+			return Optional.empty();
+		}
+
+		String payload = token.substring(0, ponto);
+		try {
+			byte[] assinatura = Base64.getUrlDecoder().decode(token.substring(ponto + 1));
+			if (!MessageDigest.isEqual(assinar(payload), assinatura)) {
+				return Optional.empty();
+			}
+
+			String[] partes = new String(Base64.getUrlDecoder().decode(payload), StandardCharsets.UTF_8).split(":");
+			if (Long.parseLong(partes[1]) < Instant.now().getEpochSecond()) {
+				return Optional.empty();
+			}
+			return Optional.of(Long.valueOf(partes[0]));
+		} catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+			return Optional.empty();
+		}
+	}
+
+	private byte[] assinar(String payload) {
+		return macs.get().doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+	}
+
+	private Mac criarMac() {
+		try {
+			Mac mac = Mac.getInstance(ALGORITMO);
+			mac.init(chave);
+			return mac;
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -1,11 +1,17 @@
 package com.wesledev.minhasFinancas.service.impl;
 
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.wesledev.minhasFinancas.config.AutenticacaoConfig;
 import com.wesledev.minhasFinancas.exception.ErrorAutenticacao;
 import com.wesledev.minhasFinancas.exception.RegraNegocioException;
 import com.wesledev.minhasFinancas.model.entity.Usuario;
@@ -15,12 +21,22 @@ import com.wesledev.minhasFinancas.service.UsuarioService;
 @Service
 public class UsuarioServiceImpl implements UsuarioService {
 
+	private static final String PREFIXO_CODIFICACAO = "{" + AutenticacaoConfig.ID_CODIFICACAO + "}";
+
 	@Autowired
 	private UsuarioRepository repository;
 
-	public UsuarioServiceImpl(UsuarioRepository repository) {
+	private PasswordEncoder passwordEncoder;
+	private Executor executor;
+	private int custo;
+
+	public UsuarioServiceImpl(UsuarioRepository repository, PasswordEncoder passwordEncoder,
+			@Qualifier(AutenticacaoConfig.EXECUTOR) Executor executor, @Value("${financas.senha.custo:10}") int custo) {
 		super();
 		this.repository = repository;
+		this.passwordEncoder = passwordEncoder;
+		this.executor = executor;
+		this.custo = custo;
 	}
 
 	@Override
@@ -31,18 +47,28 @@ public class UsuarioServiceImpl implements UsuarioService {
 			throw new ErrorAutenticacao("Usuario não encontrado para o email informado.");
 		}
 
-		if (!usuario.get().getSenha().equals(senha)) {
+		if (!passwordEncoder.matches(senha, usuario.get().getSenha())) {
 			throw new ErrorAutenticacao("Senha inválida.");
 		}
 
+		if (precisaRecodificar(usuario.get().getSenha())) {
+			// grava uma copia: a instancia veio do cache usuariosPorEmail e e compartilhada entre as requisicoes
+			return repository.save(usuario.get().toBuilder().senha(passwordEncoder.encode(senha)).build());
+		}
+
 		return usuario.get();
 	}
 
+	@Override
+	public CompletableFuture<Usuario> autenticarAsync(String email, String senha) {
+		return CompletableFuture.supplyAsync(() -> autenticar(email, senha), executor);
+	}
+
 	@Override
 	@Transactional
 	public Usuario salvarUsuario(Usuario usuario) {
 		validarEmail(usuario.getEmail());
-		return repository.save(usuario);
+		return repository.save(usuario.toBuilder().senha(passwordEncoder.encode(usuario.getSenha())).build());
 	}
 
 	@Override
@@ -55,8 +81,18 @@ public class UsuarioServiceImpl implements UsuarioService {
 	}
 
 	@Override
+	@Transactional
 	public Optional<Usuario> obterPorId(Long id) {
 		return repository.findById(id);
 	}
 
+	private boolean precisaRecodificar(String senhaCodificada) {
+		// senhas legadas em texto puro ou codificadas com um custo diferente do configurado
+		if (!senhaCodificada.startsWith(PREFIXO_CODIFICACAO)) {
+			return true;
+		}
+		String hash = senhaCodificada.substring(PREFIXO_CODIFICACAO.length());
+		return hash.length() < 7 || !hash.substring(4, 6).equals(String.format("%02d", custo));
+	}
+
 }
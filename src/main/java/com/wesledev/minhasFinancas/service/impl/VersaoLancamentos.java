@@ -0,0 +1,63 @@
+package com.wesledev.minhasFinancas.service.impl;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Versão dos lançamentos de cada usuário, gravada em financas.usuario e usada como ETag das consultas.
+ */
+@Component
+public class VersaoLancamentos {
+
+	private final JdbcTemplate jdbcTemplate;
+
+	public VersaoLancamentos(JdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	/**
+	 * Versão atual dos lançamentos do usuário, ou null se o usuário não existe.
+	 */
+	public String obter(Long idUsuario) {
+		List<Long> versao = jdbcTemplate.queryForList(
+				"select versao_lancamentos from financas.usuario where id = ?", Long.class, idUsuario);
+		return versao.isEmpty() ? null : idUsuario + "-" + Long.toString(versao.get(0), Character.MAX_RADIX);
+	}
+
+	/**
+	 * Versão atual dos lançamentos de cada usuário da faixa, por id do usuário.
+	 */
+	public Map<Long, Long> obterDaFaixa(Long idInicial, Long idFinal) {
+		Map<Long, Long> versoes = new HashMap<>();
+		jdbcTemplate.query("select id, versao_lancamentos from financas.usuario where id between ? and ?",
+				resultado -> {
+					versoes.put(resultado.getLong(1), resultado.getLong(2));
+				}, idInicial, idFinal);
+		return versoes;
+	}
+
+	public long obterMaiorIdUsuario() {
+		return jdbcTemplate.queryForObject("select coalesce(max(id), 0) from financas.usuario", Long.class);
+	}
+
+	/**
+	 * Avança a versão e trava a linha do usuário até o commit; toda escrita de lançamentos chama este método primeiro.
+	 */
+	public void registrar(Long idUsuario) {
+		jdbcTemplate.update("update financas.usuario set versao_lancamentos = versao_lancamentos + 1 where id = ?",
+				idUsuario);
+	}
+
+	/**
+	 * Como {@link #registrar(Long)}, para os usuários da faixa com lançamentos no ano.
+	 */
+	public void registrarDoAno(Integer ano, Long idInicial, Long idFinal) {
+		jdbcTemplate.update("update financas.usuario set versao_lancamentos = versao_lancamentos + 1 "
+				+ "where id between ? and ? and id in (select id_usuario from financas.lancamento "
+				+ "where ano = ? and id_usuario between ? and ?)", idInicial, idFinal, ano, idInicial, idFinal);
+	}
+}
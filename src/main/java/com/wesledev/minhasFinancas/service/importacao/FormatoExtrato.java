@@ -0,0 +1,39 @@
+package com.wesledev.minhasFinancas.service.importacao;
+
+import java.io.Reader;
+
+import com.wesledev.minhasFinancas.exception.RegraNegocioException;
+
+public enum FormatoExtrato {
+
+	CSV {
+		@Override
+		public LeitorExtrato criarLeitor(Reader conteudo) {
+			return new LeitorExtratoCsv(conteudo);
+		}
+	},
+	OFX {
+		@Override
+		public LeitorExtrato criarLeitor(Reader conteudo) {
+			return new LeitorExtratoOfx(conteudo);
+		}
+	};
+
+	public abstract LeitorExtrato criarLeitor(Reader conteudo);
+
+	public static FormatoExtrato deNome(String nome) {
+		for (FormatoExtrato formato : values()) {
+			if (formato.name().equalsIgnoreCase(nome)) {
+				return formato;
+			}
+		}
+		throw new RegraNegocioException("Formato de extrato não suportado.");
+	}
+
+	public static FormatoExtrato deArquivo(String nomeArquivo) {
+		if (nomeArquivo == null || nomeArquivo.lastIndexOf('.') < 0) {
+			throw new RegraNegocioException("Informe o formato do extrato.");
+		}
+		return deNome(nomeArquivo.substring(nomeArquivo.lastIndexOf('.') + 1));
+	}
+}
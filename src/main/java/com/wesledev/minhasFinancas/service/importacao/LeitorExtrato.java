@@ -0,0 +1,19 @@
+package com.wesledev.minhasFinancas.service.importacao;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Le as transacoes de um extrato uma a uma, sem carregar o arquivo inteiro em memoria.
+ */
+public interface LeitorExtrato extends Closeable {
+
+	/**
+	 * @return a proxima transacao do extrato ou {@code null} ao final do arquivo
+	 * @throws com.wesledev.minhasFinancas.exception.RegraNegocioException quando a transacao lida e invalida; a
+	 *                                                                     leitura pode continuar na chamada seguinte
+	 */
+	TransacaoExtrato proxima() throws IOException;
+
+	long getLinha();
+}
@@ -0,0 +1,142 @@
+package com.wesledev.minhasFinancas.service.importacao;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.wesledev.minhasFinancas.exception.RegraNegocioException;
+
+/**
+ * Extrato em CSV com as colunas data, descricao e valor. O separador (';' ou ',') e detectado na primeira linha,
+ * que tambem pode ser um cabecalho nomeando as colunas em qualquer ordem. Campos entre aspas nao podem conter quebra
+ * de linha.
+ */
+public class LeitorExtratoCsv implements LeitorExtrato {
+
+	private static final DateTimeFormatter DATA_BR = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+	private final BufferedReader reader;
+	private long linha;
+	private char separador;
+	private int colunaData = 0;
+	private int colunaDescricao = 1;
+	private int colunaValor = 2;
+
+	public LeitorExtratoCsv(Reader conteudo) {
+		this.reader = new BufferedReader(conteudo);
+	}
+
+	@Override
+	public TransacaoExtrato proxima() throws IOException {
+		String texto;
+		while ((texto = reader.readLine()) != null) {
+			linha++;
+			if (texto.trim().isEmpty()) {
+				continue;
+			}
+			if (separador == 0) {
+				separador = texto.indexOf(';') >= 0 ? ';' : ',';
+				if (lerCabecalho(dividir(texto))) {
+					continue;
+				}
+			}
+			return converter(dividir(texto));
+		}
+		return null;
+	}
+
+	@Override
+	public long getLinha() {
+		return linha;
+	}
+
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+
+	private boolean lerCabecalho(List<String> campos) {
+		int data = -1, descricao = -1, valor = -1;
+		for (int i = 0; i < campos.size(); i++) {
+			String nome = Normalizer.normalize(campos.get(i).trim().toLowerCase(), Normalizer.Form.NFD)
+					.replaceAll("\\p{M}", "");
+			if (nome.equals("data")) {
+				data = i;
+			} else if (nome.equals("descricao") || nome.equals("historico")) {
+				descricao = i;
+			} else if (nome.equals("valor")) {
+				valor = i;
+			}
+		}
+		if (data < 0 || descricao < 0 || valor < 0) {
+			return false;
+		}
+		colunaData = data;
+		colunaDescricao = descricao;
+		colunaValor = valor;
+		return true;
+	}
+
+	private TransacaoExtrato converter(List<String> campos) {
+		if (campos.size() <= Math.max(colunaData, Math.max(colunaDescricao, colunaValor))) {
+			throw new RegraNegocioException("Linha " + linha + " com colunas insuficientes.");
+		}
+		return new TransacaoExtrato(linha, converterData(campos.get(colunaData).trim()),
+				converterValor(campos.get(colunaValor).trim()), campos.get(colunaDescricao).trim());
+	}
+
+	private LocalDate converterData(String data) {
+		try {
+			return data.indexOf('/') >= 0 ? LocalDate.parse(data, DATA_BR) : LocalDate.parse(data);
+		} catch (DateTimeParseException e) {
+			throw new RegraNegocioException("Data inválida na linha " + linha + ".");
+		}
+	}
+
+	private BigDecimal converterValor(String valor) {
+		String numero = valor.replace("R$", "").replace(" ", "");
+		int virgula = numero.lastIndexOf(',');
+		if (virgula > numero.lastIndexOf('.')) {
+			// formato brasileiro: 1.234,56
+			numero = numero.replace(".", "").replace(',', '.');
+		} else {
+			numero = numero.replace(",", "");
+		}
+		try {
+			return new BigDecimal(numero);
+		} catch (NumberFormatException e) {
+			throw new RegraNegocioException("Valor inválido na linha " + linha + ".");
+		}
+	}
+
+	private List<String> dividir(String texto) {
+		List<String> campos = new ArrayList<>();
+		StringBuilder campo = new StringBuilder();
+		boolean entreAspas = false;
+		for (int i = 0; i < texto.length(); i++) {
+			char c = texto.charAt(i);
+			if (c == '"') {
+				if (entreAspas && i + 1 < texto.length() && texto.charAt(i + 1) == '"') {
+					campo.append('"');
+					i++;
+				} else {
+					entreAspas = !entreAspas;
+				}
+			} else if (c == separador && !entreAspas) {
+				campos.add(campo.toString());
+				campo.setLength(0);
+			} else {
+				campo.append(c);
+			}
+		}
+		campos.add(campo.toString());
+		return campos;
+	}
+}
@@ -0,0 +1,144 @@
+package com.wesledev.minhasFinancas.service.importacao;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+import com.wesledev.minhasFinancas.exception.RegraNegocioException;
+
+/**
+ * Extrato em OFX, tanto 1.x (SGML, sem fechamento das tags de valor) quanto 2.x (XML). Le apenas as tags dos blocos
+ * STMTTRN, caractere a caractere, sem montar a arvore do documento.
+ */
+public class LeitorExtratoOfx implements LeitorExtrato {
+
+	private static final int TAMANHO_MAXIMO_TAG = 64;
+	private static final int TAMANHO_MAXIMO_TEXTO = 1024;
+	private static final int NENHUM = -2;
+
+	private final BufferedReader reader;
+	private long linha = 1;
+	private int proximo = NENHUM;
+
+	public LeitorExtratoOfx(Reader conteudo) {
+		this.reader = new BufferedReader(conteudo);
+	}
+
+	@Override
+	public TransacaoExtrato proxima() throws IOException {
+		String tag;
+		while ((tag = proximaTag()) != null) {
+			if (tag.equals("STMTTRN")) {
+				return lerTransacao();
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public long getLinha() {
+		return linha;
+	}
+
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+
+	private TransacaoExtrato lerTransacao() throws IOException {
+		long inicio = linha;
+		String data = null, valor = null, nome = null, memo = null;
+		String tag;
+		while ((tag = proximaTag()) != null && !tag.equals("/STMTTRN")) {
+			switch (tag) {
+			case "DTPOSTED":
+				data = lerTexto();
+				break;
+			case "TRNAMT":
+				valor = lerTexto();
+				break;
+			case "NAME":
+				nome = lerTexto();
+				break;
+			case "MEMO":
+				memo = lerTexto();
+				break;
+			default:
+				break;
+			}
+		}
+		if (data == null || valor == null) {
+			throw new RegraNegocioException("Transação sem data ou valor na linha " + inicio + ".");
+		}
+		String descricao = memo != null && !memo.isEmpty() ? memo : nome;
+		return new TransacaoExtrato(inicio, converterData(data, inicio), converterValor(valor, inicio),
+				descricao == null ? "" : descricao);
+	}
+
+	private LocalDate converterData(String data, long inicio) {
+		// YYYYMMDD[HHMMSS[.XXX]][[gmt offset:tz name]]
+		try {
+			return LocalDate.parse(data.length() > 8 ? data.substring(0, 8) : data, DateTimeFormatter.BASIC_ISO_DATE);
+		} catch (DateTimeParseException e) {
+			throw new RegraNegocioException("Data inválida na linha " + inicio + ".");
+		}
+	}
+
+	private BigDecimal converterValor(String valor, long inicio) {
+		try {
+			return new BigDecimal(valor.replace(',', '.'));
+		} catch (NumberFormatException e) {
+			throw new RegraNegocioException("Valor inválido na linha " + inicio + ".");
+		}
+	}
+
+	/**
+	 * @return o nome da proxima tag em maiusculas (com '/' quando de fechamento) ou {@code null} ao final do arquivo
+	 */
+	private String proximaTag() throws IOException {
+		int c;
+		while ((c = ler()) != -1 && c != '<') {
+			// ignora o cabecalho e os valores de tags que nao interessam
+		}
+		if (c == -1) {
+			return null;
+		}
+		StringBuilder tag = new StringBuilder();
+		while ((c = ler()) != -1 && c != '>') {
+			if (tag.length() < TAMANHO_MAXIMO_TAG) {
+				tag.append((char) c);
+			}
+		}
+		return tag.toString().trim().toUpperCase();
+	}
+
+	private String lerTexto() throws IOException {
+		StringBuilder texto = new StringBuilder();
+		int c;
+		while ((c = ler()) != -1 && c != '<') {
+			if (texto.length() < TAMANHO_MAXIMO_TEXTO) {
+				texto.append((char) c);
+			}
+		}
+		proximo = c;
+		return texto.toString().trim().replace("&lt;", "<").replace("&gt;", ">").replace("&amp;", "&");
+	}
+
+	private int ler() throws IOException {
+		int c;
+		if (proximo != NENHUM) {
+			c = proximo;
+			proximo = NENHUM;
+			return c;
+		}
+		c = reader.read();
+		if (c == '\n') {
+			linha++;
+		}
+		return c;
+	}
+}
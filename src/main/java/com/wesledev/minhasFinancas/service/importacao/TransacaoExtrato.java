@@ -0,0 +1,17 @@
+package com.wesledev.minhasFinancas.service.importacao;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TransacaoExtrato {
+
+	private long linha;
+	private LocalDate data;
+	private BigDecimal valor;
+	private String descricao;
+}
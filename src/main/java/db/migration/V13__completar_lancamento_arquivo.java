@@ -0,0 +1,48 @@
+package db.migration;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * Leva descricao_busca e versao para o arquivo, que passa a ser consultado junto com financas.lancamento.
+ */
+public class V13__completar_lancamento_arquivo extends BaseJavaMigration {
+
+	@Override
+	public void migrate(Context context) throws Exception {
+		try (Statement statement = context.getConnection().createStatement()) {
+			statement.execute("alter table financas.lancamento_arquivo add column descricao_busca varchar(100)");
+			statement.execute("alter table financas.lancamento_arquivo add column versao bigint default 0 not null");
+
+			try (ResultSet lancamentos = statement
+					.executeQuery("select id, descricao from financas.lancamento_arquivo");
+					PreparedStatement update = context.getConnection().prepareStatement(
+							"update financas.lancamento_arquivo set descricao_busca = ? where id = ?")) {
+				int pendentes = 0;
+				while (lancamentos.next()) {
+					update.setString(1, V7__criar_descricao_busca.normalizar(lancamentos.getString(2)));
+					update.setLong(2, lancamentos.getLong(1));
+					update.addBatch();
+					if (++pendentes == V7__criar_descricao_busca.LOTE) {
+						update.executeBatch();
+						pendentes = 0;
+					}
+				}
+				if (pendentes > 0) {
+					update.executeBatch();
+				}
+			}
+		}
+
+		boolean postgres = context.getConnection().getMetaData().getDatabaseProductName().toLowerCase()
+				.contains("postgres");
+		try (Statement statement = context.getConnection().createStatement()) {
+			statement.execute("create index idx_lancamento_arquivo_usuario_descricao on financas.lancamento_arquivo "
+					+ (postgres ? "(id_usuario, descricao_busca varchar_pattern_ops)" : "(id_usuario, descricao_busca)"));
+		}
+	}
+}
@@ -0,0 +1,30 @@
+package db.migration;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * Cria a sequencia usada pelo gerador "pooled" do Hibernate. Com incremento 50, cada valor da sequencia reserva o
+ * bloco [valor - 49, valor], por isso ela comeca 50 acima do maior id ja existente.
+ */
+public class V4__criar_sequencia_lancamento extends BaseJavaMigration {
+
+	static final int INCREMENTO = 50;
+
+	@Override
+	public void migrate(Context context) throws Exception {
+		try (Statement statement = context.getConnection().createStatement()) {
+			long maiorId;
+			try (ResultSet resultado = statement.executeQuery("select coalesce(max(id), 0) from financas.lancamento")) {
+				resultado.next();
+				maiorId = resultado.getLong(1);
+			}
+
+			statement.execute("create sequence financas.lancamento_seq start with " + (maiorId + INCREMENTO)
+					+ " increment by " + INCREMENTO);
+		}
+	}
+}
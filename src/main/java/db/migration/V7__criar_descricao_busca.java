@@ -0,0 +1,63 @@
+package db.migration;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.text.Normalizer;
+import java.util.Locale;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * Cria a coluna normalizada usada na busca por prefixo da descricao e o indice (id_usuario, descricao_busca). No
+ * PostgreSQL o indice usa varchar_pattern_ops para atender "like 'x%'" independente da collation do banco.
+ */
+public class V7__criar_descricao_busca extends BaseJavaMigration {
+
+	static final int LOTE = 1000;
+
+	@Override
+	public void migrate(Context context) throws Exception {
+		try (Statement statement = context.getConnection().createStatement()) {
+			statement.execute("alter table financas.lancamento add column descricao_busca varchar(100)");
+
+			// a normalizacao remove acentos, o que nao tem equivalente portavel em SQL
+			try (ResultSet lancamentos = statement.executeQuery("select id, descricao from financas.lancamento");
+					PreparedStatement update = context.getConnection()
+							.prepareStatement("update financas.lancamento set descricao_busca = ? where id = ?")) {
+				int pendentes = 0;
+				while (lancamentos.next()) {
+					update.setString(1, normalizar(lancamentos.getString(2)));
+					update.setLong(2, lancamentos.getLong(1));
+					update.addBatch();
+					if (++pendentes == LOTE) {
+						update.executeBatch();
+						pendentes = 0;
+					}
+				}
+				if (pendentes > 0) {
+					update.executeBatch();
+				}
+			}
+		}
+
+		boolean postgres = context.getConnection().getMetaData().getDatabaseProductName().toLowerCase()
+				.contains("postgres");
+		try (Statement statement = context.getConnection().createStatement()) {
+			statement.execute("create index idx_lancamento_usuario_descricao on financas.lancamento (id_usuario, "
+					+ (postgres ? "descricao_busca varchar_pattern_ops)" : "descricao_busca)"));
+		}
+	}
+
+	/**
+	 * Copia congelada de Lancamento.normalizarDescricao, para a migracao gerar sempre os mesmos dados.
+	 */
+	static String normalizar(String descricao) {
+		if (descricao == null) {
+			return null;
+		}
+		return Normalizer.normalize(descricao, Normalizer.Form.NFD).replaceAll("\\p{M}", "").toLowerCase(Locale.ROOT)
+				.trim();
+	}
+}
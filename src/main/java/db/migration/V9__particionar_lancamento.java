@@ -0,0 +1,83 @@
+package db.migration;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.TreeSet;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * Cria a tabela de arquivo e, no PostgreSQL, recria lancamento particionada por ano; a chave primária e o índice
+ * único do hash passam a incluir o ano, exigência das tabelas particionadas.
+ */
+public class V9__particionar_lancamento extends BaseJavaMigration {
+
+	static final int ANOS_COM_PARTICAO = 30;
+
+	static final String COLUNAS = "id, descricao, descricao_busca, mes, ano, id_usuario, valor, data_cadastro, tipo, "
+			+ "status, hash_importacao, versao";
+
+	@Override
+	public void migrate(Context context) throws Exception {
+		try (Statement statement = context.getConnection().createStatement()) {
+			statement.execute("create table financas.lancamento_arquivo ("
+					+ "id bigint primary key, descricao varchar(100) not null, mes integer not null, "
+					+ "ano integer not null, valor numeric(16, 2) not null, tipo varchar(20), status varchar(20), "
+					+ "id_usuario bigint references financas.usuario (id), data_cadastro date, "
+					+ "hash_importacao varchar(64))");
+			statement.execute("create index idx_lancamento_arquivo_usuario_ano_mes on financas.lancamento_arquivo "
+					+ "(id_usuario, ano, mes)");
+			statement.execute("create index idx_lancamento_arquivo_usuario_hash_importacao on "
+					+ "financas.lancamento_arquivo (id_usuario, hash_importacao)");
+		}
+
+		boolean postgres = context.getConnection().getMetaData().getDatabaseProductName().toLowerCase()
+				.contains("postgres");
+		if (postgres) {
+			particionar(context);
+		}
+	}
+
+	private void particionar(Context context) throws Exception {
+		try (Statement statement = context.getConnection().createStatement()) {
+			statement.execute("alter table financas.lancamento rename to lancamento_legado");
+			statement.execute("create table financas.lancamento ("
+					+ "id bigint not null, descricao varchar(100) not null, descricao_busca varchar(100), "
+					+ "mes integer not null, ano integer not null, id_usuario bigint references financas.usuario (id), "
+					+ "valor numeric(16, 2) not null, data_cadastro date, tipo varchar(20), status varchar(20), "
+					+ "hash_importacao varchar(64), versao bigint default 0 not null) partition by range (ano)");
+
+			int anoAtual = LocalDate.now().getYear();
+			TreeSet<Integer> anos = new TreeSet<>();
+			anos.add(anoAtual);
+			anos.add(anoAtual + 1);
+			try (ResultSet resultado = statement.executeQuery("select distinct ano from financas.lancamento_legado "
+					+ "where ano between " + (anoAtual - ANOS_COM_PARTICAO) + " and " + (anoAtual + 1))) {
+				while (resultado.next()) {
+					anos.add(resultado.getInt(1));
+				}
+			}
+			for (Integer ano : anos) {
+				statement.execute("create table financas.lancamento_p" + ano + " partition of financas.lancamento "
+						+ "for values from (" + ano + ") to (" + (ano + 1) + ")");
+			}
+			statement.execute("create table financas.lancamento_padrao partition of financas.lancamento default");
+
+			statement.execute("insert into financas.lancamento (" + COLUNAS + ") select " + COLUNAS
+					+ " from financas.lancamento_legado");
+			statement.execute("drop table financas.lancamento_legado");
+
+			// criados depois do drop, os nomes dos índices antigos ficam livres
+			statement.execute("alter table financas.lancamento add constraint lancamento_pkey primary key (id, ano)");
+			statement.execute("create index idx_lancamento_usuario_ano_mes on financas.lancamento (id_usuario, ano, mes)");
+			statement.execute("create index idx_lancamento_usuario_tipo_status on financas.lancamento "
+					+ "(id_usuario, tipo, status)");
+			statement.execute("create index idx_lancamento_usuario_descricao on financas.lancamento "
+					+ "(id_usuario, descricao_busca varchar_pattern_ops)");
+			statement.execute("create unique index idx_lancamento_usuario_hash_importacao on financas.lancamento "
+					+ "(id_usuario, hash_importacao, ano)");
+		}
+	}
+}
@@ -0,0 +1,12 @@
+create table financas.recorrencia (
+	id bigint generated by default as identity primary key,
+	descricao varchar(100) not null,
+	valor numeric(16, 2) not null,
+	tipo varchar(20) not null,
+	dia integer not null,
+	proxima_ocorrencia date,
+	data_final date,
+	id_usuario bigint not null references financas.usuario (id)
+);
+
+create index idx_recorrencia_usuario_proxima_ocorrencia on financas.recorrencia (id_usuario, proxima_ocorrencia);
@@ -0,0 +1,10 @@
+create sequence financas.evento_lancamento_seq start with 50 increment by 50;
+
+create table financas.evento_lancamento (
+	id bigint primary key,
+	tipo varchar(20) not null,
+	id_lancamento bigint not null,
+	id_usuario bigint not null,
+	dados varchar(1000) not null,
+	data_criacao timestamp not null
+);
@@ -0,0 +1 @@
+alter table financas.usuario add column versao_lancamentos bigint default 0 not null;
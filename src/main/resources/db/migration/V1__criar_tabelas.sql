@@ -0,0 +1,20 @@
+create schema if not exists financas;
+
+create table financas.usuario (
+	id bigint generated by default as identity primary key,
+	nome varchar(150),
+	email varchar(100),
+	senha varchar(20)
+);
+
+create table financas.lancamento (
+	id bigint generated by default as identity primary key,
+	descricao varchar(100) not null,
+	mes integer not null,
+	ano integer not null,
+	valor numeric(16, 2) not null,
+	tipo varchar(20),
+	status varchar(20),
+	id_usuario bigint references financas.usuario (id),
+	data_cadastro date
+);
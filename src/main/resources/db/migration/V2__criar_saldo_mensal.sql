@@ -0,0 +1,16 @@
+create table financas.saldo_mensal (
+	id_usuario bigint not null references financas.usuario (id),
+	ano integer not null,
+	mes integer not null,
+	tipo varchar(20) not null,
+	status varchar(20) not null,
+	valor numeric(16, 2) not null,
+	quantidade bigint not null,
+	primary key (id_usuario, ano, mes, tipo, status)
+);
+
+insert into financas.saldo_mensal (id_usuario, ano, mes, tipo, status, valor, quantidade)
+select id_usuario, ano, mes, tipo, status, sum(valor), count(*)
+from financas.lancamento
+where id_usuario is not null and tipo is not null and status is not null
+group by id_usuario, ano, mes, tipo, status;
@@ -0,0 +1,5 @@
+create unique index idx_usuario_email on financas.usuario (email);
+
+create index idx_lancamento_usuario_ano_mes on financas.lancamento (id_usuario, ano, mes);
+
+create index idx_lancamento_usuario_tipo_status on financas.lancamento (id_usuario, tipo, status);
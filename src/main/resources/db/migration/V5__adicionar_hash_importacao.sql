@@ -0,0 +1,3 @@
+alter table financas.lancamento add column hash_importacao varchar(64);
+
+create unique index idx_lancamento_usuario_hash_importacao on financas.lancamento (id_usuario, hash_importacao);
@@ -0,0 +1 @@
+alter table financas.usuario alter column senha set data type varchar(100);
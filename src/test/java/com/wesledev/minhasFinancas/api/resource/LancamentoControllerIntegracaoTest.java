@@ -0,0 +1,92 @@
+package com.wesledev.minhasFinancas.api.resource;
+
+import org.assertj.core.api.Assertions;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.wesledev.minhasFinancas.model.entity.Lancamento;
+import com.wesledev.minhasFinancas.model.entity.Usuario;
+import com.wesledev.minhasFinancas.model.repository.LancamentoRepositoryTest;
+import com.wesledev.minhasFinancas.model.repository.UsuarioRepository;
+import com.wesledev.minhasFinancas.model.repository.UsuarioRepositoryTest;
+import com.wesledev.minhasFinancas.service.LancamentoService;
+import com.wesledev.minhasFinancas.service.TokenService;
+
+/**
+ * Escritas por HTTP, com open-in-view e a serializacao real das respostas.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+public class LancamentoControllerIntegracaoTest {
+
+	@Autowired
+	TestRestTemplate restTemplate;
+
+	@Autowired
+	TokenService tokenService;
+
+	@Autowired
+	UsuarioRepository usuarioRepository;
+
+	@Autowired
+	LancamentoService lancamentoService;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	Usuario usuario;
+
+	Lancamento lancamento;
+
+	@Before
+	public void setUp() {
+		usuario = usuarioRepository
+				.save(UsuarioRepositoryTest.createUser().toBuilder().email("escrita@email.com").build());
+		lancamento = LancamentoRepositoryTest.createLaunch();
+		lancamento.setUsuario(usuario);
+		lancamento = lancamentoService.salvar(lancamento);
+	}
+
+	@After
+	public void tearDown() {
+		jdbcTemplate.update("delete from financas.lancamento where id_usuario = ?", usuario.getId());
+		jdbcTemplate.update("delete from financas.saldo_mensal where id_usuario = ?", usuario.getId());
+		jdbcTemplate.update("delete from financas.usuario where id = ?", usuario.getId());
+	}
+
+	@Test
+	public void hasReturnUpdatedLaunchAfterStatusUpdate() {
+		// execucao
+		ResponseEntity<String> resposta = enviar(HttpMethod.PUT, "/" + lancamento.getId() + "/atualiza-status",
+				"{\"status\":\"EFETIVADO\"}");
+
+		// verificacao
+		Assertions.assertThat(resposta.getStatusCode()).isEqualTo(HttpStatus.OK);
+		Assertions.assertThat(resposta.getBody()).contains("\"status\":\"EFETIVADO\"").contains("\"versao\":1")
+				.contains("\"usuario\":" + usuario.getId());
+	}
+
+	private ResponseEntity<String> enviar(HttpMethod metodo, String caminho, String corpo) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setBearerAuth(tokenService.gerar(usuario));
+		headers.setContentType(MediaType.APPLICATION_JSON);
+		return restTemplate.exchange("/api/lancamentos" + caminho, metodo, new HttpEntity<>(corpo, headers),
+				String.class);
+	}
+}
@@ -0,0 +1,354 @@
+package com.wesledev.minhasFinancas.api.resource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.wesledev.minhasFinancas.api.dto.ErroLoteDTO;
+import com.wesledev.minhasFinancas.api.dto.FiltroLancamentoDTO;
+import com.wesledev.minhasFinancas.api.dto.ResultadoImportacaoDTO;
+import com.wesledev.minhasFinancas.api.dto.ResultadoLoteDTO;
+import com.wesledev.minhasFinancas.api.dto.ResultadoStatusLoteDTO;
+import com.wesledev.minhasFinancas.model.entity.Lancamento;
+import com.wesledev.minhasFinancas.model.entity.Usuario;
+import com.wesledev.minhasFinancas.model.enums.StatusLancamento;
+import com.wesledev.minhasFinancas.model.enums.TipoLancamento;
+import com.wesledev.minhasFinancas.model.projection.LancamentoResumo;
+import com.wesledev.minhasFinancas.service.ImportacaoService;
+import com.wesledev.minhasFinancas.service.LancamentoService;
+import com.wesledev.minhasFinancas.service.PesquisaLancamentoService;
+import com.wesledev.minhasFinancas.service.TokenService;
+import com.wesledev.minhasFinancas.service.UsuarioService;
+import com.wesledev.minhasFinancas.service.importacao.FormatoExtrato;
+
+@RunWith(SpringRunner.class)
+@ActiveProfiles("test")
+@WebMvcTest(controllers = LancamentoController.class)
+@AutoConfigureMockMvc
+public class LancamentoControllerTest {
+
+	static final String API = "/api/lancamentos";
+	static final String AUTORIZACAO = "Bearer token";
+
+	@Autowired
+	MockMvc mvc;
+
+	@MockBean
+	LancamentoService service;
+
+	@MockBean
+	UsuarioService usuarioService;
+
+	@MockBean
+	ImportacaoService importacaoService;
+
+	@MockBean
+	PesquisaLancamentoService pesquisaService;
+
+	@MockBean
+	TokenService tokenService;
+
+	@Before
+	public void setUp() {
+		Mockito.when(tokenService.validar("token")).thenReturn(Optional.of(1l));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void hasExportLaunchesAsCsv() throws Exception {
+		// cenario
+		Usuario usuario = Usuario.builder().id(1l).build();
+		Mockito.when(usuarioService.obterPorId(1l)).thenReturn(Optional.of(usuario));
+
+		Mockito.doAnswer(invocacao -> {
+			Consumer<Lancamento> consumidor = invocacao.getArgument(1);
+			consumidor.accept(criarLancamento(1l, "Aluguel, apto", usuario));
+			consumidor.accept(criarLancamento(2l, "Salário", usuario));
+			return null;
+		}).when(service).exportar(Mockito.eq(1l), Mockito.any(Consumer.class));
+
+		// execucao e verificacao
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders.get(API.concat("/exportar"))
+				.header(HttpHeaders.AUTHORIZATION, AUTORIZACAO).param("formato", "csv");
+
+		mvc.perform(request).andExpect(MockMvcResultMatchers.status().isOk())
+				.andExpect(MockMvcResultMatchers.content().contentTypeCompatibleWith("text/csv"))
+				.andExpect(MockMvcResultMatchers.content().string(
+						"id,descricao,mes,ano,valor,tipo,status,dataCadastro\n"
+								+ "1,\"Aluguel, apto\",1,2022,10,DESPESA,PENDENTE,\n"
+								+ "2,Salário,1,2022,10,DESPESA,PENDENTE,\n"));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void hasExportLaunchesAsNdjson() throws Exception {
+		// cenario
+		Usuario usuario = Usuario.builder().id(1l).build();
+		Mockito.when(usuarioService.obterPorId(1l)).thenReturn(Optional.of(usuario));
+
+		Mockito.doAnswer(invocacao -> {
+			Consumer<Lancamento> consumidor = invocacao.getArgument(1);
+			consumidor.accept(criarLancamento(1l, "Aluguel", usuario));
+			return null;
+		}).when(service).exportar(Mockito.eq(1l), Mockito.any(Consumer.class));
+
+		// execucao e verificacao
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders.get(API.concat("/exportar")).header(HttpHeaders.AUTHORIZATION, AUTORIZACAO);
+
+		mvc.perform(request).andExpect(MockMvcResultMatchers.status().isOk())
+				.andExpect(MockMvcResultMatchers.content().string(
+						"{\"id\":1,\"descricao\":\"Aluguel\",\"mes\":1,\"ano\":2022,\"valor\":10,\"usuario\":1,"
+								+ "\"tipo\":\"DESPESA\",\"status\":\"PENDENTE\"}\n"));
+	}
+
+	@Test
+	public void hasSearchLaunchesWithTypedFilters() throws Exception {
+		// cenario
+		LancamentoResumo resumo = LancamentoResumo.builder().id(1l).descricao("Mercado").mes(1).ano(2022)
+				.valor(BigDecimal.valueOf(50)).tipo(TipoLancamento.DESPESA).status(StatusLancamento.PENDENTE)
+				.usuarioId(1l).build();
+		Mockito.when(service.buscar(Mockito.any())).thenReturn(Arrays.asList(resumo));
+
+		// execucao e verificacao
+		consultar(MockMvcRequestBuilders.get(API).header(HttpHeaders.AUTHORIZATION, AUTORIZACAO)
+				.param("descricao", "merc").param("tipo", "DESPESA").param("valorMinimo", "10")
+				.param("valorMaximo", "100").param("dataInicial", "2022-01-01"))
+				.andExpect(MockMvcResultMatchers.status().isOk())
+				.andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value(1))
+				.andExpect(MockMvcResultMatchers.jsonPath("$[0].usuarioId").value(1))
+				.andExpect(MockMvcResultMatchers.jsonPath("$[0].usuario").doesNotExist());
+
+		Mockito.verify(service).buscar(FiltroLancamentoDTO.builder().usuario(1l).descricao("merc")
+				.tipo(TipoLancamento.DESPESA).valorMinimo(BigDecimal.valueOf(10)).valorMaximo(BigDecimal.valueOf(100))
+				.dataInicial(LocalDate.of(2022, 1, 1)).build());
+	}
+
+	@Test
+	public void hasReturnNotModifiedWhenLaunchesVersionDidNotChange() throws Exception {
+		// cenario
+		Mockito.when(service.obterVersao(1l)).thenReturn("1-a-7");
+
+		// execucao e verificacao
+		mvc.perform(MockMvcRequestBuilders.get(API).header(HttpHeaders.AUTHORIZATION, AUTORIZACAO)
+				.header(HttpHeaders.IF_NONE_MATCH, "\"1-a-7\"").param("ano", "2022"))
+				.andExpect(MockMvcResultMatchers.status().isNotModified());
+
+		consultar(MockMvcRequestBuilders.get(API).header(HttpHeaders.AUTHORIZATION, AUTORIZACAO)
+				.header(HttpHeaders.IF_NONE_MATCH, "\"1-a-6\"").param("ano", "2022"))
+				.andExpect(MockMvcResultMatchers.status().isOk())
+				.andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"1-a-7\""))
+				.andExpect(MockMvcResultMatchers.header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"));
+
+		Mockito.verify(service, Mockito.times(1)).buscar(Mockito.any());
+	}
+
+	@Test
+	public void hasReturnConflictWhenStatusIsUpdatedOverAnotherVersion() throws Exception {
+		// cenario
+		Lancamento lancamento = Lancamento.builder().id(1l).usuario(Usuario.builder().id(1l).build()).versao(2l)
+				.status(StatusLancamento.PENDENTE).build();
+		Mockito.when(service.obterPorId(1l)).thenReturn(Optional.of(lancamento));
+
+		// execucao e verificacao
+		mvc.perform(MockMvcRequestBuilders.put(API.concat("/1/atualiza-status"))
+				.header(HttpHeaders.AUTHORIZATION, AUTORIZACAO).contentType(MediaType.APPLICATION_JSON)
+				.content("{\"status\":\"EFETIVADO\",\"versao\":1}"))
+				.andExpect(MockMvcResultMatchers.status().isConflict());
+
+		Mockito.doThrow(new ObjectOptimisticLockingFailureException(Lancamento.class, 1l)).when(service)
+				.atualizarStatus(lancamento, StatusLancamento.EFETIVADO);
+		mvc.perform(MockMvcRequestBuilders.put(API.concat("/1/atualiza-status"))
+				.header(HttpHeaders.AUTHORIZATION, AUTORIZACAO).contentType(MediaType.APPLICATION_JSON)
+				.content("{\"status\":\"EFETIVADO\",\"versao\":2}"))
+				.andExpect(MockMvcResultMatchers.status().isConflict());
+
+		Mockito.verify(service, Mockito.never()).atualizar(Mockito.any());
+	}
+
+	@Test
+	public void mustRejectUnknownOrMissingStatusOfLaunch() throws Exception {
+		// cenario
+		Lancamento lancamento = Lancamento.builder().id(1l).usuario(Usuario.builder().id(1l).build()).versao(2l)
+				.status(StatusLancamento.PENDENTE).build();
+		Mockito.when(service.obterPorId(1l)).thenReturn(Optional.of(lancamento));
+
+		// execucao e verificacao
+		mvc.perform(MockMvcRequestBuilders.put(API.concat("/1/atualiza-status"))
+				.header(HttpHeaders.AUTHORIZATION, AUTORIZACAO).contentType(MediaType.APPLICATION_JSON)
+				.content("{\"status\":\"OUTRO\"}"))
+				.andExpect(MockMvcResultMatchers.status().isBadRequest());
+		mvc.perform(MockMvcRequestBuilders.put(API.concat("/1/atualiza-status"))
+				.header(HttpHeaders.AUTHORIZATION, AUTORIZACAO).contentType(MediaType.APPLICATION_JSON)
+				.content("{}"))
+				.andExpect(MockMvcResultMatchers.status().isBadRequest());
+
+		Mockito.verify(service, Mockito.never()).atualizarStatus(Mockito.any(), Mockito.any());
+	}
+
+	@Test
+	public void hasUpdateStatusOfLaunchesOfMonth() throws Exception {
+		// cenario
+		Mockito.when(service.atualizarStatusEmLote(FiltroLancamentoDTO.builder().usuario(1l).ano(2022).mes(1).build(),
+				null, StatusLancamento.EFETIVADO)).thenReturn(new ResultadoStatusLoteDTO(12, 3, 0));
+
+		// execucao e verificacao
+		mvc.perform(MockMvcRequestBuilders.put(API.concat("/atualiza-status"))
+				.header(HttpHeaders.AUTHORIZATION, AUTORIZACAO).contentType(MediaType.APPLICATION_JSON)
+				.content("{\"status\":\"EFETIVADO\",\"ano\":2022,\"mes\":1}"))
+				.andExpect(MockMvcResultMatchers.status().isOk())
+				.andExpect(MockMvcResultMatchers.jsonPath("atualizados").value(12))
+				.andExpect(MockMvcResultMatchers.jsonPath("inalterados").value(3));
+
+		mvc.perform(MockMvcRequestBuilders.put(API.concat("/atualiza-status"))
+				.header(HttpHeaders.AUTHORIZATION, AUTORIZACAO).contentType(MediaType.APPLICATION_JSON)
+				.content("{\"status\":\"OUTRO\",\"ids\":[1]}"))
+				.andExpect(MockMvcResultMatchers.status().isBadRequest());
+	}
+
+	@Test
+	public void hasSearchLaunchesByText() throws Exception {
+		// cenario
+		LancamentoResumo resumo = LancamentoResumo.builder().id(1l).descricao("Salário").mes(1).ano(2022)
+				.valor(BigDecimal.valueOf(3000)).tipo(TipoLancamento.RECEITA).usuarioId(1l).build();
+		Mockito.when(pesquisaService.pesquisar(1l, "salario", null)).thenReturn(Arrays.asList(resumo));
+
+		// execucao e verificacao
+		consultar(MockMvcRequestBuilders.get(API.concat("/pesquisa")).header(HttpHeaders.AUTHORIZATION, AUTORIZACAO)
+				.param("texto", "salario"))
+				.andExpect(MockMvcResultMatchers.status().isOk())
+				.andExpect(MockMvcResultMatchers.jsonPath("$[0].descricao").value("Salário"));
+	}
+
+	@Test
+	public void hasReturnBadRequestForInvalidSearchFilter() throws Exception {
+		// execucao e verificacao
+		mvc.perform(MockMvcRequestBuilders.get(API).header(HttpHeaders.AUTHORIZATION, AUTORIZACAO)
+				.param("tipo", "OUTRO"))
+				.andExpect(MockMvcResultMatchers.status().isBadRequest());
+
+		Mockito.verify(service, Mockito.never()).buscar(Mockito.any());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void hasReturnUnauthorizedWithoutValidToken() throws Exception {
+		// execucao e verificacao
+		mvc.perform(MockMvcRequestBuilders.get(API.concat("/exportar")))
+				.andExpect(MockMvcResultMatchers.status().isUnauthorized());
+		mvc.perform(MockMvcRequestBuilders.get(API).header(HttpHeaders.AUTHORIZATION, "Bearer invalido"))
+				.andExpect(MockMvcResultMatchers.status().isUnauthorized());
+
+		Mockito.verify(service, Mockito.never()).exportar(Mockito.any(), Mockito.any(Consumer.class));
+		Mockito.verify(service, Mockito.never()).buscar(Mockito.any());
+	}
+
+	@Test
+	public void mustNotDeleteLaunchOfAnotherUser() throws Exception {
+		// cenario
+		Lancamento lancamento = criarLancamento(1l, "Aluguel", Usuario.builder().id(2l).build());
+		Mockito.when(service.obterPorId(1l)).thenReturn(Optional.of(lancamento));
+
+		// execucao e verificacao
+		mvc.perform(MockMvcRequestBuilders.delete(API.concat("/1")).header(HttpHeaders.AUTHORIZATION, AUTORIZACAO))
+				.andExpect(MockMvcResultMatchers.status().isBadRequest());
+
+		Mockito.verify(service, Mockito.never()).deletar(Mockito.any());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void hasSaveBatchReportingErrorsByOriginalPosition() throws Exception {
+		// cenario
+		Usuario usuario = Usuario.builder().id(1l).build();
+		Mockito.when(usuarioService.obterPorId(1l)).thenReturn(Optional.of(usuario));
+
+		Mockito.when(service.salvarEmLote(Mockito.anyList())).thenAnswer(invocacao -> {
+			List<Lancamento> lancamentos = invocacao.getArgument(0);
+			return new ResultadoLoteDTO(lancamentos.subList(0, 1),
+					new ArrayList<>(Arrays.asList(new ErroLoteDTO(1, "Informe um Valor válido."))));
+		});
+
+		String json = "[" + lancamentoJson("OUTRO", 10) + "," + lancamentoJson("DESPESA", 10) + ","
+				+ lancamentoJson("DESPESA", 0) + "]";
+
+		// execucao e verificacao
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders.post(API.concat("/lote"))
+				.header(HttpHeaders.AUTHORIZATION, AUTORIZACAO).contentType(MediaType.APPLICATION_JSON).content(json);
+
+		mvc.perform(request).andExpect(MockMvcResultMatchers.status().isOk())
+				.andExpect(MockMvcResultMatchers.jsonPath("salvos.length()").value(1))
+				.andExpect(MockMvcResultMatchers.jsonPath("erros[0].indice").value(0))
+				.andExpect(MockMvcResultMatchers.jsonPath("erros[1].indice").value(2));
+
+		Mockito.verify(usuarioService, Mockito.times(1)).obterPorId(1l);
+	}
+
+	@Test
+	public void hasImportStatementInferringFormatFromFileName() throws Exception {
+		// cenario
+		Usuario usuario = Usuario.builder().id(1l).build();
+		Mockito.when(usuarioService.obterPorId(1l)).thenReturn(Optional.of(usuario));
+		Mockito.when(importacaoService.importar(Mockito.eq(usuario), Mockito.eq(FormatoExtrato.OFX), Mockito.any()))
+				.thenReturn(new ResultadoImportacaoDTO(2, 1, 0, new ArrayList<>()));
+
+		MockMultipartFile arquivo = new MockMultipartFile("arquivo", "extrato.ofx", "application/x-ofx",
+				"<OFX></OFX>".getBytes());
+
+		// execucao e verificacao
+		mvc.perform(MockMvcRequestBuilders.multipart(API.concat("/importar")).file(arquivo).header(HttpHeaders.AUTHORIZATION, AUTORIZACAO))
+				.andExpect(MockMvcResultMatchers.status().isOk())
+				.andExpect(MockMvcResultMatchers.jsonPath("importados").value(2))
+				.andExpect(MockMvcResultMatchers.jsonPath("duplicados").value(1));
+	}
+
+	@Test
+	public void hasReturnBadRequestImportingUnsupportedFormat() throws Exception {
+		// cenario
+		Mockito.when(usuarioService.obterPorId(1l)).thenReturn(Optional.of(Usuario.builder().id(1l).build()));
+		MockMultipartFile arquivo = new MockMultipartFile("arquivo", "extrato.pdf", "application/pdf", new byte[1]);
+
+		// execucao e verificacao
+		mvc.perform(MockMvcRequestBuilders.multipart(API.concat("/importar")).file(arquivo).header(HttpHeaders.AUTHORIZATION, AUTORIZACAO))
+				.andExpect(MockMvcResultMatchers.status().isBadRequest());
+	}
+
+	private String lancamentoJson(String tipo, int valor) {
+		return "{\"descricao\":\"Aluguel\",\"mes\":1,\"ano\":2022,\"valor\":" + valor + ",\"tipo\":\"" + tipo
+				+ "\"}";
+	}
+
+	private Lancamento criarLancamento(Long id, String descricao, Usuario usuario) {
+		return Lancamento.builder().id(id).descricao(descricao).mes(1).ano(2022).valor(BigDecimal.TEN)
+				.usuario(usuario).tipo(TipoLancamento.DESPESA).status(StatusLancamento.PENDENTE).build();
+	}
+
+	private ResultActions consultar(RequestBuilder request) throws Exception {
+		// sem financas.consultas.assincronas a consulta responde na propria requisicao, sem dispatch assincrono
+		return mvc.perform(request).andExpect(MockMvcResultMatchers.request().asyncNotStarted());
+	}
+}
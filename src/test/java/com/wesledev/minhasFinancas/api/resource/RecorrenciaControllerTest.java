@@ -0,0 +1,91 @@
+package com.wesledev.minhasFinancas.api.resource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.wesledev.minhasFinancas.model.entity.Recorrencia;
+import com.wesledev.minhasFinancas.model.entity.Usuario;
+import com.wesledev.minhasFinancas.model.enums.TipoLancamento;
+import com.wesledev.minhasFinancas.service.RecorrenciaService;
+import com.wesledev.minhasFinancas.service.TokenService;
+import com.wesledev.minhasFinancas.service.UsuarioService;
+
+@RunWith(SpringRunner.class)
+@ActiveProfiles("test")
+@WebMvcTest(controllers = RecorrenciaController.class)
+@AutoConfigureMockMvc
+public class RecorrenciaControllerTest {
+
+	static final String API = "/api/recorrencias";
+	static final String AUTORIZACAO = "Bearer token";
+
+	@Autowired
+	MockMvc mvc;
+
+	@MockBean
+	RecorrenciaService service;
+
+	@MockBean
+	UsuarioService usuarioService;
+
+	@MockBean
+	TokenService tokenService;
+
+	@Before
+	public void setUp() {
+		Mockito.when(tokenService.validar("token")).thenReturn(Optional.of(1l));
+	}
+
+	@Test
+	public void hasCreateRecurrenceForAuthenticatedUser() throws Exception {
+		// cenario
+		Usuario usuario = Usuario.builder().id(1l).build();
+		Mockito.when(usuarioService.obterPorId(1l)).thenReturn(Optional.of(usuario));
+		Mockito.when(service.salvar(Mockito.any(Recorrencia.class))).thenAnswer(invocacao -> {
+			Recorrencia recorrencia = invocacao.getArgument(0);
+			return recorrencia.toBuilder().id(7l).dia(recorrencia.getProximaOcorrencia().getDayOfMonth()).build();
+		});
+
+		// execucao e verificacao
+		mvc.perform(MockMvcRequestBuilders.post(API).header(HttpHeaders.AUTHORIZATION, AUTORIZACAO)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"descricao\":\"Aluguel\",\"valor\":1200,\"tipo\":\"DESPESA\","
+						+ "\"proximaOcorrencia\":\"2022-02-10\"}"))
+				.andExpect(MockMvcResultMatchers.status().isCreated())
+				.andExpect(MockMvcResultMatchers.jsonPath("id").value(7))
+				.andExpect(MockMvcResultMatchers.jsonPath("dia").value(10))
+				.andExpect(MockMvcResultMatchers.jsonPath("proximaOcorrencia").value("2022-02-10"))
+				.andExpect(MockMvcResultMatchers.jsonPath("usuario").value(1));
+	}
+
+	@Test
+	public void mustNotDeleteRecurrenceOfAnotherUser() throws Exception {
+		// cenario
+		Recorrencia recorrencia = Recorrencia.builder().id(7l).descricao("Aluguel").valor(BigDecimal.TEN)
+				.tipo(TipoLancamento.DESPESA).dia(10).proximaOcorrencia(LocalDate.of(2022, 2, 10))
+				.usuario(Usuario.builder().id(2l).build()).build();
+		Mockito.when(service.obterPorId(7l)).thenReturn(Optional.of(recorrencia));
+
+		// execucao e verificacao
+		mvc.perform(MockMvcRequestBuilders.delete(API.concat("/7")).header(HttpHeaders.AUTHORIZATION, AUTORIZACAO))
+				.andExpect(MockMvcResultMatchers.status().isBadRequest());
+		Mockito.verify(service, Mockito.never()).deletar(Mockito.any());
+	}
+}
@@ -1,5 +1,10 @@
 package com.wesledev.minhasFinancas.api.resource;
 
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mockito;
@@ -7,20 +12,28 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wesledev.minhasFinancas.api.dto.RelatorioAnualDTO;
 import com.wesledev.minhasFinancas.api.dto.UsuarioDTO;
 import com.wesledev.minhasFinancas.exception.ErrorAutenticacao;
 import com.wesledev.minhasFinancas.exception.RegraNegocioException;
 import com.wesledev.minhasFinancas.model.entity.Usuario;
+import com.wesledev.minhasFinancas.model.enums.TipoLancamento;
 import com.wesledev.minhasFinancas.service.LancamentoService;
+import com.wesledev.minhasFinancas.service.TokenService;
 import com.wesledev.minhasFinancas.service.UsuarioService;
 
 @RunWith(SpringRunner.class)
@@ -41,6 +54,14 @@ public class UsuarioControllerTest {
 	@MockBean
 	LancamentoService lancamentoService;
 
+	@MockBean
+	TokenService tokenService;
+
+	@Before
+	public void setUp() {
+		Mockito.when(tokenService.validar("token")).thenReturn(Optional.of(1l));
+	}
+
 	@Test
 	public void hasValidateAnUser() throws Exception {
 		// cenario
@@ -50,7 +71,8 @@ public class UsuarioControllerTest {
 		UsuarioDTO dto = UsuarioDTO.builder().email(email).senha(senha).build();
 		Usuario usuario = Usuario.builder().id(1l).email(email).senha(senha).build();
 
-		Mockito.when(service.autenticar(email, senha)).thenReturn(usuario);
+		Mockito.when(service.autenticarAsync(email, senha)).thenReturn(CompletableFuture.completedFuture(usuario));
+		Mockito.when(tokenService.gerar(usuario)).thenReturn("token");
 
 		String json = new ObjectMapper().writeValueAsString(dto);
 
@@ -58,10 +80,13 @@ public class UsuarioControllerTest {
 		MockHttpServletRequestBuilder request = MockMvcRequestBuilders.post(API.concat("/autenticar")).accept(JSON)
 				.contentType(JSON).content(json);
 
-		mvc.perform(request).andExpect(MockMvcResultMatchers.status().isOk())
+		MvcResult resultado = mvc.perform(request).andExpect(MockMvcResultMatchers.request().asyncStarted())
+				.andReturn();
+		mvc.perform(MockMvcRequestBuilders.asyncDispatch(resultado)).andExpect(MockMvcResultMatchers.status().isOk())
 				.andExpect(MockMvcResultMatchers.jsonPath("id").value(usuario.getId()))
 				.andExpect(MockMvcResultMatchers.jsonPath("nome").value(usuario.getNome()))
-				.andExpect(MockMvcResultMatchers.jsonPath("email").value(usuario.getEmail()));
+				.andExpect(MockMvcResultMatchers.jsonPath("email").value(usuario.getEmail()))
+				.andExpect(MockMvcResultMatchers.jsonPath("token").value("token"));
 
 	}
 
@@ -73,7 +98,9 @@ public class UsuarioControllerTest {
 
 		UsuarioDTO dto = UsuarioDTO.builder().email(email).senha(senha).build();
 
-		Mockito.when(service.autenticar(email, senha)).thenThrow(ErrorAutenticacao.class);
+		CompletableFuture<Usuario> falha = new CompletableFuture<>();
+		falha.completeExceptionally(new ErrorAutenticacao("Senha inválida."));
+		Mockito.when(service.autenticarAsync(email, senha)).thenReturn(falha);
 
 		String json = new ObjectMapper().writeValueAsString(dto);
 
@@ -81,8 +108,31 @@ public class UsuarioControllerTest {
 		MockHttpServletRequestBuilder request = MockMvcRequestBuilders.post(API.concat("/autenticar")).accept(JSON)
 				.contentType(JSON).content(json);
 
-		mvc.perform(request).andExpect(MockMvcResultMatchers.status().isBadRequest());
+		MvcResult resultado = mvc.perform(request).andExpect(MockMvcResultMatchers.request().asyncStarted())
+				.andReturn();
+		mvc.perform(MockMvcRequestBuilders.asyncDispatch(resultado))
+				.andExpect(MockMvcResultMatchers.status().isBadRequest())
+				.andExpect(MockMvcResultMatchers.content().string("Senha inválida."));
+
+	}
+
+	@Test
+	public void hasReturnTooManyRequestsWhenAuthenticationExecutorIsSaturated() throws Exception {
+		// cenario
+		UsuarioDTO dto = UsuarioDTO.builder().email("usuario@email.com").senha("123").build();
+		Mockito.when(service.autenticarAsync(dto.getEmail(), dto.getSenha()))
+				.thenThrow(new TaskRejectedException("fila cheia"));
+
+		String json = new ObjectMapper().writeValueAsString(dto);
+
+		// execucao e verificacao
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders.post(API.concat("/autenticar")).accept(JSON)
+				.contentType(JSON).content(json);
 
+		MvcResult resultado = mvc.perform(request).andReturn();
+		mvc.perform(MockMvcRequestBuilders.asyncDispatch(resultado))
+				.andExpect(MockMvcResultMatchers.status().isTooManyRequests())
+				.andExpect(MockMvcResultMatchers.header().string("Retry-After", "1"));
 	}
 
 	@Test
@@ -129,4 +179,95 @@ public class UsuarioControllerTest {
 
 	}
 
+	@Test
+	public void hasGetBalanceOfUser() throws Exception {
+		// cenario
+		Mockito.when(lancamentoService.obterSaldoPorUsuario(1l)).thenReturn(Optional.of(BigDecimal.valueOf(70)));
+
+		// execucao e verificacao
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders.get(API.concat("/1/saldo")).accept(JSON)
+				.header(HttpHeaders.AUTHORIZATION, "Bearer token");
+
+		consultar(request).andExpect(MockMvcResultMatchers.status().isOk())
+				.andExpect(MockMvcResultMatchers.content().string("70"));
+
+		Mockito.verify(service, Mockito.never()).obterPorId(Mockito.anyLong());
+	}
+
+	@Test
+	public void hasReturnNotModifiedWhenBalanceVersionDidNotChange() throws Exception {
+		// cenario
+		Mockito.when(lancamentoService.obterVersao(1l)).thenReturn("1-a-7");
+		Mockito.when(lancamentoService.obterSaldoPorUsuario(1l)).thenReturn(Optional.of(BigDecimal.valueOf(70)));
+
+		// execucao e verificacao
+		consultar(MockMvcRequestBuilders.get(API.concat("/1/saldo")).accept(JSON)
+				.header(HttpHeaders.AUTHORIZATION, "Bearer token"))
+				.andExpect(MockMvcResultMatchers.status().isOk())
+				.andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"1-a-7\""));
+
+		mvc.perform(MockMvcRequestBuilders.get(API.concat("/1/saldo")).accept(JSON)
+				.header(HttpHeaders.AUTHORIZATION, "Bearer token").header(HttpHeaders.IF_NONE_MATCH, "\"1-a-7\""))
+				.andExpect(MockMvcResultMatchers.status().isNotModified())
+				.andExpect(MockMvcResultMatchers.content().string(""));
+
+		Mockito.verify(lancamentoService, Mockito.times(1)).obterSaldoPorUsuario(1l);
+	}
+
+	@Test
+	public void hasReturnNotFoundForBalanceOfUnknownUser() throws Exception {
+		// cenario
+		Mockito.when(lancamentoService.obterSaldoPorUsuario(1l)).thenReturn(Optional.empty());
+
+		// execucao e verificacao
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders.get(API.concat("/1/saldo")).accept(JSON)
+				.header(HttpHeaders.AUTHORIZATION, "Bearer token");
+
+		consultar(request).andExpect(MockMvcResultMatchers.status().isNotFound());
+	}
+
+	@Test
+	public void hasReturnForbiddenForBalanceOfAnotherUser() throws Exception {
+		// execucao e verificacao
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders.get(API.concat("/2/saldo")).accept(JSON)
+				.header(HttpHeaders.AUTHORIZATION, "Bearer token");
+
+		consultar(request).andExpect(MockMvcResultMatchers.status().isForbidden());
+
+		Mockito.verify(lancamentoService, Mockito.never()).obterSaldoPorUsuario(Mockito.anyLong());
+	}
+
+	@Test
+	public void hasGetYearlyReportOfUser() throws Exception {
+		// cenario
+		RelatorioAnualDTO relatorio = new RelatorioAnualDTO(2022);
+		relatorio.getMeses().get(0).getTotal().somar(TipoLancamento.RECEITA, BigDecimal.valueOf(100), 1);
+		Mockito.when(lancamentoService.obterRelatorioAnual(1l, 2022)).thenReturn(relatorio);
+
+		// execucao e verificacao
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders.get(API.concat("/1/relatorio"))
+				.param("ano", "2022").accept(JSON).header(HttpHeaders.AUTHORIZATION, "Bearer token");
+
+		consultar(request).andExpect(MockMvcResultMatchers.status().isOk())
+				.andExpect(MockMvcResultMatchers.jsonPath("ano").value(2022))
+				.andExpect(MockMvcResultMatchers.jsonPath("meses.length()").value(12))
+				.andExpect(MockMvcResultMatchers.jsonPath("meses[0].total.saldo").value(100))
+				.andExpect(MockMvcResultMatchers.jsonPath("meses[0].porStatus.EFETIVADO.saldo").value(0));
+	}
+
+	@Test
+	public void hasReturnForbiddenForReportOfAnotherUser() throws Exception {
+		// execucao e verificacao
+		MockHttpServletRequestBuilder request = MockMvcRequestBuilders.get(API.concat("/2/relatorio"))
+				.param("ano", "2022").accept(JSON).header(HttpHeaders.AUTHORIZATION, "Bearer token");
+
+		consultar(request).andExpect(MockMvcResultMatchers.status().isForbidden());
+
+		Mockito.verify(lancamentoService, Mockito.never()).obterRelatorioAnual(Mockito.anyLong(), Mockito.anyInt());
+	}
+
+	private ResultActions consultar(RequestBuilder request) throws Exception {
+		// sem financas.consultas.assincronas a consulta responde na propria requisicao, sem dispatch assincrono
+		return mvc.perform(request).andExpect(MockMvcResultMatchers.request().asyncNotStarted());
+	}
 }
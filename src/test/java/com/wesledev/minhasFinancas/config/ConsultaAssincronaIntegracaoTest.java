@@ -0,0 +1,109 @@
+package com.wesledev.minhasFinancas.config;
+
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.wesledev.minhasFinancas.model.entity.Usuario;
+import com.wesledev.minhasFinancas.service.PesquisaLancamentoService;
+import com.wesledev.minhasFinancas.service.TokenService;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = { "financas.consultas.assincronas=true",
+		"financas.consultas.threads=1", "financas.consultas.fila=1" })
+@ActiveProfiles("test")
+public class ConsultaAssincronaIntegracaoTest {
+
+	@Autowired
+	TestRestTemplate restTemplate;
+
+	@Autowired
+	TokenService tokenService;
+
+	@Autowired
+	@Qualifier(WebConfig.CONSULTA_EXECUTOR)
+	AsyncTaskExecutor consultaExecutor;
+
+	@MockBean
+	PesquisaLancamentoService pesquisaService;
+
+	@Test
+	public void hasRunQueriesOutsideTheRequestThread() {
+		// cenario
+		AtomicReference<String> thread = new AtomicReference<>();
+		Mockito.when(pesquisaService.pesquisar(1l, "mercado", null)).thenAnswer(invocacao -> {
+			thread.set(Thread.currentThread().getName());
+			return Collections.emptyList();
+		});
+
+		// execucao
+		ResponseEntity<String> resposta = pesquisar();
+
+		// verificacao
+		Assertions.assertThat(resposta.getStatusCode()).isEqualTo(HttpStatus.OK);
+		Assertions.assertThat(thread.get()).startsWith("consulta-");
+	}
+
+	@Test
+	public void hasReturnTooManyRequestsWhenQueryQueueIsFull() throws Exception {
+		// cenario
+		CountDownLatch iniciada = new CountDownLatch(1);
+		CountDownLatch liberada = new CountDownLatch(1);
+		Mockito.when(pesquisaService.pesquisar(1l, "mercado", null)).thenAnswer(invocacao -> {
+			iniciada.countDown();
+			liberada.await(10, TimeUnit.SECONDS);
+			return Collections.emptyList();
+		});
+		ExecutorService clientes = Executors.newFixedThreadPool(2);
+
+		try {
+			// execucao: uma consulta ocupa a unica thread e outra ocupa a fila
+			clientes.submit(this::pesquisar);
+			Assertions.assertThat(iniciada.await(10, TimeUnit.SECONDS)).isTrue();
+			clientes.submit(this::pesquisar);
+			while (((ThreadPoolTaskExecutor) consultaExecutor).getThreadPoolExecutor().getQueue().isEmpty()) {
+				Thread.sleep(10);
+			}
+			ResponseEntity<String> rejeitada = pesquisar();
+
+			// verificacao
+			Assertions.assertThat(rejeitada.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+			Assertions.assertThat(rejeitada.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+			Assertions.assertThat(rejeitada.getBody()).isEqualTo("Muitas consultas simultâneas, tente novamente.");
+		} finally {
+			liberada.countDown();
+			clientes.shutdown();
+			clientes.awaitTermination(10, TimeUnit.SECONDS);
+		}
+	}
+
+	private ResponseEntity<String> pesquisar() {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setBearerAuth(tokenService.gerar(Usuario.builder().id(1l).build()));
+		return restTemplate.exchange("/api/lancamentos/pesquisa?texto=mercado", HttpMethod.GET,
+				new HttpEntity<>(headers), String.class);
+	}
+}
@@ -0,0 +1,92 @@
+package com.wesledev.minhasFinancas.config;
+
+import java.math.BigDecimal;
+
+import org.assertj.core.api.Assertions;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.wesledev.minhasFinancas.model.entity.Lancamento;
+import com.wesledev.minhasFinancas.model.entity.Usuario;
+import com.wesledev.minhasFinancas.model.repository.LancamentoRepositoryTest;
+import com.wesledev.minhasFinancas.model.repository.UsuarioRepository;
+import com.wesledev.minhasFinancas.model.repository.UsuarioRepositoryTest;
+import com.wesledev.minhasFinancas.service.LancamentoService;
+import com.wesledev.minhasFinancas.service.TokenService;
+
+/**
+ * Consultas com a configuracao padrao (financas.consultas.assincronas=false), por HTTP e com open-in-view ativo.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+public class ConsultaSincronaIntegracaoTest {
+
+	@Autowired
+	TestRestTemplate restTemplate;
+
+	@Autowired
+	TokenService tokenService;
+
+	@Autowired
+	UsuarioRepository usuarioRepository;
+
+	@Autowired
+	LancamentoService lancamentoService;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	Usuario usuario;
+
+	@Before
+	public void setUp() {
+		usuario = usuarioRepository
+				.save(UsuarioRepositoryTest.createUser().toBuilder().email("sincrona@email.com").build());
+		Lancamento lancamento = LancamentoRepositoryTest.createLaunch();
+		lancamento.setUsuario(usuario);
+		lancamento.setValor(BigDecimal.valueOf(25));
+		lancamentoService.salvar(lancamento);
+	}
+
+	@After
+	public void tearDown() {
+		jdbcTemplate.update("delete from financas.lancamento where id_usuario = ?", usuario.getId());
+		jdbcTemplate.update("delete from financas.saldo_mensal where id_usuario = ?", usuario.getId());
+		jdbcTemplate.update("delete from financas.usuario where id = ?", usuario.getId());
+	}
+
+	@Test
+	public void hasAnswerQueriesOnTheRequestThread() {
+		// execucao e verificacao
+		Assertions.assertThat(consultar("/api/lancamentos").getBody()).contains("Lançamento Teste");
+		Assertions.assertThat(consultar("/api/lancamentos/paginado").getBody()).contains("Lançamento Teste");
+		consultar("/api/lancamentos/pesquisa?texto=teste");
+		Assertions.assertThat(consultar("/api/usuarios/" + usuario.getId() + "/saldo").getBody()).isEqualTo("25.00");
+		Assertions.assertThat(consultar("/api/usuarios/" + usuario.getId() + "/relatorio?ano=2022").getBody())
+				.contains("\"ano\":2022");
+	}
+
+	private ResponseEntity<String> consultar(String url) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setBearerAuth(tokenService.gerar(usuario));
+		ResponseEntity<String> resposta = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers),
+				String.class);
+		Assertions.assertThat(resposta.getStatusCode()).as(url).isEqualTo(HttpStatus.OK);
+		return resposta;
+	}
+}
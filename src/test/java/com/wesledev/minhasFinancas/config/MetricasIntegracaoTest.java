@@ -0,0 +1,80 @@
+package com.wesledev.minhasFinancas.config;
+
+import java.util.Collections;
+
+import org.assertj.core.api.Assertions;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.wesledev.minhasFinancas.model.repository.LancamentoRepository;
+import com.wesledev.minhasFinancas.service.LancamentoService;
+import com.wesledev.minhasFinancas.service.UsuarioService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class MetricasIntegracaoTest {
+
+	@Autowired
+	MockMvc mvc;
+
+	@Autowired
+	MeterRegistry registry;
+
+	@Autowired
+	LancamentoService lancamentoService;
+
+	@Autowired
+	UsuarioService usuarioService;
+
+	@Autowired
+	LancamentoRepository lancamentoRepository;
+
+	@Test
+	public void hasTimeServicesAndRepositoryQueries() {
+		// execucao
+		lancamentoService.obterPorId(-1l);
+		usuarioService.obterPorId(-1l);
+		lancamentoRepository.obterHashesImportados(-1l, Collections.singleton("hash"));
+
+		// verificacao
+		Assertions.assertThat(contagem(MetricasAspect.SERVICO, "LancamentoService", "obterPorId")).isPositive();
+		Assertions.assertThat(contagem(MetricasAspect.SERVICO, "UsuarioService", "obterPorId")).isPositive();
+		Assertions.assertThat(contagem(MetricasAspect.REPOSITORIO, "LancamentoRepository", "findById")).isPositive();
+		Assertions.assertThat(contagem(MetricasAspect.REPOSITORIO, "LancamentoRepository", "obterHashesImportados"))
+				.isPositive();
+	}
+
+	@Test
+	public void hasExposePoolHibernateAndTimerMetricsToPrometheus() throws Exception {
+		// cenario
+		lancamentoService.obterPorId(-1l);
+
+		// execucao e verificacao
+		mvc.perform(MockMvcRequestBuilders.get("/actuator/prometheus"))
+				.andExpect(MockMvcResultMatchers.status().isOk())
+				.andExpect(MockMvcResultMatchers.content().string(Matchers.allOf(
+						Matchers.containsString("financas_servico_seconds_bucket"),
+						Matchers.containsString("quantile=\"0.99\""),
+						Matchers.containsString("hikaricp_connections"),
+						Matchers.containsString("hibernate_"))));
+	}
+
+	private long contagem(String nome, String classe, String metodo) {
+		Timer timer = registry.find(nome).tag("classe", classe).tag("metodo", metodo).timer();
+		return timer == null ? 0 : timer.count();
+	}
+}
@@ -0,0 +1,42 @@
+package com.wesledev.minhasFinancas.config;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.web.server.LocalManagementPort;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+/**
+ * Actuator em porta propria, como no perfil prod (management.server.port).
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = "management.server.port=0")
+@ActiveProfiles("test")
+public class PortaGerenciamentoIntegracaoTest {
+
+	@Autowired
+	TestRestTemplate restTemplate;
+
+	@LocalManagementPort
+	int portaGerenciamento;
+
+	@Test
+	public void hasServeMetricsOnlyOnManagementPort() {
+		// execucao
+		ResponseEntity<String> publica = restTemplate.getForEntity("/actuator/prometheus", String.class);
+		ResponseEntity<String> gerenciamento = new TestRestTemplate()
+				.getForEntity("http://localhost:" + portaGerenciamento + "/actuator/prometheus", String.class);
+
+		// verificacao
+		Assertions.assertThat(publica.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+		Assertions.assertThat(gerenciamento.getStatusCode()).isEqualTo(HttpStatus.OK);
+		Assertions.assertThat(gerenciamento.getBody()).contains("hikaricp_connections");
+	}
+}
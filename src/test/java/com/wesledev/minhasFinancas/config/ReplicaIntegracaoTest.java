@@ -0,0 +1,107 @@
+package com.wesledev.minhasFinancas.config;
+
+import java.math.BigDecimal;
+
+import javax.sql.DataSource;
+
+import org.assertj.core.api.Assertions;
+import org.flywaydb.core.Flyway;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.wesledev.minhasFinancas.api.dto.FiltroLancamentoDTO;
+import com.wesledev.minhasFinancas.model.entity.Usuario;
+import com.wesledev.minhasFinancas.service.LancamentoService;
+import com.wesledev.minhasFinancas.service.UsuarioService;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = "financas.replica.url=" + ReplicaIntegracaoTest.URL_REPLICA)
+@ActiveProfiles("test")
+public class ReplicaIntegracaoTest {
+
+	static final String URL_REPLICA = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1;INIT=CREATE SCHEMA IF NOT EXISTS financas";
+
+	@Autowired
+	UsuarioService usuarioService;
+
+	@Autowired
+	LancamentoService lancamentoService;
+
+	@Autowired
+	JdbcTemplate primario;
+
+	static JdbcTemplate replica;
+
+	@BeforeClass
+	public static void criarReplica() {
+		// a replica precisa do esquema antes do contexto subir, como uma replica real do primario
+		DataSource replicaDataSource = new DriverManagerDataSource(URL_REPLICA, "sa", "");
+		Flyway.configure().dataSource(replicaDataSource).schemas("financas").load().migrate();
+		replica = new JdbcTemplate(replicaDataSource);
+	}
+
+	@After
+	public void tearDown() {
+		for (JdbcTemplate banco : new JdbcTemplate[] { primario, replica }) {
+			banco.update("delete from financas.lancamento where id_usuario in "
+					+ "(select id from financas.usuario where email like '%@replica.com')");
+			banco.update("delete from financas.usuario where email like '%@replica.com'");
+		}
+	}
+
+	@Test
+	public void hasReadReadOnlyTransactionsFromReplica() {
+		// cenario: dados que existem apenas na replica
+		replica.update("insert into financas.usuario (nome, email, senha) values ('replica', 'leitura@replica.com', 's')");
+		Long idUsuario = replica.queryForObject("select id from financas.usuario where email = 'leitura@replica.com'",
+				Long.class);
+		replica.update("insert into financas.lancamento (id, descricao, descricao_busca, mes, ano, id_usuario, valor, "
+				+ "tipo, status) values (next value for financas.lancamento_seq, 'Aluguel', 'aluguel', 1, 2022, ?, 10, "
+				+ "'DESPESA', 'PENDENTE')", idUsuario);
+
+		// execucao e verificacao
+		Assertions.assertThat(lancamentoService.buscar(FiltroLancamentoDTO.builder().usuario(idUsuario).build()))
+				.extracting("descricao").containsExactly("Aluguel");
+		Assertions.assertThat(lancamentoService.obterVersao(idUsuario)).isNotNull();
+	}
+
+	@Test
+	public void hasReadEntitiesForWritesFromPrimary() {
+		// cenario: o lancamento acabou de ser gravado no primario e ainda nao chegou a replica
+		Usuario usuario = usuarioService
+				.salvarUsuario(Usuario.builder().nome("primario").email("previa@replica.com").senha("senha").build());
+		primario.update("insert into financas.lancamento (id, descricao, descricao_busca, mes, ano, id_usuario, valor, "
+				+ "tipo, status) values (next value for financas.lancamento_seq, 'Aluguel', 'aluguel', 1, 2022, ?, 10, "
+				+ "'DESPESA', 'PENDENTE')", usuario.getId());
+		Long idLancamento = primario.queryForObject("select id from financas.lancamento where id_usuario = ?",
+				Long.class, usuario.getId());
+
+		// execucao e verificacao
+		Assertions.assertThat(usuarioService.obterPorId(usuario.getId())).isPresent();
+		Assertions.assertThat(lancamentoService.obterPorId(idLancamento)).isPresent();
+	}
+
+	@Test
+	public void hasWriteOnPrimary() {
+		// execucao
+		Usuario usuario = usuarioService
+				.salvarUsuario(Usuario.builder().nome("primario").email("escrita@replica.com").senha("senha").build());
+
+		// verificacao
+		Assertions.assertThat(contar(primario, usuario.getEmail())).isEqualTo(1);
+		Assertions.assertThat(contar(replica, usuario.getEmail())).isZero();
+		Assertions.assertThat(lancamentoService.obterSaldoPorUsuario(usuario.getId())).contains(BigDecimal.ZERO);
+	}
+
+	private int contar(JdbcTemplate banco, String email) {
+		return banco.queryForObject("select count(*) from financas.usuario where email = ?", Integer.class, email);
+	}
+}
@@ -0,0 +1,176 @@
+package com.wesledev.minhasFinancas.model.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import javax.sql.DataSource;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.wesledev.minhasFinancas.api.dto.FiltroLancamentoDTO;
+import com.wesledev.minhasFinancas.model.enums.StatusLancamento;
+import com.wesledev.minhasFinancas.model.enums.TipoLancamento;
+
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ActiveProfiles("test")
+public class IndicesTest {
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	LancamentoRepository repository;
+
+	@Test
+	public void hasUseUniqueIndexToFindUserByEmail() {
+		Assertions.assertThat(plano("select id from financas.usuario where email = 'usuario@email.com'"))
+				.containsIgnoringCase("idx_usuario_email");
+	}
+
+	@Test
+	public void hasUseUserYearMonthIndexToSearchLaunches() {
+		String plano = planoDaBusca(FiltroLancamentoDTO.builder().usuario(1l).ano(2022).mes(1).build());
+
+		Assertions.assertThat(plano).containsIgnoringCase("idx_lancamento_usuario_ano_mes");
+	}
+
+	@Test
+	public void hasUseUserTypeStatusIndexToSumLaunches() {
+		Assertions.assertThat(plano("select sum(valor) from financas.lancamento "
+				+ "where id_usuario = 1 and tipo = 'RECEITA' and status = 'EFETIVADO'"))
+				.containsIgnoringCase("idx_lancamento_usuario_tipo_status");
+	}
+
+	@Test
+	public void hasUseUserDescriptionIndexToSearchByDescriptionPrefix() {
+		String plano = planoDaBusca(FiltroLancamentoDTO.builder().usuario(1l).descricao("Mercado").build());
+
+		Assertions.assertThat(plano).containsIgnoringCase("idx_lancamento_usuario_descricao")
+				.containsIgnoringCase("descricao_busca >=");
+	}
+
+	@Test
+	public void hasUseUserIndexesToSearchByValueAndDateRanges() {
+		String plano = planoDaBusca(FiltroLancamentoDTO.builder().usuario(1l).ano(2022)
+				.valorMinimo(BigDecimal.TEN).valorMaximo(BigDecimal.valueOf(100))
+				.dataInicial(LocalDate.of(2022, 1, 1)).build());
+		Assertions.assertThat(plano).containsIgnoringCase("idx_lancamento_usuario_ano_mes");
+
+		plano = planoDaBusca(FiltroLancamentoDTO.builder().usuario(1l).tipo(TipoLancamento.DESPESA)
+				.status(StatusLancamento.PENDENTE).valorMinimo(BigDecimal.TEN).build());
+		Assertions.assertThat(plano).containsIgnoringCase("idx_lancamento_usuario_tipo_status");
+	}
+
+	@Test(expected = org.springframework.dao.DuplicateKeyException.class)
+	public void mustNotAllowTwoUsersWithTheSameEmail() {
+		jdbcTemplate.update("insert into financas.usuario (nome, email, senha) values ('a', 'repetido@email.com', 'x')");
+		jdbcTemplate.update("insert into financas.usuario (nome, email, senha) values ('b', 'repetido@email.com', 'x')");
+	}
+
+	private String plano(String sql) {
+		return jdbcTemplate.queryForObject("explain " + sql, String.class);
+	}
+
+	/**
+	 * Plano da consulta que o Hibernate gera para o filtro, com os mesmos parametros que ele vinculou.
+	 */
+	private String planoDaBusca(FiltroLancamentoDTO filtro) {
+		ConsultaCapturada.limpar();
+		repository.buscar(LancamentoSpecifications.de(filtro));
+
+		Assertions.assertThat(ConsultaCapturada.sql).isNotNull();
+		return jdbcTemplate.queryForObject("explain " + ConsultaCapturada.sql, String.class,
+				ConsultaCapturada.PARAMETROS.values().toArray());
+	}
+
+	@TestConfiguration
+	static class CapturaConfig {
+
+		@Bean
+		static BeanPostProcessor capturarConsultas() {
+			return new BeanPostProcessor() {
+
+				@Override
+				public Object postProcessAfterInitialization(Object bean, String nome) {
+					return bean instanceof DataSource ? new ConsultaCapturada((DataSource) bean) : bean;
+				}
+			};
+		}
+	}
+
+	/**
+	 * Guarda o SQL e os parametros do ultimo select em financas.lancamento preparado pelo Hibernate.
+	 */
+	static class ConsultaCapturada extends DelegatingDataSource {
+
+		static volatile String sql;
+		static final Map<Integer, Object> PARAMETROS = new ConcurrentSkipListMap<>();
+
+		ConsultaCapturada(DataSource alvo) {
+			super(alvo);
+		}
+
+		static void limpar() {
+			sql = null;
+			PARAMETROS.clear();
+		}
+
+		@Override
+		public Connection getConnection() throws SQLException {
+			Connection conexao = super.getConnection();
+			return proxy(Connection.class, conexao, (metodo, args, resultado) -> {
+				if (metodo.getName().equals("prepareStatement")
+						&& ((String) args[0]).matches("select .* from financas\\.lancamento .*")) {
+					limpar();
+					sql = (String) args[0];
+					return proxy(PreparedStatement.class, resultado, (metodoComando, argsComando, retorno) -> {
+						if (metodoComando.getName().startsWith("set") && argsComando != null
+								&& argsComando.length >= 2 && argsComando[0] instanceof Integer) {
+							PARAMETROS.put((Integer) argsComando[0], argsComando[1]);
+						}
+						return retorno;
+					});
+				}
+				return resultado;
+			});
+		}
+
+		private static <T> T proxy(Class<T> tipo, Object alvo, Interceptador interceptador) {
+			return tipo.cast(Proxy.newProxyInstance(tipo.getClassLoader(), new Class<?>[] { tipo }, (p, metodo, args) -> {
+				try {
+					return interceptador.apos(metodo, args, metodo.invoke(alvo, args));
+				} catch (InvocationTargetException e) {
+					throw e.getTargetException();
+				}
+			}));
+		}
+
+		interface Interceptador {
+
+			Object apos(Method metodo, Object[] args, Object resultado) throws Throwable;
+		}
+	}
+}
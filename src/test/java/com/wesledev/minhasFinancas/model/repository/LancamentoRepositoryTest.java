@@ -2,9 +2,16 @@ package com.wesledev.minhasFinancas.model.repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.assertj.core.api.Assertions;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,12 +19,17 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import com.wesledev.minhasFinancas.api.dto.FiltroLancamentoDTO;
 import com.wesledev.minhasFinancas.model.entity.Lancamento;
+import com.wesledev.minhasFinancas.model.entity.Usuario;
 import com.wesledev.minhasFinancas.model.enums.StatusLancamento;
 import com.wesledev.minhasFinancas.model.enums.TipoLancamento;
+import com.wesledev.minhasFinancas.model.projection.LancamentoResumo;
 
 @RunWith(SpringRunner.class)
 @DataJpaTest
@@ -31,6 +43,9 @@ public class LancamentoRepositoryTest {
 	@Autowired
 	TestEntityManager entityManager;
 
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
 	@Test
 	public void hasSaveAnLaunch() {
 		Lancamento lancamento = createLaunch();
@@ -78,6 +93,160 @@ public class LancamentoRepositoryTest {
 		Assertions.assertThat(lancamentoEncontrado.isPresent()).isTrue();
 	}
 
+	@Test
+	public void hasSearchLaunchesAfterCursorOrderedByYearMonthAndId() {
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.createUser());
+		Lancamento marco = criarEPersistirUmLancamento(usuario, 2022, 3);
+		Lancamento janeiro = criarEPersistirUmLancamento(usuario, 2022, 1);
+		Lancamento dezembro = criarEPersistirUmLancamento(usuario, 2021, 12);
+		Lancamento janeiroOutro = criarEPersistirUmLancamento(usuario, 2022, 1);
+
+		Specification<Lancamento> filtro = LancamentoSpecifications.doUsuario(usuario.getId());
+
+		List<LancamentoResumo> primeiraPagina = repository.buscarAposCursor(filtro, null, 2);
+		LancamentoResumo ultimo = primeiraPagina.get(1);
+		List<LancamentoResumo> segundaPagina = repository.buscarAposCursor(filtro,
+				Lancamento.builder().id(ultimo.getId()).ano(ultimo.getAno()).mes(ultimo.getMes()).build(), 2);
+
+		Assertions.assertThat(primeiraPagina).extracting(LancamentoResumo::getId).containsExactly(dezembro.getId(),
+				janeiro.getId());
+		Assertions.assertThat(segundaPagina).extracting(LancamentoResumo::getId)
+				.containsExactly(janeiroOutro.getId(), marco.getId());
+		Assertions.assertThat(segundaPagina).extracting(LancamentoResumo::getUsuarioId).containsOnly(usuario.getId());
+	}
+
+	@Test
+	public void hasSearchLaunchesWithOneQueryPerTableAndWithoutLoadingTheUser() {
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.createUser());
+		for (int mes = 1; mes <= 12; mes++) {
+			criarEPersistirUmLancamento(usuario, 2022, mes);
+		}
+		entityManager.flush();
+		entityManager.clear();
+
+		Specification<Lancamento> filtro = LancamentoSpecifications
+				.de(FiltroLancamentoDTO.builder().usuario(usuario.getId()).descricao("LANCAMENTO").build());
+		Statistics estatisticas = entityManager.getEntityManager().getEntityManagerFactory()
+				.unwrap(SessionFactory.class).getStatistics();
+		estatisticas.setStatisticsEnabled(true);
+		estatisticas.clear();
+
+		try {
+			List<LancamentoResumo> lancamentos = repository.buscar(filtro);
+			repository.buscarAposCursor(filtro, null, 5);
+
+			Assertions.assertThat(lancamentos).hasSize(12);
+			Assertions.assertThat(lancamentos).extracting(LancamentoResumo::getUsuarioId).containsOnly(usuario.getId());
+			// financas.lancamento e financas.lancamento_arquivo em cada busca
+			Assertions.assertThat(estatisticas.getPrepareStatementCount()).isEqualTo(4);
+			Assertions.assertThat(estatisticas.getEntityLoadCount()).isZero();
+		} finally {
+			estatisticas.setStatisticsEnabled(false);
+		}
+	}
+
+	@Test
+	public void hasSearchLaunchesByDescriptionPrefixIgnoringCaseAndAccents() {
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.createUser());
+		Lancamento conta = criarEPersistirUmLancamento(usuario, 2022, 1);
+		conta.setDescricao("Conta de Água");
+		Lancamento mercado = criarEPersistirUmLancamento(usuario, 2022, 2);
+		mercado.setDescricao("Mercado 100%");
+		entityManager.flush();
+
+		List<LancamentoResumo> porAcento = repository.buscar(LancamentoSpecifications
+				.de(FiltroLancamentoDTO.builder().usuario(usuario.getId()).descricao("conta de agua").build()));
+		List<LancamentoResumo> semPrefixo = repository.buscar(LancamentoSpecifications
+				.de(FiltroLancamentoDTO.builder().usuario(usuario.getId()).descricao("agua").build()));
+		List<LancamentoResumo> comCuringa = repository.buscar(LancamentoSpecifications
+				.de(FiltroLancamentoDTO.builder().usuario(usuario.getId()).descricao("%").build()));
+
+		Assertions.assertThat(porAcento).extracting(LancamentoResumo::getId).containsExactly(conta.getId());
+		Assertions.assertThat(semPrefixo).isEmpty();
+		Assertions.assertThat(comCuringa).isEmpty();
+	}
+
+	@Test
+	public void hasSearchLaunchesByTypeStatusAndValueAndDateRanges() {
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.createUser());
+		Lancamento barato = criarEPersistirUmLancamento(usuario, 2022, 1);
+		barato.setValor(BigDecimal.valueOf(5));
+		Lancamento medio = criarEPersistirUmLancamento(usuario, 2022, 1);
+		medio.setValor(BigDecimal.valueOf(50));
+		medio.setDataCadastro(LocalDate.of(2022, 1, 10));
+		Lancamento caro = criarEPersistirUmLancamento(usuario, 2022, 1);
+		caro.setValor(BigDecimal.valueOf(500));
+		Lancamento despesa = criarEPersistirUmLancamento(usuario, 2022, 1);
+		despesa.setValor(BigDecimal.valueOf(50));
+		despesa.setTipo(TipoLancamento.DESPESA);
+		entityManager.flush();
+
+		List<LancamentoResumo> porValor = repository.buscar(LancamentoSpecifications.de(FiltroLancamentoDTO.builder()
+				.usuario(usuario.getId()).tipo(TipoLancamento.RECEITA).status(StatusLancamento.PENDENTE)
+				.valorMinimo(BigDecimal.TEN).valorMaximo(BigDecimal.valueOf(100)).build()));
+		List<LancamentoResumo> porData = repository.buscar(LancamentoSpecifications.de(FiltroLancamentoDTO.builder()
+				.usuario(usuario.getId()).dataInicial(LocalDate.of(2022, 1, 1)).dataFinal(LocalDate.of(2022, 1, 31))
+				.build()));
+
+		Assertions.assertThat(porValor).extracting(LancamentoResumo::getId).containsExactly(medio.getId());
+		Assertions.assertThat(porData).extracting(LancamentoResumo::getId).containsExactly(medio.getId());
+	}
+
+	@Test
+	public void hasKeepTheSearchDescriptionInSyncWithTheDescription() {
+		Lancamento lancamento = criarEPersistirUmLancamento();
+		entityManager.flush();
+		Assertions.assertThat(lancamento.getDescricaoBusca()).isEqualTo("lancamento teste");
+
+		lancamento.setDescricao("  Salário ");
+		entityManager.flush();
+
+		Assertions.assertThat(jdbcTemplate.queryForObject(
+				"select descricao_busca from financas.lancamento where id = ?", String.class, lancamento.getId()))
+				.isEqualTo("salario");
+	}
+
+	@Test
+	public void hasLoadTheUserOfALaunchLazily() {
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.createUser());
+		Lancamento lancamento = criarEPersistirUmLancamento(usuario, 2022, 1);
+		entityManager.flush();
+		entityManager.clear();
+
+		Lancamento encontrado = repository.findById(lancamento.getId()).get();
+
+		Assertions.assertThat(Hibernate.isInitialized(encontrado.getUsuario())).isFalse();
+		Assertions.assertThat(encontrado.getUsuario().getId()).isEqualTo(usuario.getId());
+		Assertions.assertThat(Hibernate.isInitialized(encontrado.getUsuario())).isFalse();
+	}
+
+	@Test
+	public void hasStreamAllLaunchesOfUserDetachingThem() {
+		// 20 mil linhas no build normal; o perfil volume (mvn -P volume) roda com 3 milhoes
+		int linhas = Integer.getInteger("exportacao.linhas", 20000);
+		Usuario usuario = entityManager.persistFlushFind(UsuarioRepositoryTest.createUser());
+		Usuario outroUsuario = UsuarioRepositoryTest.createUser();
+		outroUsuario.setEmail("outro@email.com");
+		outroUsuario = entityManager.persistFlushFind(outroUsuario);
+
+		inserirLancamentos(usuario, linhas);
+		inserirLancamentos(outroUsuario, 10);
+
+		Session session = entityManager.getEntityManager().unwrap(Session.class);
+		session.clear();
+		AtomicInteger lidos = new AtomicInteger();
+		AtomicInteger maiorContexto = new AtomicInteger();
+
+		repository.percorrerPorUsuario(usuario.getId(), lancamento -> {
+			lidos.incrementAndGet();
+			maiorContexto.accumulateAndGet(session.getStatistics().getEntityCount(), Math::max);
+		});
+
+		Assertions.assertThat(lidos.get()).isEqualTo(linhas);
+		Assertions.assertThat(maiorContexto.get()).isLessThanOrEqualTo(1);
+		Assertions.assertThat(session.getStatistics().getEntityCount()).isZero();
+	}
+
 	public static Lancamento createLaunch() {
 		return Lancamento.builder().ano(2022).mes(1).descricao("Lançamento Teste").valor(BigDecimal.valueOf(10))
 				.tipo(TipoLancamento.RECEITA).status(StatusLancamento.PENDENTE).dataCadastro(LocalDate.now()).build();
@@ -88,4 +257,28 @@ public class LancamentoRepositoryTest {
 		entityManager.persist(lancamento);
 		return lancamento;
 	}
+
+	private void inserirLancamentos(Usuario usuario, int quantidade) {
+		int lote = 1000;
+		for (int inicio = 0; inicio < quantidade; inicio += lote) {
+			int fim = Math.min(inicio + lote, quantidade);
+			List<Object[]> valores = new ArrayList<>();
+			for (int i = inicio; i < fim; i++) {
+				valores.add(new Object[] { "Lançamento " + i, i % 12 + 1, 2000 + i % 20, usuario.getId(),
+						BigDecimal.TEN, TipoLancamento.DESPESA.name(), StatusLancamento.PENDENTE.name() });
+			}
+			jdbcTemplate.batchUpdate(
+					"insert into financas.lancamento (id, descricao, mes, ano, id_usuario, valor, tipo, status) "
+							+ "values (next value for financas.lancamento_seq, ?, ?, ?, ?, ?, ?, ?)",
+					valores);
+		}
+	}
+
+	private Lancamento criarEPersistirUmLancamento(Usuario usuario, Integer ano, Integer mes) {
+		Lancamento lancamento = createLaunch();
+		lancamento.setUsuario(usuario);
+		lancamento.setAno(ano);
+		lancamento.setMes(mes);
+		return entityManager.persist(lancamento);
+	}
 }
@@ -0,0 +1,121 @@
+package com.wesledev.minhasFinancas.model.repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.wesledev.minhasFinancas.model.entity.Lancamento;
+import com.wesledev.minhasFinancas.model.entity.SaldoMensal;
+import com.wesledev.minhasFinancas.model.entity.SaldoMensalId;
+import com.wesledev.minhasFinancas.model.entity.Usuario;
+import com.wesledev.minhasFinancas.model.enums.StatusLancamento;
+import com.wesledev.minhasFinancas.model.enums.TipoLancamento;
+import com.wesledev.minhasFinancas.model.projection.SaldoUsuario;
+
+@RunWith(SpringRunner.class)
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ActiveProfiles("test")
+public class SaldoMensalRepositoryTest {
+
+	@Autowired
+	SaldoMensalRepository repository;
+
+	@Autowired
+	TestEntityManager entityManager;
+
+	@Test
+	public void hasInsertAndAccumulateMonthlyBalance() {
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.createUser());
+		SaldoMensalId id = new SaldoMensalId(usuario.getId(), 2022, 1, TipoLancamento.RECEITA,
+				StatusLancamento.PENDENTE);
+
+		repository.somar(id, BigDecimal.TEN, 1l);
+		repository.somar(id, BigDecimal.valueOf(5), 1l);
+		entityManager.clear();
+
+		SaldoMensal saldoMensal = repository.findById(id).get();
+		Assertions.assertThat(saldoMensal.getValor()).isEqualByComparingTo("15");
+		Assertions.assertThat(saldoMensal.getQuantidade()).isEqualTo(2);
+	}
+
+	@Test
+	public void hasGetBalanceOfUserFromMonthlyBalances() {
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.createUser());
+		entityManager.persist(new SaldoMensal(usuario.getId(), 2022, 1, TipoLancamento.RECEITA,
+				StatusLancamento.PENDENTE, BigDecimal.valueOf(100), 2l));
+		entityManager.persist(new SaldoMensal(usuario.getId(), 2022, 2, TipoLancamento.DESPESA,
+				StatusLancamento.EFETIVADO, BigDecimal.valueOf(40), 1l));
+		entityManager.flush();
+
+		SaldoUsuario saldo = repository.obterSaldoPorUsuario(usuario.getId());
+
+		Assertions.assertThat(saldo.isUsuarioExistente()).isTrue();
+		Assertions.assertThat(saldo.getSaldo()).isEqualByComparingTo("60");
+		Assertions.assertThat(repository.obterSaldoPorUsuario(usuario.getId() + 1).isUsuarioExistente()).isFalse();
+	}
+
+	@Test
+	public void hasGetMonthlyBalancesOfUserInYearOrderedByMonth() {
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.createUser());
+		SaldoMensal marco = entityManager.persist(new SaldoMensal(usuario.getId(), 2022, 3, TipoLancamento.RECEITA,
+				StatusLancamento.PENDENTE, BigDecimal.valueOf(100), 1l));
+		SaldoMensal janeiro = entityManager.persist(new SaldoMensal(usuario.getId(), 2022, 1,
+				TipoLancamento.DESPESA, StatusLancamento.EFETIVADO, BigDecimal.valueOf(40), 1l));
+		entityManager.persist(new SaldoMensal(usuario.getId(), 2021, 12, TipoLancamento.RECEITA,
+				StatusLancamento.PENDENTE, BigDecimal.valueOf(10), 1l));
+		entityManager.flush();
+
+		List<SaldoMensal> saldos = repository.obterPorUsuarioEAno(usuario.getId(), 2022);
+
+		Assertions.assertThat(saldos).containsExactly(janeiro, marco);
+	}
+
+	@Test
+	public void hasGetAndCalculateMonthlyBalancesOfOneUser() {
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.createUser());
+		Usuario outroUsuario = entityManager
+				.persist(UsuarioRepositoryTest.createUser().toBuilder().email("outro@email.com").build());
+		persistirLancamento(usuario, BigDecimal.valueOf(10));
+		persistirLancamento(outroUsuario, BigDecimal.valueOf(15));
+		SaldoMensal registrado = entityManager.persist(new SaldoMensal(usuario.getId(), 2022, 1,
+				TipoLancamento.RECEITA, StatusLancamento.PENDENTE, BigDecimal.valueOf(10), 1l));
+		entityManager.persist(new SaldoMensal(outroUsuario.getId(), 2022, 1, TipoLancamento.RECEITA,
+				StatusLancamento.PENDENTE, BigDecimal.valueOf(15), 1l));
+		entityManager.flush();
+
+		Assertions.assertThat(repository.obterPorUsuario(usuario.getId())).containsExactly(registrado);
+		Assertions.assertThat(repository.calcularAPartirDosLancamentos(usuario.getId())).containsExactly(
+				new SaldoMensal(usuario.getId(), 2022, 1, TipoLancamento.RECEITA, StatusLancamento.PENDENTE,
+						new BigDecimal("10.00"), 1l));
+	}
+
+	@Test
+	public void hasCalculateMonthlyBalancesFromLaunches() {
+		Usuario usuario = entityManager.persist(UsuarioRepositoryTest.createUser());
+		persistirLancamento(usuario, BigDecimal.valueOf(10));
+		persistirLancamento(usuario, BigDecimal.valueOf(15));
+
+		List<SaldoMensal> saldos = repository.calcularAPartirDosLancamentos();
+
+		Assertions.assertThat(saldos).containsExactly(new SaldoMensal(usuario.getId(), 2022, 1,
+				TipoLancamento.RECEITA, StatusLancamento.PENDENTE, new BigDecimal("25.00"), 2l));
+	}
+
+	private void persistirLancamento(Usuario usuario, BigDecimal valor) {
+		Lancamento lancamento = LancamentoRepositoryTest.createLaunch();
+		lancamento.setUsuario(usuario);
+		lancamento.setValor(valor);
+		entityManager.persist(lancamento);
+	}
+}
@@ -0,0 +1,183 @@
+package com.wesledev.minhasFinancas.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.wesledev.minhasFinancas.api.dto.FiltroLancamentoDTO;
+import com.wesledev.minhasFinancas.api.dto.PaginaDTO;
+import com.wesledev.minhasFinancas.api.dto.ResultadoStatusLoteDTO;
+import com.wesledev.minhasFinancas.exception.RegraNegocioException;
+import com.wesledev.minhasFinancas.model.entity.Lancamento;
+import com.wesledev.minhasFinancas.model.entity.Usuario;
+import com.wesledev.minhasFinancas.model.enums.StatusLancamento;
+import com.wesledev.minhasFinancas.model.enums.TipoLancamento;
+import com.wesledev.minhasFinancas.model.projection.LancamentoResumo;
+import com.wesledev.minhasFinancas.model.repository.LancamentoArquivadoRepository;
+import com.wesledev.minhasFinancas.model.repository.LancamentoRepository;
+import com.wesledev.minhasFinancas.model.repository.LancamentoRepositoryTest;
+import com.wesledev.minhasFinancas.model.repository.UsuarioRepository;
+import com.wesledev.minhasFinancas.model.repository.UsuarioRepositoryTest;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+public class ArquivamentoIntegracaoTest {
+
+	@Autowired
+	ArquivamentoService arquivamentoService;
+
+	@Autowired
+	LancamentoService lancamentoService;
+
+	@Autowired
+	SaldoMensalService saldoMensalService;
+
+	@Autowired
+	UsuarioRepository usuarioRepository;
+
+	@Autowired
+	LancamentoRepository lancamentoRepository;
+
+	@Autowired
+	LancamentoArquivadoRepository arquivoRepository;
+
+	@Test
+	public void hasMoveClosedYearToArchiveKeepingTheBalance() {
+		// cenario
+		Usuario usuario = usuarioRepository.save(UsuarioRepositoryTest.createUser());
+		int anoAtual = LocalDate.now().getYear();
+		criarLancamento(usuario, 2015, TipoLancamento.RECEITA, 1000);
+		criarLancamento(usuario, 2015, TipoLancamento.DESPESA, 300);
+		criarLancamento(usuario, anoAtual, TipoLancamento.DESPESA, 200);
+
+		// execucao
+		int arquivados = arquivamentoService.arquivar(2015, usuario.getId(), usuario.getId());
+
+		// verificacao
+		Assertions.assertThat(arquivados).isEqualTo(2);
+		Assertions.assertThat(arquivoRepository.findAll()).extracting("ano").containsExactly(2015, 2015);
+		Assertions.assertThat(arquivamentoService.obterAnosAnterioresA(anoAtual)).doesNotContain(2015);
+		Assertions.assertThat(saldoMensalService.verificar()).isEmpty();
+		Assertions.assertThat(lancamentoService.obterSaldoPorUsuario(usuario.getId()))
+				.hasValueSatisfying(saldo -> Assertions.assertThat(saldo).isEqualByComparingTo("500"));
+	}
+
+	@Test
+	public void hasArchiveOnlyUsersOfRange() {
+		// cenario
+		Usuario usuario = usuarioRepository.save(UsuarioRepositoryTest.createUser());
+		Usuario outroUsuario = usuarioRepository
+				.save(UsuarioRepositoryTest.createUser().toBuilder().email("arquivo@email.com").build());
+		criarLancamento(usuario, 2015, TipoLancamento.RECEITA, 1000);
+		criarLancamento(outroUsuario, 2015, TipoLancamento.RECEITA, 500);
+
+		// execucao
+		int arquivados = arquivamentoService.arquivar(2015, usuario.getId(), usuario.getId());
+
+		// verificacao
+		Assertions.assertThat(arquivados).isEqualTo(1);
+		Assertions.assertThat(arquivoRepository.findAll()).extracting("idUsuario").containsExactly(usuario.getId());
+		Assertions.assertThat(arquivamentoService.obterAnosAnterioresA(2016)).contains(2015);
+	}
+
+	@Test
+	public void hasKeepArchivedLaunchesInSearchesAndExport() {
+		// cenario
+		Usuario usuario = usuarioRepository.save(UsuarioRepositoryTest.createUser());
+		int anoAtual = LocalDate.now().getYear();
+		criarLancamento(usuario, anoAtual, TipoLancamento.DESPESA, 200);
+		criarLancamento(usuario, 2015, TipoLancamento.RECEITA, 1000);
+		criarLancamento(usuario, 2015, TipoLancamento.DESPESA, 300);
+		arquivamentoService.arquivar(2015, usuario.getId(), usuario.getId());
+		FiltroLancamentoDTO filtro = FiltroLancamentoDTO.builder().usuario(usuario.getId()).build();
+
+		// execucao
+		List<LancamentoResumo> encontrados = lancamentoService.buscar(filtro);
+		PaginaDTO<LancamentoResumo> primeira = lancamentoService.buscarPaginado(filtro, null, 2);
+		PaginaDTO<LancamentoResumo> segunda = lancamentoService.buscarPaginado(filtro, primeira.getProximoCursor(), 2);
+		List<Integer> exportados = new ArrayList<>();
+		lancamentoService.exportar(usuario.getId(), lancamento -> exportados.add(lancamento.getAno()));
+
+		// verificacao
+		Assertions.assertThat(encontrados).extracting("ano").containsExactly(2015, 2015, anoAtual);
+		Assertions.assertThat(primeira.getConteudo()).extracting("ano").containsExactly(2015, 2015);
+		Assertions.assertThat(segunda.getConteudo()).extracting("ano").containsExactly(anoAtual);
+		Assertions.assertThat(segunda.getProximoCursor()).isNull();
+		Assertions.assertThat(exportados).containsExactly(2015, 2015, anoAtual);
+		Assertions.assertThat(lancamentoService.buscar(FiltroLancamentoDTO.builder().usuario(usuario.getId()).ano(2015)
+				.valorMinimo(BigDecimal.valueOf(500)).tipo(TipoLancamento.RECEITA)
+				.descricao(encontrados.get(0).getDescricao()).build()))
+				.extracting("valor").containsExactly(new BigDecimal("1000.00"));
+	}
+
+	@Test
+	public void hasRestoreArchivedLaunchBeforeChangingIt() {
+		// cenario
+		Usuario usuario = usuarioRepository.save(UsuarioRepositoryTest.createUser());
+		Long id = criarLancamento(usuario, 2015, TipoLancamento.RECEITA, 1000).getId();
+		Long removido = criarLancamento(usuario, 2015, TipoLancamento.DESPESA, 300).getId();
+		arquivamentoService.arquivar(2015, usuario.getId(), usuario.getId());
+
+		// execucao
+		Lancamento lancamento = lancamentoService.obterPorId(id).get();
+		lancamento.setValor(BigDecimal.valueOf(1200));
+		lancamentoService.atualizar(lancamento);
+		lancamentoService.deletar(lancamentoService.obterPorId(removido).get());
+
+		// verificacao
+		Assertions.assertThat(lancamentoRepository.findById(id)).isPresent();
+		Assertions.assertThat(lancamentoRepository.findById(removido)).isNotPresent();
+		Assertions.assertThat(arquivoRepository.findAll()).isEmpty();
+		Assertions.assertThat(saldoMensalService.verificar()).isEmpty();
+		Assertions.assertThat(lancamentoService.obterSaldoPorUsuario(usuario.getId()))
+				.hasValueSatisfying(saldo -> Assertions.assertThat(saldo).isEqualByComparingTo("1200"));
+	}
+
+	@Test
+	public void hasUpdateStatusOfArchivedYear() {
+		// cenario
+		Usuario usuario = usuarioRepository.save(UsuarioRepositoryTest.createUser());
+		criarLancamento(usuario, 2015, TipoLancamento.RECEITA, 1000);
+		criarLancamento(usuario, 2015, TipoLancamento.DESPESA, 300);
+		arquivamentoService.arquivar(2015, usuario.getId(), usuario.getId());
+		FiltroLancamentoDTO filtro = FiltroLancamentoDTO.builder().usuario(usuario.getId()).ano(2015).build();
+
+		// execucao
+		ResultadoStatusLoteDTO resultado = lancamentoService.atualizarStatusEmLote(filtro, null,
+				StatusLancamento.EFETIVADO);
+
+		// verificacao
+		Assertions.assertThat(resultado.getAtualizados()).isEqualTo(2);
+		Assertions.assertThat(lancamentoService.buscar(filtro)).extracting("status")
+				.containsOnly(StatusLancamento.EFETIVADO);
+		Assertions.assertThat(saldoMensalService.verificar()).isEmpty();
+	}
+
+	@Test
+	public void mustNotArchiveCurrentYear() {
+		// execucao e verificacao
+		Assertions.assertThatThrownBy(() -> arquivamentoService.arquivar(LocalDate.now().getYear(), 1l, 1l))
+				.isInstanceOf(RegraNegocioException.class);
+	}
+
+	private Lancamento criarLancamento(Usuario usuario, int ano, TipoLancamento tipo, int valor) {
+		Lancamento lancamento = LancamentoRepositoryTest.createLaunch();
+		lancamento.setUsuario(usuario);
+		lancamento.setAno(ano);
+		lancamento.setTipo(tipo);
+		lancamento.setValor(BigDecimal.valueOf(valor));
+		return lancamentoService.salvar(lancamento);
+	}
+}
@@ -0,0 +1,161 @@
+package com.wesledev.minhasFinancas.service;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import org.assertj.core.api.Assertions;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.wesledev.minhasFinancas.model.entity.EventoLancamento;
+import com.wesledev.minhasFinancas.model.entity.Lancamento;
+import com.wesledev.minhasFinancas.model.entity.Usuario;
+import com.wesledev.minhasFinancas.model.enums.StatusLancamento;
+import com.wesledev.minhasFinancas.model.enums.TipoEventoLancamento;
+import com.wesledev.minhasFinancas.model.repository.EventoLancamentoRepository;
+import com.wesledev.minhasFinancas.model.repository.LancamentoRepositoryTest;
+import com.wesledev.minhasFinancas.model.repository.UsuarioRepository;
+import com.wesledev.minhasFinancas.model.repository.UsuarioRepositoryTest;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles("test")
+public class EventoLancamentoIntegracaoTest {
+
+	@TestConfiguration
+	static class ConsumidorTeste {
+
+		final List<EventoLancamento> recebidos = new CopyOnWriteArrayList<>();
+		volatile boolean falhar;
+
+		@EventListener
+		public void receber(EventoLancamento evento) {
+			if (falhar) {
+				throw new IllegalStateException("consumidor indisponível");
+			}
+			recebidos.add(evento);
+		}
+	}
+
+	@Autowired
+	LancamentoService lancamentoService;
+
+	@Autowired
+	EventoLancamentoService eventoService;
+
+	@Autowired
+	EventoLancamentoRepository eventoRepository;
+
+	@Autowired
+	UsuarioRepository usuarioRepository;
+
+	@Autowired
+	PlatformTransactionManager transactionManager;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	ConsumidorTeste consumidor;
+
+	Usuario usuario;
+
+	@Before
+	public void setUp() {
+		jdbcTemplate.update("delete from financas.evento_lancamento");
+		consumidor.recebidos.clear();
+		consumidor.falhar = false;
+		usuario = usuarioRepository
+				.save(UsuarioRepositoryTest.createUser().toBuilder().email("eventos@email.com").build());
+	}
+
+	@After
+	public void tearDown() {
+		jdbcTemplate.update("delete from financas.evento_lancamento");
+		jdbcTemplate.update("delete from financas.lancamento where id_usuario = ?", usuario.getId());
+		jdbcTemplate.update("delete from financas.saldo_mensal where id_usuario = ?", usuario.getId());
+		jdbcTemplate.update("delete from financas.usuario where id = ?", usuario.getId());
+	}
+
+	@Test
+	public void hasWriteEventsOnlyWhenTheLaunchWriteCommits() {
+		// cenario
+		Lancamento lancamento = salvar();
+		lancamentoService.atualizarStatus(lancamento, StatusLancamento.EFETIVADO);
+		lancamentoService.deletar(lancamento);
+
+		// execucao: uma escrita desfeita nao deixa evento
+		new TransactionTemplate(transactionManager).execute(status -> {
+			salvar();
+			status.setRollbackOnly();
+			return null;
+		});
+
+		// verificacao
+		Assertions.assertThat(eventoRepository.findAll()).extracting("tipo", "idLancamento", "idUsuario")
+				.containsExactly(Assertions.tuple(TipoEventoLancamento.CRIADO, lancamento.getId(), usuario.getId()),
+						Assertions.tuple(TipoEventoLancamento.STATUS_ALTERADO, lancamento.getId(), usuario.getId()),
+						Assertions.tuple(TipoEventoLancamento.REMOVIDO, lancamento.getId(), usuario.getId()));
+		// a remocao vem depois da ultima versao gravada, para nao ser descartada como atrasada
+		Assertions.assertThat(eventoRepository.findAll()).extracting("dados").element(1).asString()
+				.contains("\"versao\":1");
+		Assertions.assertThat(eventoRepository.findAll()).extracting("dados").element(2).asString()
+				.contains("\"versao\":2");
+	}
+
+	@Test
+	public void hasDeliverPendingEventsInOrderAndRemoveThem() {
+		// cenario
+		Lancamento lancamento = salvar();
+		lancamentoService.atualizarStatus(lancamento, StatusLancamento.CANCELADO);
+
+		// execucao
+		int publicados = eventoService.publicarPendentes();
+
+		// verificacao
+		Assertions.assertThat(publicados).isEqualTo(2);
+		Assertions.assertThat(consumidor.recebidos).extracting("tipo")
+				.containsExactly(TipoEventoLancamento.CRIADO, TipoEventoLancamento.STATUS_ALTERADO);
+		Assertions.assertThat(consumidor.recebidos.get(1).getDados()).contains("\"status\":\"CANCELADO\"")
+				.contains("\"versao\":1");
+		Assertions.assertThat(eventoRepository.count()).isZero();
+		Assertions.assertThat(eventoService.publicarPendentes()).isZero();
+	}
+
+	@Test
+	public void hasKeepEventsInOutboxWhenPublishingFails() {
+		// cenario
+		salvar();
+		consumidor.falhar = true;
+
+		// execucao
+		Throwable erro = Assertions.catchThrowable(() -> eventoService.publicarPendentes());
+
+		// verificacao
+		Assertions.assertThat(erro).isInstanceOf(IllegalStateException.class);
+		Assertions.assertThat(eventoRepository.count()).isEqualTo(1);
+
+		consumidor.falhar = false;
+		Assertions.assertThat(eventoService.publicarPendentes()).isEqualTo(1);
+		Assertions.assertThat(consumidor.recebidos.stream().map(EventoLancamento::getTipo)
+				.collect(Collectors.toList())).containsExactly(TipoEventoLancamento.CRIADO);
+	}
+
+	private Lancamento salvar() {
+		Lancamento lancamento = LancamentoRepositoryTest.createLaunch();
+		lancamento.setUsuario(usuario);
+		return lancamentoService.salvar(lancamento);
+	}
+}
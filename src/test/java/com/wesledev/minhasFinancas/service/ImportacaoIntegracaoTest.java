@@ -0,0 +1,102 @@
+package com.wesledev.minhasFinancas.service;
+
+import java.io.Reader;
+import java.io.StringReader;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.wesledev.minhasFinancas.api.dto.ErroLoteDTO;
+import com.wesledev.minhasFinancas.api.dto.ResultadoImportacaoDTO;
+import com.wesledev.minhasFinancas.model.entity.Usuario;
+import com.wesledev.minhasFinancas.model.repository.LancamentoRepository;
+import com.wesledev.minhasFinancas.model.repository.UsuarioRepository;
+import com.wesledev.minhasFinancas.model.repository.UsuarioRepositoryTest;
+import com.wesledev.minhasFinancas.service.importacao.FormatoExtrato;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = "financas.importacao.tamanho-lote=2")
+@ActiveProfiles("test")
+@Transactional
+public class ImportacaoIntegracaoTest {
+
+	static final String EXTRATO = "data;descricao;valor\n" + "05/01/2022;Mercado;-150,00\n"
+			+ "05/01/2022;Cafe;-5,00\n" + "05/01/2022;Cafe;-5,00\n" + "06/01/2022;Salário;2000,00\n"
+			+ "06/01/2022;Estorno;0\n" + "07/01/2022;Farmácia;-40,00\n";
+
+	@Autowired
+	ImportacaoService importacaoService;
+
+	@Autowired
+	LancamentoService lancamentoService;
+
+	@Autowired
+	SaldoMensalService saldoMensalService;
+
+	@Autowired
+	LancamentoRepository lancamentoRepository;
+
+	@Autowired
+	UsuarioRepository usuarioRepository;
+
+	@Test
+	public void hasImportStatementInChunks() {
+		// cenario
+		Usuario usuario = usuarioRepository.save(UsuarioRepositoryTest.createUser());
+
+		// execucao
+		ResultadoImportacaoDTO resultado = importacaoService.importar(usuario, FormatoExtrato.CSV, extrato());
+
+		// verificacao
+		Assertions.assertThat(resultado.getImportados()).isEqualTo(5);
+		Assertions.assertThat(resultado.getDuplicados()).isZero();
+		Assertions.assertThat(resultado.getErros()).containsExactly(new ErroLoteDTO(6, "Informe um Valor válido."));
+		Assertions.assertThat(lancamentoRepository.count()).isEqualTo(5);
+		Assertions.assertThat(saldoMensalService.verificar()).isEmpty();
+		Assertions.assertThat(lancamentoService.obterSaldoPorUsuario(usuario.getId()))
+				.hasValueSatisfying(saldo -> Assertions.assertThat(saldo).isEqualByComparingTo("1800"));
+	}
+
+	@Test
+	public void hasSkipLaunchesAlreadyImported() {
+		// cenario
+		Usuario usuario = usuarioRepository.save(UsuarioRepositoryTest.createUser());
+		importacaoService.importar(usuario, FormatoExtrato.CSV, extrato());
+
+		// execucao
+		ResultadoImportacaoDTO resultado = importacaoService.importar(usuario, FormatoExtrato.CSV, extrato());
+
+		// verificacao
+		Assertions.assertThat(resultado.getImportados()).isZero();
+		Assertions.assertThat(resultado.getDuplicados()).isEqualTo(5);
+		Assertions.assertThat(lancamentoRepository.count()).isEqualTo(5);
+	}
+
+	@Test
+	public void mustRejectLineOfDayAlreadyClosed() {
+		// cenario
+		Usuario usuario = usuarioRepository.save(UsuarioRepositoryTest.createUser());
+		String extrato = "data;descricao;valor\n" + "05/01/2022;Cafe;-5,00\n" + "06/01/2022;Mercado;-150,00\n"
+				+ "05/01/2022;Cafe;-5,00\n" + "04/01/2022;Padaria;-8,00\n";
+
+		// execucao
+		ResultadoImportacaoDTO resultado = importacaoService.importar(usuario, FormatoExtrato.CSV,
+				new StringReader(extrato));
+
+		// verificacao
+		Assertions.assertThat(resultado.getImportados()).isEqualTo(3);
+		Assertions.assertThat(resultado.getDuplicados()).isZero();
+		Assertions.assertThat(resultado.getErros())
+				.containsExactly(new ErroLoteDTO(4, "Extrato fora da ordem de datas."));
+	}
+
+	private Reader extrato() {
+		return new StringReader(EXTRATO);
+	}
+}
@@ -1,7 +1,9 @@
 package com.wesledev.minhasFinancas.service;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,17 +13,28 @@ import org.junit.runner.RunWith;
 import org.mockito.Mockito;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
-import org.springframework.data.domain.Example;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import com.wesledev.minhasFinancas.api.dto.ErroLoteDTO;
+import com.wesledev.minhasFinancas.api.dto.FiltroLancamentoDTO;
+import com.wesledev.minhasFinancas.api.dto.PaginaDTO;
+import com.wesledev.minhasFinancas.api.dto.ResultadoLoteDTO;
+import com.wesledev.minhasFinancas.api.dto.ResultadoStatusLoteDTO;
 import com.wesledev.minhasFinancas.exception.RegraNegocioException;
 import com.wesledev.minhasFinancas.model.entity.Lancamento;
 import com.wesledev.minhasFinancas.model.entity.Usuario;
 import com.wesledev.minhasFinancas.model.enums.StatusLancamento;
+import com.wesledev.minhasFinancas.model.enums.TipoEventoLancamento;
+import com.wesledev.minhasFinancas.model.projection.LancamentoResumo;
+import com.wesledev.minhasFinancas.model.projection.SaldoUsuario;
+import com.wesledev.minhasFinancas.model.repository.LancamentoArquivadoRepository;
 import com.wesledev.minhasFinancas.model.repository.LancamentoRepository;
 import com.wesledev.minhasFinancas.model.repository.LancamentoRepositoryTest;
 import com.wesledev.minhasFinancas.service.impl.LancamentoServiceImpl;
+import com.wesledev.minhasFinancas.service.impl.VersaoLancamentos;
 
 @RunWith(SpringRunner.class)
 @ActiveProfiles("test")
@@ -33,6 +46,21 @@ public class LancamentoServiceTest {
 	@MockBean
 	LancamentoRepository repository;
 
+	@MockBean
+	LancamentoArquivadoRepository arquivoRepository;
+
+	@MockBean
+	SaldoMensalService saldoMensalService;
+
+	@MockBean
+	PesquisaLancamentoService pesquisaService;
+
+	@MockBean
+	VersaoLancamentos versoes;
+
+	@MockBean
+	EventoLancamentoService eventos;
+
 	@Test
 	public void hasSaveAnLaunch() {
 		// cenario
@@ -50,6 +78,118 @@ public class LancamentoServiceTest {
 		// verificacao
 		Assertions.assertThat(lancamento.getId()).isEqualTo(lancamentoSalvo.getId());
 		Assertions.assertThat(lancamento.getStatus()).isEqualTo(StatusLancamento.PENDENTE);
+		Mockito.verify(eventos).registrar(TipoEventoLancamento.CRIADO, lancamentoSalvo);
+	}
+
+	@Test
+	public void hasAddSavedLaunchToMonthlyBalance() {
+		// cenario
+		Lancamento lancamentoASalvar = LancamentoRepositoryTest.createLaunch();
+		Mockito.doNothing().when(service).validar(lancamentoASalvar);
+		Mockito.when(repository.save(lancamentoASalvar)).thenReturn(lancamentoASalvar);
+
+		// execucao
+		service.salvar(lancamentoASalvar);
+
+		// verificacao
+		Mockito.verify(saldoMensalService).adicionar(lancamentoASalvar);
+	}
+
+	@Test
+	public void hasChangeVersionOfUserWhenLaunchesAreWritten() {
+		// cenario
+		Lancamento lancamento = LancamentoRepositoryTest.createLaunch();
+		lancamento.setId(1l);
+		lancamento.setUsuario(Usuario.builder().id(3l).build());
+		lancamento.registrarEstadoPersistido();
+		Mockito.doNothing().when(service).validar(lancamento);
+		Mockito.when(repository.save(lancamento)).thenReturn(lancamento);
+		Mockito.when(repository.findById(1l)).thenReturn(Optional.of(lancamento));
+
+		// execucao
+		service.salvar(lancamento);
+		service.atualizar(lancamento);
+		service.deletar(lancamento);
+
+		// verificacao
+		Mockito.verify(versoes, Mockito.times(3)).registrar(3l);
+	}
+
+	@Test
+	public void hasSaveValidLaunchesOfBatchAndReportInvalidOnes() {
+		// cenario
+		Lancamento valido = LancamentoRepositoryTest.createLaunch();
+		valido.setUsuario(Usuario.builder().id(1l).build());
+		Lancamento invalido = LancamentoRepositoryTest.createLaunch();
+		invalido.setValor(null);
+		List<Lancamento> validos = Arrays.asList(valido);
+		Mockito.when(repository.saveAll(validos)).thenReturn(validos);
+
+		// execucao
+		ResultadoLoteDTO resultado = service.salvarEmLote(Arrays.asList(invalido, valido));
+
+		// verificacao
+		Assertions.assertThat(resultado.getSalvos()).containsExactly(valido);
+		Assertions.assertThat(resultado.getErros()).containsExactly(new ErroLoteDTO(0, "Informe um Usuário."));
+		Assertions.assertThat(valido.getStatus()).isEqualTo(StatusLancamento.PENDENTE);
+		Mockito.verify(saldoMensalService).adicionarTodos(validos);
+		Mockito.verify(versoes).registrar(1l);
+	}
+
+	@Test
+	public void mustNotSaveBatchLargerThanLimit() {
+		// cenario
+		List<Lancamento> lancamentos = Collections.nCopies(LancamentoServiceImpl.TAMANHO_LOTE_MAXIMO + 1,
+				LancamentoRepositoryTest.createLaunch());
+
+		// execucao
+		Throwable erro = Assertions.catchThrowable(() -> service.salvarEmLote(lancamentos));
+
+		// verificacao
+		Assertions.assertThat(erro).isInstanceOf(RegraNegocioException.class);
+		Mockito.verify(repository, Mockito.never()).saveAll(Mockito.any());
+	}
+
+	@Test
+	public void hasMovePreviousStateOutOfMonthlyBalanceWhenRefreshing() {
+		// cenario
+		Lancamento persistido = LancamentoRepositoryTest.createLaunch();
+		persistido.setId(1l);
+		persistido.registrarEstadoPersistido();
+		Lancamento estadoAnterior = persistido.getEstadoPersistido();
+
+		Lancamento lancamento = LancamentoRepositoryTest.createLaunch();
+		lancamento.setId(1l);
+		lancamento.setStatus(null);
+		lancamento.setValor(BigDecimal.valueOf(25));
+
+		Mockito.doNothing().when(service).validar(lancamento);
+		Mockito.when(repository.findById(1l)).thenReturn(Optional.of(persistido));
+		Mockito.when(repository.save(lancamento)).thenReturn(lancamento);
+
+		// execucao
+		service.atualizar(lancamento);
+
+		// verificacao
+		Assertions.assertThat(lancamento.getStatus()).isEqualTo(StatusLancamento.PENDENTE);
+		Mockito.verify(saldoMensalService).remover(estadoAnterior);
+		Mockito.verify(saldoMensalService).adicionar(lancamento);
+		Assertions.assertThat(lancamento.getEstadoPersistido().getValor()).isEqualTo(BigDecimal.valueOf(25));
+	}
+
+	@Test
+	public void hasRemoveDeletedLaunchFromMonthlyBalance() {
+		// cenario
+		Lancamento lancamento = LancamentoRepositoryTest.createLaunch();
+		lancamento.setId(1l);
+		lancamento.registrarEstadoPersistido();
+		Mockito.when(repository.findById(1l)).thenReturn(Optional.of(lancamento));
+
+		// execucao
+		service.deletar(lancamento);
+
+		// verificacao
+		Mockito.verify(saldoMensalService).remover(lancamento.getEstadoPersistido());
 	}
 
 	@Test
@@ -121,17 +261,81 @@ public class LancamentoServiceTest {
 	@Test
 	public void hasFilterLaunchers() {
 		// cenario
-		Lancamento lancamento = LancamentoRepositoryTest.createLaunch();
-		lancamento.setId(1l);
+		LancamentoResumo resumo = LancamentoResumo.builder().id(1l).ano(2022).mes(1).build();
+
+		List<LancamentoResumo> lista = Arrays.asList(resumo);
+		Mockito.when(repository.buscar(Mockito.any())).thenReturn(lista);
+
+		// execucao
+		List<LancamentoResumo> resultado = service.buscar(FiltroLancamentoDTO.builder().usuario(1l).ano(2022).build());
+
+		// verificacoes
+		Assertions.assertThat(resultado).isNotEmpty().hasSize(1).contains(resumo);
+	}
+
+	@Test
+	public void hasReturnNextCursorWhenThereAreMoreLaunchers() {
+		// cenario
+		LancamentoResumo primeiro = LancamentoResumo.builder().id(1l).ano(2022).mes(1).build();
+		LancamentoResumo segundo = LancamentoResumo.builder().id(2l).ano(2022).mes(1).build();
 
-		List<Lancamento> lista = Arrays.asList(lancamento);
-		Mockito.when(repository.findAll(Mockito.any(Example.class))).thenReturn(lista);
+		FiltroLancamentoDTO filtro = FiltroLancamentoDTO.builder().usuario(1l).build();
+		Mockito.when(repository.buscarAposCursor(Mockito.any(), Mockito.isNull(), Mockito.eq(2)))
+				.thenReturn(Arrays.asList(primeiro, segundo));
 
 		// execucao
-		List<Lancamento> resultado = service.buscar(lancamento);
+		PaginaDTO<LancamentoResumo> pagina = service.buscarPaginado(filtro, null, 1);
 
 		// verificacoes
-		Assertions.assertThat(resultado).isNotEmpty().hasSize(1).contains(lancamento);
+		Assertions.assertThat(pagina.getConteudo()).containsExactly(primeiro);
+		Assertions.assertThat(pagina.getProximoCursor()).isNotNull();
+
+		service.buscarPaginado(filtro, pagina.getProximoCursor(), 1);
+		Mockito.verify(repository).buscarAposCursor(Mockito.any(),
+				Mockito.argThat(ultimo -> ultimo != null && ultimo.getId().equals(1l) && ultimo.getAno().equals(2022)
+						&& ultimo.getMes().equals(1)),
+				Mockito.eq(2));
+	}
+
+	@Test
+	public void mustLimitThePageSize() {
+		// cenario
+		FiltroLancamentoDTO filtro = FiltroLancamentoDTO.builder().usuario(1l).build();
+		Mockito.when(repository.buscarAposCursor(Mockito.any(), Mockito.any(), Mockito.anyInt()))
+				.thenReturn(Arrays.asList());
+
+		// execucao
+		PaginaDTO<LancamentoResumo> pagina = service.buscarPaginado(filtro, null, 100000);
+
+		// verificacoes
+		Assertions.assertThat(pagina.getProximoCursor()).isNull();
+		Mockito.verify(repository).buscarAposCursor(Mockito.any(), Mockito.isNull(),
+				Mockito.eq(LancamentoServiceImpl.TAMANHO_PAGINA_MAXIMO + 1));
+	}
+
+	@Test
+	public void mustThrowErrorWithInvalidCursor() {
+		Throwable erro = Assertions.catchThrowable(
+				() -> service.buscarPaginado(FiltroLancamentoDTO.builder().usuario(1l).build(), "x", null));
+
+		Assertions.assertThat(erro).isInstanceOf(RegraNegocioException.class)
+				.hasMessage("Cursor de paginação inválido.");
+	}
+
+	@Test
+	public void mustThrowErrorWhenSearchingWithoutUserOrWithInvertedRanges() {
+		Throwable semUsuario = Assertions.catchThrowable(() -> service.buscar(new FiltroLancamentoDTO()));
+		Throwable valores = Assertions.catchThrowable(() -> service.buscar(FiltroLancamentoDTO.builder().usuario(1l)
+				.valorMinimo(BigDecimal.TEN).valorMaximo(BigDecimal.ONE).build()));
+		Throwable datas = Assertions.catchThrowable(() -> service.buscar(FiltroLancamentoDTO.builder().usuario(1l)
+				.dataInicial(LocalDate.of(2022, 2, 1)).dataFinal(LocalDate.of(2022, 1, 1)).build()));
+
+		Assertions.assertThat(semUsuario).isInstanceOf(RegraNegocioException.class).hasMessage("Informe um Usuário.");
+		Assertions.assertThat(valores).isInstanceOf(RegraNegocioException.class)
+				.hasMessage("O valor mínimo não pode ser maior que o valor máximo.");
+		Assertions.assertThat(datas).isInstanceOf(RegraNegocioException.class)
+				.hasMessage("A data inicial não pode ser posterior à data final.");
+		Mockito.verify(repository, Mockito.never()).buscar(Mockito.any());
 	}
 
 	@Test
@@ -139,17 +343,86 @@ public class LancamentoServiceTest {
 		// cenario
 		Lancamento lancamento = LancamentoRepositoryTest.createLaunch();
 		lancamento.setId(1l);
+		lancamento.setVersao(3l);
 		lancamento.setStatus(StatusLancamento.PENDENTE);
+		lancamento.registrarEstadoPersistido();
+		Lancamento estadoAnterior = lancamento.getEstadoPersistido();
 
 		StatusLancamento novoStatus = StatusLancamento.EFETIVADO;
-		Mockito.doReturn(lancamento).when(service).atualizar(lancamento);
+		Mockito.when(repository.atualizarStatus(1l, 3l, novoStatus)).thenReturn(1);
 
 		// execucao
 		service.atualizarStatus(lancamento, novoStatus);
 
 		// verificacoes
 		Assertions.assertThat(lancamento.getStatus()).isEqualTo(novoStatus);
-		Mockito.verify(service).atualizar(lancamento);
+		Assertions.assertThat(lancamento.getVersao()).isEqualTo(4l);
+		Mockito.verify(saldoMensalService).remover(estadoAnterior);
+		Mockito.verify(saldoMensalService).adicionar(Mockito.argThat(estado -> estado.getStatus() == novoStatus));
+		Mockito.verify(service, Mockito.never()).atualizar(Mockito.any());
+		Mockito.verify(service, Mockito.never()).validar(Mockito.any());
+		Mockito.verify(repository, Mockito.never()).save(Mockito.any());
+		Mockito.verify(repository, Mockito.never()).findById(Mockito.any());
+	}
+
+	@Test
+	public void mustThrowConflictWhenStatusIsUpdatedOverAnotherVersion() {
+		// cenario
+		Lancamento lancamento = LancamentoRepositoryTest.createLaunch();
+		lancamento.setId(1l);
+		lancamento.setVersao(3l);
+		lancamento.registrarEstadoPersistido();
+		Mockito.when(repository.atualizarStatus(1l, 3l, StatusLancamento.CANCELADO)).thenReturn(0);
+
+		// execucao
+		Throwable erro = Assertions
+				.catchThrowable(() -> service.atualizarStatus(lancamento, StatusLancamento.CANCELADO));
+
+		// verificacao
+		Assertions.assertThat(erro).isInstanceOf(OptimisticLockingFailureException.class);
+		Assertions.assertThat(lancamento.getStatus()).isEqualTo(StatusLancamento.PENDENTE);
+		Mockito.verifyZeroInteractions(saldoMensalService, pesquisaService);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void hasUpdateStatusOfManyLaunchesWithOneStatement() {
+		// cenario
+		Lancamento pendente = LancamentoRepositoryTest.createLaunch();
+		pendente.setId(1l);
+		pendente.setVersao(0l);
+		pendente.registrarEstadoPersistido();
+		Lancamento efetivado = LancamentoRepositoryTest.createLaunch();
+		efetivado.setId(2l);
+		efetivado.setStatus(StatusLancamento.EFETIVADO);
+		efetivado.registrarEstadoPersistido();
+		Mockito.when(repository.bloquear(Mockito.any(Specification.class)))
+				.thenReturn(Arrays.asList(pendente, efetivado));
+		Mockito.when(repository.atualizarStatusEmLote(Arrays.asList(1l), StatusLancamento.EFETIVADO)).thenReturn(1);
+
+		// execucao
+		ResultadoStatusLoteDTO resultado = service.atualizarStatusEmLote(FiltroLancamentoDTO.builder().usuario(3l)
+				.build(), Arrays.asList(1l, 2l, 9l), StatusLancamento.EFETIVADO);
+
+		// verificacao
+		Assertions.assertThat(resultado).isEqualTo(new ResultadoStatusLoteDTO(1, 1, 1));
+		Mockito.verify(saldoMensalService).removerTodos(Arrays.asList(pendente.getEstadoPersistido()));
+		Mockito.verify(saldoMensalService).adicionarTodos(Mockito.argThat(atuais -> atuais.size() == 1
+				&& atuais.get(0).getStatus() == StatusLancamento.EFETIVADO && atuais.get(0).getVersao() == 1l));
+		Mockito.verify(versoes).registrar(3l);
+		Mockito.verify(repository, Mockito.never()).save(Mockito.any());
+	}
+
+	@Test
+	public void mustNotUpdateStatusOfAllLaunchesWithoutIdsOrYear() {
+		// execucao
+		Throwable erro = Assertions.catchThrowable(() -> service.atualizarStatusEmLote(
+				FiltroLancamentoDTO.builder().usuario(1l).build(), null, StatusLancamento.EFETIVADO));
+
+		// verificacao
+		Assertions.assertThat(erro).isInstanceOf(RegraNegocioException.class)
+				.hasMessage("Informe os lançamentos ou o Ano a atualizar.");
+		Mockito.verifyZeroInteractions(repository);
 	}
 
 	@Test
@@ -187,6 +460,37 @@ public class LancamentoServiceTest {
 		Assertions.assertThat(resultado.isPresent()).isFalse();
 	}
 
+	@Test
+	public void hasGetBalanceOfUser() {
+		// cenario
+		SaldoUsuario saldo = Mockito.mock(SaldoUsuario.class, Mockito.CALLS_REAL_METHODS);
+		Mockito.doReturn(1l).when(saldo).getUsuarios();
+		Mockito.doReturn(BigDecimal.valueOf(100)).when(saldo).getReceitas();
+		Mockito.doReturn(null).when(saldo).getDespesas();
+		Mockito.when(saldoMensalService.obterSaldoPorUsuario(1l)).thenReturn(saldo);
+
+		// execucao
+		Optional<BigDecimal> resultado = service.obterSaldoPorUsuario(1l);
+
+		// verificacao
+		Assertions.assertThat(resultado).contains(BigDecimal.valueOf(100));
+		Mockito.verify(saldoMensalService, Mockito.times(1)).obterSaldoPorUsuario(1l);
+	}
+
+	@Test
+	public void hasReturnEmptyBalanceWhenUserNotExists() {
+		// cenario
+		SaldoUsuario saldo = Mockito.mock(SaldoUsuario.class, Mockito.CALLS_REAL_METHODS);
+		Mockito.doReturn(0l).when(saldo).getUsuarios();
+		Mockito.when(saldoMensalService.obterSaldoPorUsuario(1l)).thenReturn(saldo);
+
+		// execucao
+		Optional<BigDecimal> resultado = service.obterSaldoPorUsuario(1l);
+
+		// verificacao
+		Assertions.assertThat(resultado.isPresent()).isFalse();
+	}
+
 	@Test
 	public void mustThrowErrorToValidateAnLauncher() {
 		Lancamento lancamento = new Lancamento();
@@ -0,0 +1,103 @@
+package com.wesledev.minhasFinancas.service;
+
+import java.math.BigDecimal;
+
+import org.assertj.core.api.Assertions;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.wesledev.minhasFinancas.model.entity.Lancamento;
+import com.wesledev.minhasFinancas.model.entity.Usuario;
+import com.wesledev.minhasFinancas.model.enums.StatusLancamento;
+import com.wesledev.minhasFinancas.model.repository.LancamentoRepositoryTest;
+import com.wesledev.minhasFinancas.model.repository.UsuarioRepository;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles("test")
+public class LancamentoVersaoIntegracaoTest {
+
+	@Autowired
+	LancamentoService lancamentoService;
+
+	@Autowired
+	SaldoMensalService saldoMensalService;
+
+	@Autowired
+	UsuarioRepository usuarioRepository;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	Usuario usuario;
+
+	@After
+	public void tearDown() {
+		if (usuario != null) {
+			jdbcTemplate.update("delete from financas.lancamento where id_usuario = ?", usuario.getId());
+			jdbcTemplate.update("delete from financas.saldo_mensal where id_usuario = ?", usuario.getId());
+			jdbcTemplate.update("delete from financas.usuario where id = ?", usuario.getId());
+		}
+	}
+
+	@Test
+	public void mustRejectStatusUpdateOverAStaleVersion() {
+		// cenario
+		Lancamento lancamento = salvar();
+		Lancamento primeiroCliente = lancamentoService.obterPorId(lancamento.getId()).get();
+		Lancamento segundoCliente = lancamentoService.obterPorId(lancamento.getId()).get();
+
+		// execucao
+		lancamentoService.atualizarStatus(primeiroCliente, StatusLancamento.EFETIVADO);
+		Throwable erro = Assertions.catchThrowable(
+				() -> lancamentoService.atualizarStatus(segundoCliente, StatusLancamento.CANCELADO));
+
+		// verificacao
+		Assertions.assertThat(erro).isInstanceOf(OptimisticLockingFailureException.class);
+		Lancamento persistido = lancamentoService.obterPorId(lancamento.getId()).get();
+		Assertions.assertThat(persistido.getStatus()).isEqualTo(StatusLancamento.EFETIVADO);
+		Assertions.assertThat(persistido.getVersao()).isEqualTo(lancamento.getVersao() + 1);
+		Assertions.assertThat(primeiroCliente.getVersao()).isEqualTo(persistido.getVersao());
+		Assertions.assertThat(saldoMensalService.verificar()).isEmpty();
+	}
+
+	@Test
+	public void mustRejectUpdateWithAStaleVersionAndAcceptItWithoutVersion() {
+		// cenario
+		Lancamento lancamento = salvar();
+		Lancamento desatualizado = lancamentoService.obterPorId(lancamento.getId()).get();
+		lancamentoService.atualizarStatus(lancamentoService.obterPorId(lancamento.getId()).get(),
+				StatusLancamento.EFETIVADO);
+
+		// execucao
+		desatualizado.setValor(BigDecimal.valueOf(99));
+		Throwable erro = Assertions.catchThrowable(() -> lancamentoService.atualizar(desatualizado));
+
+		desatualizado.setVersao(null);
+		desatualizado.setStatus(null);
+		Lancamento atualizado = lancamentoService.atualizar(desatualizado);
+
+		// verificacao
+		Assertions.assertThat(erro).isInstanceOf(OptimisticLockingFailureException.class);
+		Assertions.assertThat(atualizado.getVersao()).isEqualTo(lancamento.getVersao() + 2);
+		Lancamento persistido = lancamentoService.obterPorId(lancamento.getId()).get();
+		Assertions.assertThat(persistido.getValor()).isEqualByComparingTo("99");
+		Assertions.assertThat(persistido.getStatus()).isEqualTo(StatusLancamento.EFETIVADO);
+		Assertions.assertThat(saldoMensalService.verificar()).isEmpty();
+	}
+
+	private Lancamento salvar() {
+		usuario = usuarioRepository
+				.save(Usuario.builder().nome("usuario").email("versao@email.com").senha("senha").build());
+		Lancamento lancamento = LancamentoRepositoryTest.createLaunch();
+		lancamento.setUsuario(usuario);
+		return lancamentoService.salvar(lancamento);
+	}
+}
@@ -0,0 +1,144 @@
+package com.wesledev.minhasFinancas.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.wesledev.minhasFinancas.exception.RegraNegocioException;
+import com.wesledev.minhasFinancas.model.entity.Lancamento;
+import com.wesledev.minhasFinancas.model.entity.Usuario;
+import com.wesledev.minhasFinancas.model.projection.LancamentoResumo;
+import com.wesledev.minhasFinancas.model.repository.LancamentoRepositoryTest;
+import com.wesledev.minhasFinancas.model.repository.UsuarioRepository;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles("test")
+public class PesquisaLancamentoIntegracaoTest {
+
+	@Autowired
+	PesquisaLancamentoService pesquisaService;
+
+	@Autowired
+	LancamentoService lancamentoService;
+
+	@Autowired
+	UsuarioRepository usuarioRepository;
+
+	@Autowired
+	TransactionTemplate transactionTemplate;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	List<Usuario> usuarios = new ArrayList<>();
+
+	@After
+	public void tearDown() {
+		for (Usuario usuario : usuarios) {
+			jdbcTemplate.update("delete from financas.lancamento where id_usuario = ?", usuario.getId());
+			jdbcTemplate.update("delete from financas.saldo_mensal where id_usuario = ?", usuario.getId());
+			jdbcTemplate.update("delete from financas.usuario where id = ?", usuario.getId());
+		}
+		pesquisaService.reindexar();
+	}
+
+	@Test
+	public void hasFindLaunchesByWordsIgnoringCaseAndAccents() {
+		// cenario
+		Usuario usuario = criarUsuario("pesquisa@email.com");
+		Usuario outroUsuario = criarUsuario("outra.pesquisa@email.com");
+		Lancamento aluguel = salvar(usuario, "Aluguel apartamento");
+		Lancamento salario = salvar(usuario, "Salário janeiro");
+		Lancamento agua = salvar(usuario, "Conta de Água");
+		salvar(outroUsuario, "Salário janeiro");
+
+		// execucao e verificacao
+		Assertions.assertThat(ids(usuario, "salario")).containsExactly(salario.getId());
+		Assertions.assertThat(ids(usuario, "AGUA")).containsExactly(agua.getId());
+		Assertions.assertThat(ids(usuario, "alug")).containsExactly(aluguel.getId());
+		Assertions.assertThat(ids(usuario, "janeiro SALÁRIO")).containsExactly(salario.getId());
+		Assertions.assertThat(ids(usuario, "salario fevereiro")).isEmpty();
+
+		LancamentoResumo resumo = pesquisaService.pesquisar(usuario.getId(), "salario", null).get(0);
+		Assertions.assertThat(resumo.getDescricao()).isEqualTo("Salário janeiro");
+		Assertions.assertThat(resumo.getUsuarioId()).isEqualTo(usuario.getId());
+		Assertions.assertThat(resumo.getValor()).isEqualByComparingTo(salario.getValor());
+		Assertions.assertThat(resumo.getStatus()).isEqualTo(salario.getStatus());
+	}
+
+	@Test
+	public void hasKeepIndexInSyncWithCommittedWritesOnly() {
+		// cenario
+		Usuario usuario = criarUsuario("sincronia.pesquisa@email.com");
+		Lancamento lancamento = salvar(usuario, "Mercado");
+		Lancamento farmacia = salvar(usuario, "Farmácia");
+
+		// execucao
+		lancamento.setDescricao("Padaria");
+		lancamentoService.atualizar(lancamento);
+		lancamentoService.deletar(farmacia);
+		transactionTemplate.execute(status -> {
+			salvar(usuario, "Cinema");
+			status.setRollbackOnly();
+			return null;
+		});
+
+		// verificacao
+		Assertions.assertThat(ids(usuario, "mercado")).isEmpty();
+		Assertions.assertThat(ids(usuario, "padaria")).containsExactly(lancamento.getId());
+		Assertions.assertThat(ids(usuario, "farmacia")).isEmpty();
+		Assertions.assertThat(ids(usuario, "cinema")).isEmpty();
+	}
+
+	@Test
+	public void hasRebuildIndexFromTheDatabase() {
+		// cenario
+		Usuario usuario = criarUsuario("reconstrucao.pesquisa@email.com");
+		jdbcTemplate.update("insert into financas.lancamento (id, descricao, descricao_busca, mes, ano, id_usuario, "
+				+ "valor, tipo, status) values (next value for financas.lancamento_seq, 'Academia', 'academia', 1, "
+				+ "2022, ?, 90, 'DESPESA', 'PENDENTE')", usuario.getId());
+		Assertions.assertThat(ids(usuario, "academia")).isEmpty();
+
+		// execucao
+		pesquisaService.reindexar();
+
+		// verificacao
+		Assertions.assertThat(ids(usuario, "academia")).hasSize(1);
+	}
+
+	@Test(expected = RegraNegocioException.class)
+	public void mustThrowErrorWhenSearchingWithoutText() {
+		pesquisaService.pesquisar(1l, " , ", null);
+	}
+
+	private Usuario criarUsuario(String email) {
+		Usuario usuario = usuarioRepository
+				.save(Usuario.builder().nome("usuario").email(email).senha("senha").build());
+		usuarios.add(usuario);
+		return usuario;
+	}
+
+	private Lancamento salvar(Usuario usuario, String descricao) {
+		Lancamento lancamento = LancamentoRepositoryTest.createLaunch();
+		lancamento.setUsuario(usuario);
+		lancamento.setDescricao(descricao);
+		return lancamentoService.salvar(lancamento);
+	}
+
+	private List<Long> ids(Usuario usuario, String texto) {
+		List<Long> ids = new ArrayList<>();
+		pesquisaService.pesquisar(usuario.getId(), texto, null).forEach(resumo -> ids.add(resumo.getId()));
+		return ids;
+	}
+}
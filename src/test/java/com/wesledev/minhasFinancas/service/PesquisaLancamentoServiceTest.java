@@ -0,0 +1,129 @@
+package com.wesledev.minhasFinancas.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.wesledev.minhasFinancas.model.entity.Lancamento;
+import com.wesledev.minhasFinancas.model.entity.Usuario;
+import com.wesledev.minhasFinancas.model.enums.StatusLancamento;
+import com.wesledev.minhasFinancas.model.enums.TipoLancamento;
+import com.wesledev.minhasFinancas.model.repository.LancamentoRepository;
+import com.wesledev.minhasFinancas.service.impl.PesquisaLancamentoServiceImpl;
+import com.wesledev.minhasFinancas.service.impl.VersaoLancamentos;
+
+@RunWith(SpringRunner.class)
+@ActiveProfiles("test")
+public class PesquisaLancamentoServiceTest {
+
+	@SpyBean
+	PesquisaLancamentoServiceImpl service;
+
+	@MockBean
+	LancamentoRepository repository;
+
+	@MockBean
+	VersaoLancamentos versoes;
+
+	@Test
+	public void hasKeepIndexSearchableWhileRebuildingAndApplyConcurrentWrites() {
+		// cenario
+		Lancamento mercado = criarLancamento(1l, "Mercado", 2022);
+		Lancamento farmacia = criarLancamento(2l, "Farmacia", 2022);
+		Lancamento cinema = criarLancamento(3l, "Cinema", 2022);
+		service.indexar(mercado);
+		service.indexar(farmacia);
+		service.indexar(cinema);
+
+		// o cinema nao esta mais no banco e a farmacia e removida depois de lida pela reconstrucao
+		List<Long> duranteReconstrucao = new ArrayList<>();
+		Mockito.doAnswer(invocacao -> {
+			Consumer<Lancamento> consumidor = invocacao.getArgument(0);
+			consumidor.accept(mercado);
+			duranteReconstrucao.addAll(ids("mercado"));
+			duranteReconstrucao.addAll(ids("cinema"));
+			service.remover(farmacia);
+			consumidor.accept(farmacia);
+			return null;
+		}).when(repository).percorrerTodos(Mockito.any());
+
+		// execucao
+		long total = service.reindexar();
+
+		// verificacao
+		Assertions.assertThat(total).isEqualTo(2);
+		Assertions.assertThat(duranteReconstrucao).containsExactly(1l, 3l);
+		Assertions.assertThat(ids("mercado")).containsExactly(1l);
+		Assertions.assertThat(ids("farmacia")).isEmpty();
+		Assertions.assertThat(ids("cinema")).isEmpty();
+	}
+
+	@Test
+	public void hasReindexOnlyUsersWhoseVersionChanged() {
+		// cenario
+		Lancamento aluguel = criarLancamento(4l, "Aluguel", 2022);
+		Lancamento mercado = criarLancamento(5l, "Mercado", 2022);
+		Lancamento doOutroUsuario = criarLancamento(6l, "Aluguel", 2022);
+		doOutroUsuario.setUsuario(Usuario.builder().id(2l).build());
+		Mockito.when(versoes.obterMaiorIdUsuario()).thenReturn(2l);
+		Mockito.when(versoes.obterDaFaixa(Mockito.anyLong(), Mockito.anyLong())).thenReturn(versoes(1l, 1l));
+		Mockito.doAnswer(invocacao -> {
+			Consumer<Lancamento> consumidor = invocacao.getArgument(0);
+			consumidor.accept(aluguel);
+			consumidor.accept(mercado);
+			consumidor.accept(doOutroUsuario);
+			return null;
+		}).when(repository).percorrerTodos(Mockito.any());
+		service.reindexar();
+
+		// outra instancia alterou o aluguel e removeu o mercado do usuario 1
+		Mockito.when(versoes.obterDaFaixa(Mockito.anyLong(), Mockito.anyLong())).thenReturn(versoes(2l, 1l));
+		Mockito.doAnswer(invocacao -> {
+			Consumer<Lancamento> consumidor = invocacao.getArgument(1);
+			consumidor.accept(aluguel.toBuilder().descricao("Condominio").build());
+			return null;
+		}).when(repository).percorrerPorUsuario(Mockito.eq(1l), Mockito.any());
+
+		// execucao
+		service.sincronizar();
+		service.sincronizar();
+
+		// verificacao
+		Assertions.assertThat(ids("condominio")).containsExactly(4l);
+		Assertions.assertThat(ids("aluguel")).isEmpty();
+		Assertions.assertThat(ids("mercado")).isEmpty();
+		Mockito.verify(repository).percorrerPorUsuario(Mockito.eq(1l), Mockito.any());
+		Mockito.verify(repository, Mockito.never()).percorrerPorUsuario(Mockito.eq(2l), Mockito.any());
+	}
+
+	private Map<Long, Long> versoes(Long doUsuario, Long doOutroUsuario) {
+		Map<Long, Long> versoes = new HashMap<>();
+		versoes.put(1l, doUsuario);
+		versoes.put(2l, doOutroUsuario);
+		return versoes;
+	}
+
+	private List<Long> ids(String texto) {
+		List<Long> ids = new ArrayList<>();
+		service.pesquisar(1l, texto, null).forEach(resumo -> ids.add(resumo.getId()));
+		return ids;
+	}
+
+	private Lancamento criarLancamento(Long id, String descricao, Integer ano) {
+		return Lancamento.builder().id(id).descricao(descricao).mes(1).ano(ano).valor(BigDecimal.TEN)
+				.tipo(TipoLancamento.DESPESA).status(StatusLancamento.PENDENTE).usuario(Usuario.builder().id(1l).build())
+				.build();
+	}
+}
@@ -0,0 +1,130 @@
+package com.wesledev.minhasFinancas.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import javax.persistence.EntityManager;
+
+import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.wesledev.minhasFinancas.api.dto.FiltroLancamentoDTO;
+import com.wesledev.minhasFinancas.exception.RegraNegocioException;
+import com.wesledev.minhasFinancas.job.RecorrenciaJob;
+import com.wesledev.minhasFinancas.model.entity.Recorrencia;
+import com.wesledev.minhasFinancas.model.entity.Usuario;
+import com.wesledev.minhasFinancas.model.enums.TipoLancamento;
+import com.wesledev.minhasFinancas.model.repository.UsuarioRepository;
+import com.wesledev.minhasFinancas.model.repository.UsuarioRepositoryTest;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+public class RecorrenciaIntegracaoTest {
+
+	@Autowired
+	RecorrenciaService recorrenciaService;
+
+	@Autowired
+	RecorrenciaJob job;
+
+	@Autowired
+	LancamentoService lancamentoService;
+
+	@Autowired
+	SaldoMensalService saldoMensalService;
+
+	@Autowired
+	UsuarioRepository usuarioRepository;
+
+	@Autowired
+	EntityManager entityManager;
+
+	@Test
+	public void hasGenerateOneLaunchPerDueMonthUntilTheFinalDate() {
+		// cenario
+		Usuario usuario = usuarioRepository.save(UsuarioRepositoryTest.createUser());
+		Recorrencia aluguel = recorrenciaService.salvar(criarRecorrencia(usuario, "Aluguel", TipoLancamento.DESPESA,
+				LocalDate.of(2021, 1, 31), LocalDate.of(2021, 3, 31)));
+		Recorrencia futura = recorrenciaService.salvar(criarRecorrencia(usuario, "Salário", TipoLancamento.RECEITA,
+				LocalDate.of(2021, 4, 5), null));
+
+		// execucao
+		int lotes = 0;
+		while (recorrenciaService.gerarOcorrencias(usuario.getId(), usuario.getId(), LocalDate.of(2021, 3, 31)) > 0) {
+			lotes++;
+		}
+
+		// verificacao
+		Assertions.assertThat(lotes).isEqualTo(3);
+		Assertions.assertThat(lancamentoService.buscar(FiltroLancamentoDTO.builder().usuario(usuario.getId()).build()))
+				.extracting("descricao", "mes", "dataCadastro").containsExactly(
+						Assertions.tuple("Aluguel", 1, LocalDate.of(2021, 1, 31)),
+						Assertions.tuple("Aluguel", 2, LocalDate.of(2021, 2, 28)),
+						Assertions.tuple("Aluguel", 3, LocalDate.of(2021, 3, 31)));
+		Assertions.assertThat(recorrenciaService.obterPorId(aluguel.getId()).get().getProximaOcorrencia()).isNull();
+		Assertions.assertThat(recorrenciaService.obterPorId(futura.getId()).get().getProximaOcorrencia())
+				.isEqualTo(LocalDate.of(2021, 4, 5));
+		Assertions.assertThat(saldoMensalService.verificar()).isEmpty();
+		Assertions.assertThat(lancamentoService.obterSaldoPorUsuario(usuario.getId()))
+				.hasValueSatisfying(saldo -> Assertions.assertThat(saldo).isEqualByComparingTo("-300"));
+	}
+
+	@Test
+	public void hasGenerateOccurrencesOfManyUsersWithoutLoadingThem() {
+		// cenario
+		LocalDate hoje = LocalDate.now();
+		Usuario primeiro = usuarioRepository.save(UsuarioRepositoryTest.createUser());
+		Usuario segundo = usuarioRepository
+				.save(UsuarioRepositoryTest.createUser().toBuilder().email("segundo@email.com").build());
+		recorrenciaService.salvar(criarRecorrencia(primeiro, "Salário", TipoLancamento.RECEITA, hoje.minusMonths(2),
+				null));
+		recorrenciaService.salvar(criarRecorrencia(segundo, "Assinatura", TipoLancamento.DESPESA, hoje, null));
+		entityManager.flush();
+		entityManager.clear();
+
+		Statistics estatisticas = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class)
+				.getStatistics();
+		estatisticas.setStatisticsEnabled(true);
+		estatisticas.clear();
+
+		// execucao
+		int geradas = job.executar();
+
+		// verificacao
+		Assertions.assertThat(geradas).isEqualTo(4);
+		Assertions.assertThat(estatisticas.getEntityStatistics(Usuario.class.getName()).getLoadCount()).isZero();
+		Assertions.assertThat(lancamentoService.buscar(FiltroLancamentoDTO.builder().usuario(primeiro.getId()).build()))
+				.hasSize(3);
+		Assertions.assertThat(lancamentoService.buscar(FiltroLancamentoDTO.builder().usuario(segundo.getId()).build()))
+				.extracting("descricao").containsExactly("Assinatura");
+		Assertions.assertThat(job.executar()).isZero();
+	}
+
+	@Test
+	public void mustRejectRecurrenceEndingBeforeItsNextOccurrence() {
+		// cenario
+		Usuario usuario = usuarioRepository.save(UsuarioRepositoryTest.createUser());
+		Recorrencia recorrencia = criarRecorrencia(usuario, "Aluguel", TipoLancamento.DESPESA,
+				LocalDate.of(2021, 5, 10), LocalDate.of(2021, 4, 10));
+
+		// execucao e verificacao
+		Assertions.assertThatThrownBy(() -> recorrenciaService.salvar(recorrencia))
+				.isInstanceOf(RegraNegocioException.class);
+	}
+
+	private Recorrencia criarRecorrencia(Usuario usuario, String descricao, TipoLancamento tipo,
+			LocalDate proximaOcorrencia, LocalDate dataFinal) {
+		return Recorrencia.builder().descricao(descricao).valor(BigDecimal.valueOf(100)).tipo(tipo)
+				.proximaOcorrencia(proximaOcorrencia).dataFinal(dataFinal).usuario(usuario).build();
+	}
+}
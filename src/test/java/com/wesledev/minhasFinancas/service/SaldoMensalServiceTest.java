@@ -0,0 +1,244 @@
+package com.wesledev.minhasFinancas.service;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.wesledev.minhasFinancas.api.dto.RelatorioAnualDTO;
+import com.wesledev.minhasFinancas.api.dto.RelatorioMensalDTO;
+import com.wesledev.minhasFinancas.model.entity.Lancamento;
+import com.wesledev.minhasFinancas.model.entity.SaldoMensal;
+import com.wesledev.minhasFinancas.model.entity.SaldoMensalId;
+import com.wesledev.minhasFinancas.model.entity.Usuario;
+import com.wesledev.minhasFinancas.model.enums.StatusLancamento;
+import com.wesledev.minhasFinancas.model.enums.TipoLancamento;
+import com.wesledev.minhasFinancas.model.projection.SaldoUsuario;
+import com.wesledev.minhasFinancas.model.repository.LancamentoArquivadoRepository;
+import com.wesledev.minhasFinancas.model.repository.LancamentoRepositoryTest;
+import com.wesledev.minhasFinancas.model.repository.SaldoMensalRepository;
+import com.wesledev.minhasFinancas.service.impl.SaldoMensalServiceImpl;
+import com.wesledev.minhasFinancas.service.impl.SaldoUsuarioCache;
+import com.wesledev.minhasFinancas.service.impl.VersaoLancamentos;
+
+@RunWith(SpringRunner.class)
+@ActiveProfiles("test")
+public class SaldoMensalServiceTest {
+
+	@SpyBean
+	SaldoMensalServiceImpl service;
+
+	@MockBean
+	SaldoMensalRepository repository;
+
+	@MockBean
+	LancamentoArquivadoRepository arquivoRepository;
+
+	@SpyBean
+	SaldoUsuarioCache cache;
+
+	@MockBean
+	VersaoLancamentos versoes;
+
+	@Test
+	public void hasAddLaunchToMonthlyBalance() {
+		// cenario
+		Lancamento lancamento = criarLancamento();
+		SaldoMensalId id = SaldoMensalId.of(lancamento);
+
+		// execucao
+		service.adicionar(lancamento);
+
+		// verificacao
+		Mockito.verify(repository).somar(id, lancamento.getValor(), 1l);
+	}
+
+	@Test
+	public void hasSubtractRemovedLaunchFromMonthlyBalance() {
+		// cenario
+		Lancamento lancamento = criarLancamento();
+		SaldoMensalId id = SaldoMensalId.of(lancamento);
+
+		// execucao
+		service.remover(lancamento);
+
+		// verificacao
+		Mockito.verify(repository).somar(id, lancamento.getValor().negate(), -1l);
+	}
+
+	@Test
+	public void mustIgnoreLaunchesThatCannotBeAccounted() {
+		// execucao
+		service.adicionar(null);
+		service.remover(new Lancamento());
+
+		// verificacao
+		Mockito.verifyZeroInteractions(repository);
+	}
+
+	@Test
+	public void hasReportDriftBetweenMonthlyBalancesAndLaunches() {
+		// cenario
+		SaldoMensal correto = new SaldoMensal(1l, 2022, 1, TipoLancamento.RECEITA, StatusLancamento.PENDENTE,
+				BigDecimal.TEN, 1l);
+		SaldoMensal registrado = new SaldoMensal(1l, 2022, 2, TipoLancamento.DESPESA, StatusLancamento.PENDENTE,
+				BigDecimal.valueOf(5), 1l);
+		SaldoMensal esperado = new SaldoMensal(1l, 2022, 2, TipoLancamento.DESPESA, StatusLancamento.PENDENTE,
+				BigDecimal.valueOf(8), 2l);
+		SaldoMensal orfao = new SaldoMensal(1l, 2022, 3, TipoLancamento.DESPESA, StatusLancamento.PENDENTE,
+				BigDecimal.ONE, 1l);
+
+		Mockito.when(repository.findAll()).thenReturn(Arrays.asList(correto, registrado, orfao));
+		Mockito.when(repository.calcularAPartirDosLancamentos()).thenReturn(Arrays.asList(correto, esperado));
+
+		// execucao
+		List<SaldoMensal> divergencias = service.verificar();
+
+		// verificacao
+		Assertions.assertThat(divergencias).containsExactlyInAnyOrder(
+				new SaldoMensal(esperado.getId(), BigDecimal.valueOf(3), 1l),
+				new SaldoMensal(orfao.getId(), BigDecimal.ONE.negate(), -1l));
+	}
+
+	@Test
+	public void hasAddArchivedLaunchesWhenVerifyingMonthlyBalances() {
+		// cenario: o mes segue em saldo_mensal depois que parte dos lancamentos foi arquivada
+		SaldoMensal registrado = new SaldoMensal(1l, 2015, 6, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO,
+				BigDecimal.valueOf(30), 3l);
+		SaldoMensal ativo = new SaldoMensal(1l, 2015, 6, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO,
+				BigDecimal.valueOf(10), 1l);
+		SaldoMensal arquivado = new SaldoMensal(1l, 2015, 6, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO,
+				BigDecimal.valueOf(20), 2l);
+
+		Mockito.when(repository.findAll()).thenReturn(Arrays.asList(registrado));
+		Mockito.when(repository.calcularAPartirDosLancamentos()).thenReturn(Arrays.asList(ativo));
+		Mockito.when(arquivoRepository.calcularSaldos()).thenReturn(Arrays.asList(arquivado));
+
+		// execucao
+		List<SaldoMensal> divergencias = service.verificar();
+
+		// verificacao
+		Assertions.assertThat(divergencias).isEmpty();
+	}
+
+	@Test
+	public void hasLockUserBeforeRecalculatingAndCorrectingItsBalances() {
+		// cenario
+		SaldoMensal registrado = new SaldoMensal(1l, 2022, 2, TipoLancamento.DESPESA, StatusLancamento.PENDENTE,
+				BigDecimal.valueOf(5), 1l);
+		SaldoMensal esperado = new SaldoMensal(1l, 2022, 2, TipoLancamento.DESPESA, StatusLancamento.PENDENTE,
+				BigDecimal.valueOf(8), 2l);
+		Mockito.when(repository.obterPorUsuario(1l)).thenReturn(Arrays.asList(registrado));
+		Mockito.when(repository.calcularAPartirDosLancamentos(1l)).thenReturn(Arrays.asList(esperado));
+
+		// execucao
+		List<SaldoMensal> corrigidos = service.corrigir(1l);
+
+		// verificacao
+		Assertions.assertThat(corrigidos).containsExactly(new SaldoMensal(esperado.getId(), BigDecimal.valueOf(3), 1l));
+		InOrder ordem = Mockito.inOrder(versoes, repository);
+		ordem.verify(versoes).registrar(1l);
+		ordem.verify(repository).obterPorUsuario(1l);
+		ordem.verify(repository).somar(esperado.getId(), BigDecimal.valueOf(3), 1l);
+	}
+
+	@Test
+	public void hasBuildYearlyReportByMonthAndStatus() {
+		// cenario
+		Mockito.when(repository.obterPorUsuarioEAno(1l, 2022)).thenReturn(Arrays.asList(
+				new SaldoMensal(1l, 2022, 1, TipoLancamento.RECEITA, StatusLancamento.EFETIVADO,
+						BigDecimal.valueOf(3000), 1l),
+				new SaldoMensal(1l, 2022, 1, TipoLancamento.DESPESA, StatusLancamento.EFETIVADO,
+						BigDecimal.valueOf(1200), 2l),
+				new SaldoMensal(1l, 2022, 1, TipoLancamento.DESPESA, StatusLancamento.PENDENTE,
+						BigDecimal.valueOf(300), 1l),
+				new SaldoMensal(1l, 2022, 3, TipoLancamento.DESPESA, StatusLancamento.CANCELADO,
+						BigDecimal.valueOf(50), 1l)));
+
+		// execucao
+		RelatorioAnualDTO relatorio = service.obterRelatorioAnual(1l, 2022);
+
+		// verificacao
+		Assertions.assertThat(relatorio.getAno()).isEqualTo(2022);
+		Assertions.assertThat(relatorio.getMeses()).hasSize(12);
+		RelatorioMensalDTO janeiro = relatorio.getMeses().get(0);
+		Assertions.assertThat(janeiro.getMes()).isEqualTo(1);
+		Assertions.assertThat(janeiro.getTotal().getReceitas()).isEqualByComparingTo("3000");
+		Assertions.assertThat(janeiro.getTotal().getDespesas()).isEqualByComparingTo("1500");
+		Assertions.assertThat(janeiro.getTotal().getSaldo()).isEqualByComparingTo("1500");
+		Assertions.assertThat(janeiro.getTotal().getQuantidade()).isEqualTo(4);
+		Assertions.assertThat(janeiro.getPorStatus().get(StatusLancamento.EFETIVADO).getSaldo())
+				.isEqualByComparingTo("1800");
+		Assertions.assertThat(janeiro.getPorStatus().get(StatusLancamento.PENDENTE).getSaldo())
+				.isEqualByComparingTo("-300");
+		Assertions.assertThat(janeiro.getPorStatus().get(StatusLancamento.CANCELADO).getQuantidade()).isZero();
+		Assertions.assertThat(relatorio.getMeses().get(1).getTotal().getSaldo()).isEqualByComparingTo("0");
+		Assertions.assertThat(relatorio.getMeses().get(2).getPorStatus().get(StatusLancamento.CANCELADO).getDespesas())
+				.isEqualByComparingTo("50");
+		Assertions.assertThat(relatorio.getTotal().getSaldo()).isEqualByComparingTo("1450");
+	}
+
+	@Test
+	public void hasAggregateBatchIntoOneUpdatePerMonthlyBalance() {
+		// cenario
+		Lancamento primeiro = criarLancamento();
+		Lancamento segundo = criarLancamento();
+		SaldoMensalId id = SaldoMensalId.of(primeiro);
+		// execucao
+		service.adicionarTodos(Arrays.asList(primeiro, segundo, new Lancamento()));
+
+		// verificacao
+		Mockito.verify(repository).somar(id, primeiro.getValor().add(segundo.getValor()), 2l);
+		Mockito.verifyNoMoreInteractions(repository);
+	}
+
+	@Test
+	public void hasAggregateRemovedBatchIntoOneNegativeUpdatePerMonthlyBalance() {
+		// cenario
+		Lancamento primeiro = criarLancamento();
+		Lancamento segundo = criarLancamento();
+		SaldoMensalId id = SaldoMensalId.of(primeiro);
+		// execucao
+		service.removerTodos(Arrays.asList(primeiro, segundo));
+
+		// verificacao
+		Mockito.verify(repository).somar(id, primeiro.getValor().add(segundo.getValor()).negate(), -2l);
+		Mockito.verifyNoMoreInteractions(repository);
+	}
+
+	@Test
+	public void hasServeBalanceFromCacheUntilTheUserIsWritten() {
+		// cenario: a escrita, nesta ou em outra instancia, avanca a versao do usuario
+		Mockito.when(versoes.obter(1l)).thenReturn("1-0", "1-0", "1-1");
+		SaldoUsuario saldo = Mockito.mock(SaldoUsuario.class, Mockito.CALLS_REAL_METHODS);
+		Mockito.doReturn(1l).when(saldo).getUsuarios();
+		Mockito.doReturn(BigDecimal.TEN).when(saldo).getReceitas();
+		Mockito.doReturn(BigDecimal.valueOf(4)).when(saldo).getDespesas();
+		Mockito.when(repository.obterSaldoPorUsuario(1l)).thenReturn(saldo);
+
+		// execucao
+		BigDecimal primeiro = service.obterSaldoPorUsuario(1l).getSaldo();
+		BigDecimal segundo = service.obterSaldoPorUsuario(1l).getSaldo();
+		service.obterSaldoPorUsuario(1l);
+
+		// verificacao
+		Assertions.assertThat(primeiro).isEqualByComparingTo("6");
+		Assertions.assertThat(segundo).isEqualByComparingTo("6");
+		Mockito.verify(repository, Mockito.times(2)).obterSaldoPorUsuario(1l);
+	}
+
+	private Lancamento criarLancamento() {
+		Lancamento lancamento = LancamentoRepositoryTest.createLaunch();
+		lancamento.setUsuario(Usuario.builder().id(1l).build());
+		return lancamento;
+	}
+}
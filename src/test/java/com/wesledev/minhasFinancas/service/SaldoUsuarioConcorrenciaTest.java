@@ -0,0 +1,160 @@
+package com.wesledev.minhasFinancas.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.assertj.core.api.Assertions;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import com.wesledev.minhasFinancas.model.entity.Lancamento;
+import com.wesledev.minhasFinancas.model.entity.Usuario;
+import com.wesledev.minhasFinancas.model.enums.StatusLancamento;
+import com.wesledev.minhasFinancas.model.enums.TipoLancamento;
+import com.wesledev.minhasFinancas.model.repository.LancamentoRepositoryTest;
+import com.wesledev.minhasFinancas.model.repository.UsuarioRepository;
+import com.wesledev.minhasFinancas.service.impl.SaldoUsuarioCache;
+
+/**
+ * Varias threads escrevendo lancamentos do mesmo usuario (cada uma nos seus, ja que atualizacoes concorrentes do mesmo
+ * lancamento nao fazem parte do que o cache resolve) e lendo o saldo ao mesmo tempo. A cada rodada, com as threads
+ * paradas, o saldo em cache tem que ser igual a soma feita em SQL sobre a tabela de lancamentos.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles("test")
+public class SaldoUsuarioConcorrenciaTest {
+
+	static final int THREADS = 8;
+	static final int RODADAS = 5;
+	static final int OPERACOES_POR_RODADA = 25;
+
+	@Autowired
+	LancamentoService lancamentoService;
+
+	@Autowired
+	UsuarioRepository usuarioRepository;
+
+	@Autowired
+	SaldoUsuarioCache saldoUsuarioCache;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	Usuario usuario;
+
+	@After
+	public void tearDown() {
+		if (usuario != null) {
+			jdbcTemplate.update("delete from financas.lancamento where id_usuario = ?", usuario.getId());
+			jdbcTemplate.update("delete from financas.saldo_mensal where id_usuario = ?", usuario.getId());
+			jdbcTemplate.update("delete from financas.usuario where id = ?", usuario.getId());
+			saldoUsuarioCache.invalidar(usuario.getId());
+		}
+	}
+
+	@Test
+	public void hasKeepCachedBalanceEqualToSqlSumUnderConcurrentWrites() throws Exception {
+		// cenario
+		usuario = usuarioRepository
+				.save(Usuario.builder().nome("usuario").email("concorrencia@email.com").senha("senha").build());
+		List<String> divergencias = new CopyOnWriteArrayList<>();
+		AtomicInteger escritas = new AtomicInteger();
+		CyclicBarrier fimDaRodada = new CyclicBarrier(THREADS, () -> comparar(divergencias));
+
+		// execucao
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		List<Future<?>> tarefas = new ArrayList<>();
+		for (int i = 0; i < THREADS; i++) {
+			tarefas.add(executor.submit(() -> {
+				List<Long> meusLancamentos = new ArrayList<>();
+				for (int rodada = 0; rodada < RODADAS; rodada++) {
+					for (int operacao = 0; operacao < OPERACOES_POR_RODADA; operacao++) {
+						if (escrever(meusLancamentos)) {
+							escritas.incrementAndGet();
+						}
+						lancamentoService.obterSaldoPorUsuario(usuario.getId());
+					}
+					fimDaRodada.await();
+				}
+				return null;
+			}));
+		}
+		for (Future<?> tarefa : tarefas) {
+			tarefa.get();
+		}
+		executor.shutdown();
+
+		// verificacao
+		Assertions.assertThat(escritas.get()).isGreaterThan(THREADS * RODADAS * OPERACOES_POR_RODADA / 2);
+		Assertions.assertThat(divergencias).isEmpty();
+		BigDecimal emCache = saldoUsuarioCache.obter(usuario.getId(), () -> {
+			throw new AssertionError("O saldo deveria estar em cache.");
+		}).getSaldo();
+		Assertions.assertThat(emCache).isEqualByComparingTo(somarLancamentos());
+	}
+
+	private void comparar(List<String> divergencias) {
+		BigDecimal emCache = lancamentoService.obterSaldoPorUsuario(usuario.getId()).get();
+		BigDecimal calculado = somarLancamentos();
+		if (emCache.compareTo(calculado) != 0) {
+			divergencias.add("cache " + emCache + " != sql " + calculado);
+		}
+	}
+
+	private BigDecimal somarLancamentos() {
+		return jdbcTemplate.queryForObject("select coalesce(sum(case when tipo = 'RECEITA' then valor else -valor end), "
+				+ "0) from financas.lancamento where id_usuario = ?", BigDecimal.class, usuario.getId());
+	}
+
+	/**
+	 * @return se a escrita foi confirmada; conflitos de lock entre as threads desfazem a transacao, o que tambem
+	 *         exercita o descarte dos deltas no cache
+	 */
+	private boolean escrever(List<Long> meusLancamentos) {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		try {
+			int operacao = meusLancamentos.isEmpty() ? 0 : random.nextInt(4);
+			if (operacao == 0) {
+				Lancamento lancamento = LancamentoRepositoryTest.createLaunch();
+				lancamento.setUsuario(usuario);
+				lancamento.setMes(random.nextInt(1, 4));
+				lancamento.setTipo(random.nextBoolean() ? TipoLancamento.RECEITA : TipoLancamento.DESPESA);
+				lancamento.setValor(BigDecimal.valueOf(random.nextInt(1, 100)));
+				meusLancamentos.add(lancamentoService.salvar(lancamento).getId());
+				return true;
+			}
+
+			Long id = meusLancamentos.get(random.nextInt(meusLancamentos.size()));
+			Lancamento lancamento = lancamentoService.obterPorId(id).get();
+			if (operacao == 1) {
+				lancamento.setValor(BigDecimal.valueOf(random.nextInt(1, 100)));
+				lancamento.setTipo(random.nextBoolean() ? TipoLancamento.RECEITA : TipoLancamento.DESPESA);
+				lancamentoService.atualizar(lancamento);
+			} else if (operacao == 2) {
+				lancamentoService.atualizarStatus(lancamento,
+						random.nextBoolean() ? StatusLancamento.EFETIVADO : StatusLancamento.CANCELADO);
+			} else {
+				lancamentoService.deletar(lancamento);
+				meusLancamentos.remove(id);
+			}
+			return true;
+		} catch (RuntimeException e) {
+			return false;
+		}
+	}
+}
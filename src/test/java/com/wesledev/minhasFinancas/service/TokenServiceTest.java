@@ -0,0 +1,66 @@
+package com.wesledev.minhasFinancas.service;
+
+import java.time.Duration;
+import java.util.Base64;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+
+import com.wesledev.minhasFinancas.model.entity.Usuario;
+import com.wesledev.minhasFinancas.service.impl.TokenServiceImpl;
+
+public class TokenServiceTest {
+
+	static final String SEGREDO = Base64.getEncoder().encodeToString("segredo-de-teste-com-32-bytes!!!".getBytes());
+
+	TokenService service = new TokenServiceImpl(SEGREDO, Duration.ofHours(1), false);
+
+	@Test
+	public void hasValidateIssuedToken() {
+		// cenario
+		String token = service.gerar(Usuario.builder().id(42l).build());
+
+		// execucao e verificacao
+		Assertions.assertThat(service.validar(token)).contains(42l);
+	}
+
+	@Test
+	public void mustRejectTamperedToken() {
+		// cenario
+		String token = service.gerar(Usuario.builder().id(42l).build());
+		String outroUsuario = service.gerar(Usuario.builder().id(43l).build());
+		String adulterado = outroUsuario.substring(0, outroUsuario.indexOf('.')) + token.substring(token.indexOf('.'));
+
+		// execucao e verificacao
+		Assertions.assertThat(service.validar(adulterado)).isEmpty();
+		Assertions.assertThat(service.validar("sem-assinatura")).isEmpty();
+		Assertions.assertThat(service.validar("a.%%%")).isEmpty();
+		Assertions.assertThat(service.validar(null)).isEmpty();
+	}
+
+	@Test
+	public void mustRejectTokenSignedWithAnotherKey() {
+		// cenario
+		String token = new TokenServiceImpl("", Duration.ofHours(1), false).gerar(Usuario.builder().id(42l).build());
+
+		// execucao e verificacao
+		Assertions.assertThat(service.validar(token)).isEmpty();
+	}
+
+	@Test
+	public void mustRejectExpiredToken() {
+		// cenario
+		String token = new TokenServiceImpl(SEGREDO, Duration.ofSeconds(-1), false).gerar(Usuario.builder().id(42l).build());
+
+		// execucao e verificacao
+		Assertions.assertThat(service.validar(token)).isEmpty();
+	}
+
+	@Test
+	public void mustFailWithoutSecretWhenRequired() {
+		// execucao e verificacao
+		Assertions.assertThatThrownBy(() -> new TokenServiceImpl("", Duration.ofHours(1), true))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("financas.token.segredo");
+	}
+}
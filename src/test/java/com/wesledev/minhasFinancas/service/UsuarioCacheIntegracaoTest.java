@@ -0,0 +1,90 @@
+package com.wesledev.minhasFinancas.service;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.wesledev.minhasFinancas.config.CacheConfig;
+import com.wesledev.minhasFinancas.model.entity.Usuario;
+import com.wesledev.minhasFinancas.model.repository.UsuarioRepositoryTest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+public class UsuarioCacheIntegracaoTest {
+
+	@Autowired
+	UsuarioService usuarioService;
+
+	@Autowired
+	CacheManager cacheManager;
+
+	@Autowired
+	MeterRegistry meterRegistry;
+
+	@Before
+	public void setUp() {
+		cacheManager.getCache(CacheConfig.USUARIOS).clear();
+		cacheManager.getCache(CacheConfig.USUARIOS_POR_EMAIL).clear();
+	}
+
+	@Test
+	public void hasServeRepeatedLookupsByIdFromCache() {
+		// cenario
+		Usuario usuario = usuarioService.salvarUsuario(UsuarioRepositoryTest.createUser());
+		double acertos = contador(CacheConfig.USUARIOS, "hit");
+
+		// execucao
+		Usuario primeiro = usuarioService.obterPorId(usuario.getId()).get();
+		Usuario segundo = usuarioService.obterPorId(usuario.getId()).get();
+
+		// verificacao
+		Assertions.assertThat(segundo).isSameAs(primeiro);
+		Assertions.assertThat(contador(CacheConfig.USUARIOS, "hit")).isEqualTo(acertos + 1);
+	}
+
+	@Test
+	public void mustNotCacheUnknownUsers() {
+		// execucao
+		boolean presente = usuarioService.obterPorId(-1l).isPresent();
+
+		// verificacao
+		Assertions.assertThat(presente).isFalse();
+		Assertions.assertThat(cacheManager.getCache(CacheConfig.USUARIOS).get(-1l)).isNull();
+	}
+
+	@Test
+	public void hasEvictCachedUserWhenSaving() {
+		// cenario
+		Usuario usuario = usuarioService.salvarUsuario(UsuarioRepositoryTest.createUser());
+		usuarioService.obterPorId(usuario.getId());
+		usuarioService.autenticar(usuario.getEmail(), "senha");
+		Assertions.assertThat(cacheManager.getCache(CacheConfig.USUARIOS).get(usuario.getId())).isNotNull();
+		Assertions.assertThat(cacheManager.getCache(CacheConfig.USUARIOS_POR_EMAIL).get("usuario@email.com"))
+				.isNotNull();
+
+		// execucao
+		usuarioService.salvarUsuario(Usuario.builder().id(usuario.getId()).nome(usuario.getNome())
+				.email("outro@email.com").senha(usuario.getSenha()).build());
+
+		// verificacao
+		Assertions.assertThat(cacheManager.getCache(CacheConfig.USUARIOS).get(usuario.getId())).isNull();
+		Assertions.assertThat(cacheManager.getCache(CacheConfig.USUARIOS_POR_EMAIL).get("usuario@email.com"))
+				.isNull();
+	}
+
+	private double contador(String cache, String resultado) {
+		return meterRegistry.get("cache.gets").tag("cache", cache).tag("result", resultado).functionCounter()
+				.count();
+	}
+}
@@ -5,12 +5,17 @@ import java.util.Optional;
 import org.assertj.core.api.Assertions;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import com.wesledev.minhasFinancas.config.AutenticacaoConfig;
 import com.wesledev.minhasFinancas.exception.ErrorAutenticacao;
 import com.wesledev.minhasFinancas.exception.RegraNegocioException;
 import com.wesledev.minhasFinancas.model.entity.Usuario;
@@ -19,6 +24,7 @@ import com.wesledev.minhasFinancas.service.impl.UsuarioServiceImpl;
 
 @RunWith(SpringRunner.class)
 @ActiveProfiles("test")
+@ContextConfiguration(classes = AutenticacaoConfig.class)
 public class UsuarioServiceTest {
 
 	@SpyBean
@@ -27,6 +33,9 @@ public class UsuarioServiceTest {
 	@MockBean
 	UsuarioRepository repository;
 
+	@Autowired
+	PasswordEncoder passwordEncoder;
+
 	@Test(expected = Test.None.class)
 	public void mustSaveUser() {
 		// cenario
@@ -46,6 +55,23 @@ public class UsuarioServiceTest {
 
 	}
 
+	@Test
+	public void mustSaveEncodedPasswordWithoutChangingTheGivenUser() {
+		// cenario
+		Mockito.doNothing().when(service).validarEmail(Mockito.anyString());
+		Usuario usuario = Usuario.builder().nome("nome").email("email@email.com").senha("senha").build();
+		ArgumentCaptor<Usuario> salvo = ArgumentCaptor.forClass(Usuario.class);
+
+		// acao
+		service.salvarUsuario(usuario);
+
+		// verificacao
+		Mockito.verify(repository).save(salvo.capture());
+		Assertions.assertThat(salvo.getValue().getSenha()).startsWith("{bcrypt}");
+		Assertions.assertThat(passwordEncoder.matches("senha", salvo.getValue().getSenha())).isTrue();
+		Assertions.assertThat(usuario.getSenha()).isEqualTo("senha");
+	}
+
 	@Test(expected = RegraNegocioException.class)
 	public void mustNotSaveUserWithEmailCad() {
 		// cenario
@@ -68,6 +94,7 @@ public class UsuarioServiceTest {
 
 		Usuario usuario = Usuario.builder().email(email).senha(senha).id(1l).build();
 		Mockito.when(repository.findByEmail(email)).thenReturn(Optional.of(usuario));
+		Mockito.when(repository.save(Mockito.any(Usuario.class))).thenAnswer(invocacao -> invocacao.getArgument(0));
 
 		// acao
 		Usuario result = service.autenticar(email, senha);
@@ -76,6 +103,40 @@ public class UsuarioServiceTest {
 		Assertions.assertThat(result).isNotNull();
 	}
 
+	@Test
+	public void hasRehashLegacyPlainTextPasswordOnLogin() {
+		// cenario
+		Usuario usuario = Usuario.builder().email("email@email.com").senha("senha").id(1l).build();
+		Mockito.when(repository.findByEmail("email@email.com")).thenReturn(Optional.of(usuario));
+		Mockito.when(repository.save(Mockito.any(Usuario.class))).thenAnswer(invocacao -> invocacao.getArgument(0));
+
+		// acao
+		Usuario result = service.autenticar("email@email.com", "senha");
+
+		// verificacao
+		ArgumentCaptor<Usuario> salvo = ArgumentCaptor.forClass(Usuario.class);
+		Mockito.verify(repository).save(salvo.capture());
+		Assertions.assertThat(result).isSameAs(salvo.getValue());
+		Assertions.assertThat(result.getSenha()).startsWith("{bcrypt}");
+		Assertions.assertThat(passwordEncoder.matches("senha", result.getSenha())).isTrue();
+		Assertions.assertThat(usuario.getSenha()).isEqualTo("senha");
+	}
+
+	@Test
+	public void mustNotRehashPasswordEncodedWithCurrentCost() {
+		// cenario
+		Usuario usuario = Usuario.builder().email("email@email.com").senha(passwordEncoder.encode("senha")).id(1l)
+				.build();
+		Mockito.when(repository.findByEmail("email@email.com")).thenReturn(Optional.of(usuario));
+
+		// acao
+		Usuario result = service.autenticarAsync("email@email.com", "senha").join();
+
+		// verificacao
+		Assertions.assertThat(result).isSameAs(usuario);
+		Mockito.verify(repository, Mockito.never()).save(Mockito.any(Usuario.class));
+	}
+
 	@Test
 	public void hasThrowErrorWhenNotFoundUserCadWithEmail() {
 
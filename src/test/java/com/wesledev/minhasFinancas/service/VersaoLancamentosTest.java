@@ -0,0 +1,138 @@
+package com.wesledev.minhasFinancas.service;
+
+import java.util.Map;
+
+import org.assertj.core.api.Assertions;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.wesledev.minhasFinancas.model.entity.Usuario;
+import com.wesledev.minhasFinancas.model.repository.UsuarioRepository;
+import com.wesledev.minhasFinancas.model.repository.UsuarioRepositoryTest;
+import com.wesledev.minhasFinancas.service.impl.VersaoLancamentos;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@ActiveProfiles("test")
+public class VersaoLancamentosTest {
+
+	@Autowired
+	VersaoLancamentos versoes;
+
+	@Autowired
+	UsuarioRepository usuarioRepository;
+
+	@Autowired
+	JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	TransactionTemplate transactionTemplate;
+
+	Long usuario;
+	Long outroUsuario;
+
+	@Before
+	public void setUp() {
+		Usuario criado = usuarioRepository.save(UsuarioRepositoryTest.createUser());
+		usuario = criado.getId();
+		outroUsuario = usuarioRepository.save(criado.toBuilder().id(null).email("versao@email.com").build()).getId();
+	}
+
+	@After
+	public void tearDown() {
+		jdbcTemplate.update("delete from financas.lancamento where id_usuario in (?, ?)", usuario, outroUsuario);
+		usuarioRepository.deleteById(usuario);
+		usuarioRepository.deleteById(outroUsuario);
+	}
+
+	@Test
+	public void hasKeepVersionUntilUserIsWritten() {
+		// cenario
+		String inicial = versoes.obter(usuario);
+		String doOutroUsuario = versoes.obter(outroUsuario);
+
+		// execucao
+		versoes.registrar(outroUsuario);
+
+		// verificacao
+		Assertions.assertThat(versoes.obter(usuario)).isEqualTo(inicial);
+		Assertions.assertThat(versoes.obter(outroUsuario)).isNotEqualTo(doOutroUsuario);
+		Assertions.assertThat(inicial).isNotEqualTo(doOutroUsuario);
+	}
+
+	@Test
+	public void hasKeepVersionWhenTransactionRollsBack() {
+		// cenario
+		String inicial = versoes.obter(usuario);
+
+		// execucao
+		transactionTemplate.execute(status -> {
+			versoes.registrar(usuario);
+			status.setRollbackOnly();
+			return null;
+		});
+
+		// verificacao
+		Assertions.assertThat(versoes.obter(usuario)).isEqualTo(inicial);
+	}
+
+	@Test
+	public void hasShareVersionBetweenInstances() {
+		// cenario: outra instancia da aplicacao sobre o mesmo banco
+		VersaoLancamentos outraInstancia = new VersaoLancamentos(jdbcTemplate);
+		String inicial = versoes.obter(usuario);
+		Assertions.assertThat(outraInstancia.obter(usuario)).isEqualTo(inicial);
+
+		// execucao
+		outraInstancia.registrar(usuario);
+
+		// verificacao
+		Assertions.assertThat(versoes.obter(usuario)).isNotEqualTo(inicial).isEqualTo(outraInstancia.obter(usuario));
+	}
+
+	@Test
+	public void hasChangeVersionOfUsersInRangeWithLaunchesInYear() {
+		// cenario
+		for (Long idUsuario : new Long[] { usuario, outroUsuario }) {
+			jdbcTemplate.update("insert into financas.lancamento (id, descricao, descricao_busca, mes, ano, id_usuario, "
+					+ "valor, tipo, status) values (next value for financas.lancamento_seq, 'Aluguel', 'aluguel', 1, "
+					+ "2015, ?, 10, 'DESPESA', 'PENDENTE')", idUsuario);
+		}
+		String inicial = versoes.obter(usuario);
+		String doOutroUsuario = versoes.obter(outroUsuario);
+
+		// execucao
+		versoes.registrarDoAno(2015, usuario, usuario);
+
+		// verificacao
+		Assertions.assertThat(versoes.obter(usuario)).isNotEqualTo(inicial);
+		Assertions.assertThat(versoes.obter(outroUsuario)).isEqualTo(doOutroUsuario);
+	}
+
+	@Test
+	public void hasListVersionsOfUsersInRange() {
+		// cenario
+		versoes.registrar(usuario);
+
+		// execucao
+		Map<Long, Long> daFaixa = versoes.obterDaFaixa(usuario, usuario);
+
+		// verificacao
+		Assertions.assertThat(daFaixa).containsOnlyKeys(usuario);
+		Assertions.assertThat(versoes.obter(usuario)).endsWith(Long.toString(daFaixa.get(usuario), Character.MAX_RADIX));
+		Assertions.assertThat(versoes.obterMaiorIdUsuario()).isGreaterThanOrEqualTo(outroUsuario);
+	}
+
+	@Test
+	public void hasNoVersionForUnknownUser() {
+		Assertions.assertThat(versoes.obter(-1l)).isNull();
+	}
+}
@@ -0,0 +1,58 @@
+package com.wesledev.minhasFinancas.service.importacao;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+
+import com.wesledev.minhasFinancas.exception.RegraNegocioException;
+
+public class LeitorExtratoCsvTest {
+
+	@Test
+	public void hasReadColumnsNamedByHeader() throws IOException {
+		// cenario
+		String csv = "Valor;Histórico;Data\n" + "\"-1.234,56\";\"Aluguel; apto\";05/01/2022\n" + "\n"
+				+ "R$ 2000,00;Salário;2022-01-06\n";
+
+		try (LeitorExtrato leitor = new LeitorExtratoCsv(new StringReader(csv))) {
+			// execucao e verificacao
+			Assertions.assertThat(leitor.proxima()).isEqualTo(new TransacaoExtrato(2, LocalDate.of(2022, 1, 5),
+					new BigDecimal("-1234.56"), "Aluguel; apto"));
+			Assertions.assertThat(leitor.proxima()).isEqualTo(
+					new TransacaoExtrato(4, LocalDate.of(2022, 1, 6), new BigDecimal("2000.00"), "Salário"));
+			Assertions.assertThat(leitor.proxima()).isNull();
+		}
+	}
+
+	@Test
+	public void hasReadDefaultColumnOrderWithoutHeader() throws IOException {
+		// cenario
+		String csv = "2022-01-05,Mercado,\"-1,050.10\"\n";
+
+		try (LeitorExtrato leitor = new LeitorExtratoCsv(new StringReader(csv))) {
+			// execucao e verificacao
+			Assertions.assertThat(leitor.proxima()).isEqualTo(
+					new TransacaoExtrato(1, LocalDate.of(2022, 1, 5), new BigDecimal("-1050.10"), "Mercado"));
+		}
+	}
+
+	@Test
+	public void mustContinueReadingAfterInvalidLine() throws IOException {
+		// cenario
+		String csv = "data;descricao;valor\n" + "32/01/2022;Mercado;-10\n" + "05/01/2022;Mercado;-10\n";
+
+		try (LeitorExtrato leitor = new LeitorExtratoCsv(new StringReader(csv))) {
+			// execucao
+			Throwable erro = Assertions.catchThrowable(leitor::proxima);
+
+			// verificacao
+			Assertions.assertThat(erro).isInstanceOf(RegraNegocioException.class)
+					.hasMessage("Data inválida na linha 2.");
+			Assertions.assertThat(leitor.proxima().getLinha()).isEqualTo(3);
+		}
+	}
+}
@@ -0,0 +1,47 @@
+package com.wesledev.minhasFinancas.service.importacao;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.assertj.core.api.Assertions;
+import org.junit.Test;
+
+public class LeitorExtratoOfxTest {
+
+	@Test
+	public void hasReadSgmlStatement() throws IOException {
+		// cenario
+		String ofx = "OFXHEADER:100\nDATA:OFXSGML\nVERSION:102\n\n<OFX>\n<BANKMSGSRSV1><STMTTRNRS><STMTRS>\n"
+				+ "<BANKTRANLIST>\n<DTSTART>20220101\n"
+				+ "<STMTTRN>\n<TRNTYPE>DEBIT\n<DTPOSTED>20220105120000[-3:BRT]\n<TRNAMT>-150.00\n"
+				+ "<FITID>1\n<MEMO>Mercado &amp; Cia\n</STMTTRN>\n"
+				+ "<STMTTRN>\n<TRNTYPE>CREDIT\n<DTPOSTED>20220106\n<TRNAMT>2000,00\n<NAME>Salário\n</STMTTRN>\n"
+				+ "</BANKTRANLIST>\n<LEDGERBAL><BALAMT>1850.00\n</LEDGERBAL>\n</STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>\n";
+
+		try (LeitorExtrato leitor = new LeitorExtratoOfx(new StringReader(ofx))) {
+			// execucao e verificacao
+			Assertions.assertThat(leitor.proxima()).isEqualTo(new TransacaoExtrato(9, LocalDate.of(2022, 1, 5),
+					new BigDecimal("-150.00"), "Mercado & Cia"));
+			Assertions.assertThat(leitor.proxima()).isEqualTo(
+					new TransacaoExtrato(16, LocalDate.of(2022, 1, 6), new BigDecimal("2000.00"), "Salário"));
+			Assertions.assertThat(leitor.proxima()).isNull();
+		}
+	}
+
+	@Test
+	public void hasReadXmlStatement() throws IOException {
+		// cenario
+		String ofx = "<?xml version=\"1.0\"?><?OFX OFXHEADER=\"200\" VERSION=\"211\"?><OFX><BANKTRANLIST>"
+				+ "<STMTTRN><DTPOSTED>20220105</DTPOSTED><TRNAMT>-9.90</TRNAMT><NAME>Streaming</NAME></STMTTRN>"
+				+ "</BANKTRANLIST></OFX>";
+
+		try (LeitorExtrato leitor = new LeitorExtratoOfx(new StringReader(ofx))) {
+			// execucao e verificacao
+			Assertions.assertThat(leitor.proxima()).isEqualTo(
+					new TransacaoExtrato(1, LocalDate.of(2022, 1, 5), new BigDecimal("-9.90"), "Streaming"));
+			Assertions.assertThat(leitor.proxima()).isNull();
+		}
+	}
+}